@@ -3,6 +3,13 @@ package com.moim.payment.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 @Data
 @Configuration
@@ -15,6 +22,19 @@ public class KftcApiProperties {
     private String orgCode;
     private String mainBankCode;
     private Endpoints endpoints = new Endpoints();
+    private Client client = new Client();
+    private Cache cache = new Cache();
+    private AccountInfo accountInfo = new AccountInfo();
+    private TokenVault tokenVault = new TokenVault();
+    private RateLimit rateLimit = new RateLimit();
+    private Resilience resilience = new Resilience();
+    private BankTranId bankTranId = new BankTranId();
+    private TransactionSync transactionSync = new TransactionSync();
+    private BatchDeposit batchDeposit = new BatchDeposit();
+    private TransferOutbox transferOutbox = new TransferOutbox();
+    private TransferReconcile transferReconcile = new TransferReconcile();
+    private Audit audit = new Audit();
+    private BalancePrefetch balancePrefetch = new BalancePrefetch();
 
     @Data
     public static class Endpoints {
@@ -30,5 +50,217 @@ public class KftcApiProperties {
         private String withdrawFinNum;
         private String depositFinNum;
         private String userRegister;
+        private String transferResult;
+    }
+
+    /**
+     * KFTC 전용 WebClient(Reactor Netty) 커넥션 풀/타임아웃 설정
+     */
+    @Data
+    public static class Client {
+        // 커넥션 풀
+        private int maxConnections = 50;                               // 최대 커넥션 수
+        private int pendingAcquireMaxCount = 200;                      // 커넥션 획득 대기열 최대 길이
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5); // 커넥션 획득 대기 시간
+        private Duration maxIdleTime = Duration.ofSeconds(30);         // 유휴 커넥션 유지 시간
+        private Duration maxLifeTime = Duration.ofMinutes(5);          // 커넥션 최대 수명
+        private Duration evictInBackground = Duration.ofSeconds(30);   // 백그라운드 유휴 커넥션 정리 주기
+
+        // 타임아웃
+        private Duration connectTimeout = Duration.ofSeconds(3);
+        private Duration readTimeout = Duration.ofSeconds(30);
+        private Duration writeTimeout = Duration.ofSeconds(10);
+        private Duration responseTimeout = Duration.ofSeconds(30);
+        private Duration sslHandshakeTimeout = Duration.ofSeconds(10);
+
+        // 프로토콜
+        private boolean keepAlive = true;                              // HTTP keep-alive + TCP SO_KEEPALIVE
+        private boolean http2Enabled = false;                          // ALPN으로 h2 협상 (미지원 시 HTTP/1.1)
+        private long sslSessionCacheSize = 0;                          // TLS 세션 캐시 크기 (0: JDK 기본값)
+        private Duration sslSessionTimeout = Duration.ofHours(1);      // TLS 세션 재사용 유효 시간
+
+        // 풀/요청 메트릭 (Micrometer) 노출 여부
+        private boolean metricsEnabled = true;
+    }
+
+    /**
+     * 잔액/등록계좌 조회 캐시 설정
+     */
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+        private Duration balanceTtl = Duration.ofSeconds(30);         // 잔액 캐시 유지 시간
+        private Duration accountListTtl = Duration.ofMinutes(10);     // 등록계좌 목록 캐시 유지 시간
+        private long maximumSize = 10_000;                            // 캐시별 최대 엔트리 수
+    }
+
+    /**
+     * 통합 계좌 정보 조회(계좌별 잔액/거래내역 병렬 조회) 설정
+     */
+    @Data
+    public static class AccountInfo {
+        private int concurrency = 8;                                   // 동시에 조회할 최대 계좌 수
+        private Duration perAccountTimeout = Duration.ofSeconds(5);    // 계좌별 잔액/거래내역 조회 타임아웃
+        private int recentTransactionDays = 7;                         // 최근 거래내역 조회 기간(일)
+    }
+
+    /**
+     * 사용자 토큰 보관소 설정
+     */
+    @Data
+    public static class TokenVault {
+        private String encryptionKey;                                  // 토큰 컬럼 암호화 키 (Base64, 32바이트)
+        private Duration refreshInterval = Duration.ofMinutes(10);     // 사전 갱신 작업 주기
+        private Duration refreshAhead = Duration.ofDays(1);            // 만료 이 시간 전부터 사전 갱신
+        private Duration expiryMargin = Duration.ofMinutes(1);         // 이 시간 안에 만료되면 사용 전에 갱신
+        private int refreshConcurrency = 4;                            // 사전 갱신 동시 호출 수
+        private Duration refreshClaimLease = Duration.ofMinutes(5);    // 사전 갱신 선점 유지 시간 (선점 노드가 중단되면 이후 다른 노드가 갱신)
+        private Duration hotTierTtl = Duration.ofMinutes(1);           // 메모리 보관 시간 (다른 노드가 갱신한 토큰을 이 시간 안에 반영)
+    }
+
+    /**
+     * 클라이언트 측 호출 한도 (기관 전체 + 조회/이체 별도 token bucket)
+     */
+    @Data
+    public static class RateLimit {
+        private boolean enabled = true;
+        private double orgPerSecond = 50;                              // 기관(orgCode) 전체 초당 호출 수
+        private int orgBurst = 50;
+        private double inquiryPerSecond = 30;                          // 조회 API 초당 호출 수
+        private int inquiryBurst = 30;
+        private double transferPerSecond = 20;                         // 이체 API 초당 호출 수
+        private int transferBurst = 20;
+        private int maxQueueSize = 500;                                // 허가 대기열 최대 길이
+        private Duration maxWait = Duration.ofSeconds(2);              // 허가 대기 최대 시간
+        private Duration drainInterval = Duration.ofMillis(10);        // 대기열 처리 주기
+    }
+
+    /**
+     * 엔드포인트별 장애 격리 설정.
+     * endpoints 의 키는 Endpoints 필드명(balanceFinNum 등)이며, 지정하지 않은 엔드포인트는 defaults 를 사용합니다.
+     */
+    @Data
+    public static class Resilience {
+        private ResiliencePolicy defaults = new ResiliencePolicy();
+        private Map<String, ResiliencePolicy> endpoints = new HashMap<>();
+
+        public ResiliencePolicy policyOf(String endpoint) {
+            return endpoints.getOrDefault(endpoint, defaults);
+        }
+    }
+
+    @Data
+    public static class ResiliencePolicy {
+        // 서킷브레이커
+        private float failureRateThreshold = 50;                       // 실패율(%) 초과 시 OPEN
+        private float slowCallRateThreshold = 80;                      // 느린 호출 비율(%) 초과 시 OPEN
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(5);
+        private int slidingWindowSize = 50;                            // 최근 N회 호출 기준
+        private int minimumNumberOfCalls = 20;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpenState = 5;
+        // 벌크헤드 (세마포어)
+        private int maxConcurrentCalls = 20;                           // 엔드포인트별 동시 호출 수
+        // 재시도 (GET 조회에만 적용, 이체는 절대 재시도하지 않음)
+        private int maxRetries = 2;
+        private Duration retryBackoff = Duration.ofMillis(200);        // 지수 백오프 시작 값
+        private Duration retryMaxBackoff = Duration.ofSeconds(2);
+        private double retryJitter = 0.5;                              // 0~1
+        // 헤지 요청 (잔액 조회)
+        private boolean hedgeEnabled = false;
+        private Duration hedgeMinDelay = Duration.ofMillis(100);       // p95 가 이보다 짧아도 최소 대기
+        private Duration hedgeFallbackDelay = Duration.ofMillis(800);  // 표본이 부족할 때 사용하는 대기 시간
+        private int hedgeMinSamples = 100;                             // p95 를 신뢰하기 위한 최소 표본 수
+    }
+
+    /**
+     * 거래고유번호 생성 설정
+     */
+    @Data
+    public static class BankTranId {
+        private int nodeId = -1;                                       // 인스턴스별 고유값(0~1023), 미설정 시 호스트 정보로 결정
+    }
+
+    /**
+     * 거래내역 증분 동기화 설정
+     */
+    @Data
+    public static class TransactionSync {
+        private Duration minInterval = Duration.ofMinutes(1);          // 이 간격 안의 재조회는 로컬 저장소만 사용
+        private int defaultMonths = 3;                                 // 기간 미지정 시 조회 개월 수
+    }
+
+    /**
+     * 다건 입금이체 설정 (수취인별로 이체 저널에 기록하고, 디스패처가 같은 배치의 건을 묶어 전송)
+     */
+    @Data
+    public static class BatchDeposit {
+        private int maxItemsPerRequest = 10;                           // 한 번의 입금이체 요청에 담는 req_list 최대 건수
+        private int maxRecipients = 500;                               // 한 번에 접수하는 최대 수취인 수
+        private Duration timeout = Duration.ofSeconds(30);             // 요청(청크)별 타임아웃
+    }
+
+    /**
+     * 이체 저널(outbox) 디스패처 설정
+     */
+    @Data
+    public static class TransferOutbox {
+        private int workerConcurrency = 8;                             // 동시에 전송 중인 이체 최대 건수
+        private Duration pollInterval = Duration.ofMillis(500);        // 전송 대기 건 조회 주기
+        private int maxAttempts = 5;                                   // 미전송 실패(처리율 제한/서킷 차단 등) 재시도 한도
+        private Duration retryBackoff = Duration.ofSeconds(2);         // 재시도 기본 대기 (시도마다 2배)
+        private Duration retryMaxBackoff = Duration.ofMinutes(1);
+        private Duration processingTimeout = Duration.ofMinutes(2);    // 이 시간 넘게 PROCESSING 인 건은 UNKNOWN 처리
+        private Duration staleCheckInterval = Duration.ofMinutes(1);
+    }
+
+    /**
+     * 결과 미확정(UNKNOWN) 이체의 이체결과 조회 설정
+     */
+    @Data
+    public static class TransferReconcile {
+        private Duration interval = Duration.ofSeconds(30);            // 조회 작업 주기
+        private Duration initialDelay = Duration.ofSeconds(10);        // UNKNOWN 전환 후 첫 조회까지 대기
+        private int batchSize = 25;                                    // 한 번의 이체결과 조회에 담는 req_list 건수 (KFTC 최대 25)
+        private int maxBatchesPerRun = 20;                             // 주기당 최대 조회 요청 수
+        private int concurrency = 2;                                   // 동시 조회 요청 수
+        private int schedulerThreads = 2;                              // 전용 스케줄러 스레드 수
+        private int schedulerQueueSize = 100;                          // 전용 스케줄러 대기 작업 한도
+        private Duration backoff = Duration.ofSeconds(30);             // 재조회 기본 대기 (시도마다 2배)
+        private Duration maxBackoff = Duration.ofHours(1);
+        private int alertAfterAttempts = 10;                           // 이 횟수 이후에도 미확정이면 오류 로그 (수동 확인)
+        private Duration claimLease = Duration.ofMinutes(2);           // 선점한 건을 다른 인스턴스가 다시 조회하지 않는 시간
+        private Set<String> failedBankRspCodes = new HashSet<>();      // 출금/입금 불능이 확정된 참가기관 응답코드 (그 외 000 이 아닌 코드는 재조회)
+        private Set<String> failedRspCodes = new HashSet<>();          // 요청이 거절되어 처리되지 않은 것이 확정된 API 응답코드 (그 외 A0000 이 아닌 코드는 결과 조회)
+    }
+
+    /**
+     * KFTC 요청/응답 감사 로그 설정 (KFTC_AUDIT 로거, logback-spring.xml 의 롤링 파일)
+     */
+    @Data
+    public static class Audit {
+        private boolean enabled = true;
+        private int bufferSize = 8192;                                 // 기록 대기 링 버퍼 크기 (가득 차면 버림)
+        private double degradeRatio = 0.8;                             // 버퍼 사용률이 이 이상이면 본문 없이 요약만 기록
+        private int maxBodyLength = 4096;                              // 기록할 요청/응답 본문 최대 길이
+        // 아래 파일 설정은 logback-spring.xml 에서 springProperty 로 읽음
+        private String path = "logs";                                  // 감사 로그 디렉터리
+        private DataSize maxFileSize = DataSize.ofMegabytes(100);      // 파일 하나의 최대 크기 (초과 시 롤링 후 gzip 압축)
+        private int maxHistory = 1825;                                 // 보관 일수 (전자금융거래 기록 5년)
+    }
+
+    /**
+     * 활동 중인 모임 계좌 잔액/거래내역 사전 갱신 설정 (Quartz 클러스터 작업)
+     */
+    @Data
+    public static class BalancePrefetch {
+        private boolean enabled = true;
+        private int partitions = 4;                                    // 모임장 ID 기준 파티션 수 (파티션별 작업을 노드들이 나눠 실행)
+        private Duration interval = Duration.ofMinutes(10);            // 파티션별 실행 주기 (파티션 시작 시각은 주기 안에서 균등 분산)
+        private Duration activeWithin = Duration.ofDays(7);            // 이 기간 안에 결제/정산 기록이 있는 모임만 대상
+        private int batchSize = 20;                                    // 한 번에 갱신하는 사용자 수
+        private int concurrency = 2;                                   // 배치 안에서 동시에 갱신하는 사용자 수
+        private Duration batchDelay = Duration.ofSeconds(2);           // 배치 사이 대기 (KFTC 조회 한도를 실시간 요청에 양보)
+        private Duration snapshotMaxAge = Duration.ofMinutes(15);      // 이보다 오래된 스냅샷은 사용하지 않고 실시간 조회
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package com.moim.payment.config;
+
+import com.moim.payment.service.KftcBalancePrefetchJob;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.quartz.SchedulerFactoryBeanCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Date;
+
+/**
+ * 활동 모임 계좌 정보 사전 갱신 작업 등록 (Quartz JDBC 클러스터).
+ * 모임장 ID 기준 파티션마다 JobDetail 과 트리거를 하나씩 만들고, 파티션별 첫 실행 시각을 주기 안에서 균등하게 나눠
+ * KFTC 조회가 한 시점에 몰리지 않도록 합니다. 트리거는 클러스터의 노드 중 하나만 가져가 실행합니다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "kftc.balance-prefetch", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class KftcBalancePrefetchConfig {
+
+    private static final String JOB_GROUP = "kftc-balance-prefetch";
+
+    @Bean
+    public SchedulerFactoryBeanCustomizer kftcBalancePrefetchJobs(KftcApiProperties kftcApiProperties) {
+        KftcApiProperties.BalancePrefetch config = kftcApiProperties.getBalancePrefetch();
+        int partitions = config.getPartitions();
+        long intervalMillis = config.getInterval().toMillis();
+
+        JobDetail[] jobDetails = new JobDetail[partitions];
+        Trigger[] triggers = new Trigger[partitions];
+        long now = System.currentTimeMillis();
+        for (int partition = 0; partition < partitions; partition++) {
+            String name = "partition-" + partition + "-of-" + partitions;
+            jobDetails[partition] = JobBuilder.newJob(KftcBalancePrefetchJob.class)
+                    .withIdentity(name, JOB_GROUP)
+                    .usingJobData(KftcBalancePrefetchJob.PARTITION, partition)
+                    .usingJobData(KftcBalancePrefetchJob.PARTITIONS, partitions)
+                    .storeDurably()
+                    .build();
+            triggers[partition] = TriggerBuilder.newTrigger()
+                    .forJob(jobDetails[partition])
+                    .withIdentity(name, JOB_GROUP)
+                    .startAt(new Date(now + intervalMillis * (partition + 1) / partitions))
+                    .withSchedule(SimpleScheduleBuilder.simpleSchedule()
+                            .withIntervalInMilliseconds(intervalMillis)
+                            .repeatForever()
+                            // 노드 중단 등으로 놓친 실행은 몰아서 하지 않고 다음 주기부터
+                            .withMisfireHandlingInstructionNextWithRemainingCount())
+                    .build();
+        }
+
+        return schedulerFactoryBean -> {
+            schedulerFactoryBean.setJobDetails(jobDetails);
+            schedulerFactoryBean.setTriggers(triggers);
+        };
+    }
+}
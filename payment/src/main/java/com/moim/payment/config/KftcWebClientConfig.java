@@ -0,0 +1,114 @@
+package com.moim.payment.config;
+
+import com.moim.payment.service.kftc.KftcAuditLog;
+import com.moim.payment.service.kftc.KftcClientMetrics;
+import com.moim.payment.service.kftc.KftcRateLimiter;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.Http11SslContextSpec;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.tcp.SslProvider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 금융결제원 API 전용 WebClient 설정.
+ * 다른 외부 호출과 커넥션 풀을 공유하지 않도록 전용 ConnectionProvider를 사용하고,
+ * 하나의 SslContext를 재사용하여 TLS 세션이 재개(resumption)되도록 합니다.
+ */
+@Slf4j
+@Configuration
+public class KftcWebClientConfig {
+
+    public static final String POOL_NAME = "kftc";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider kftcConnectionProvider(KftcApiProperties kftcApiProperties) {
+        KftcApiProperties.Client client = kftcApiProperties.getClient();
+        log.info("KFTC 커넥션 풀 생성: maxConnections={}, pendingAcquireMaxCount={}, http2={}",
+                client.getMaxConnections(), client.getPendingAcquireMaxCount(), client.isHttp2Enabled());
+
+        // metrics(true): reactor.netty.connection.provider.* (active/idle/pending/acquire 시간) 게이지를 Micrometer로 노출
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(client.getMaxConnections())
+                .pendingAcquireMaxCount(client.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(client.getPendingAcquireTimeout())
+                .maxIdleTime(client.getMaxIdleTime())
+                .maxLifeTime(client.getMaxLifeTime())
+                .evictInBackground(client.getEvictInBackground())
+                .metrics(client.isMetricsEnabled())
+                .build();
+    }
+
+    @Bean
+    public HttpClient kftcHttpClient(ConnectionProvider kftcConnectionProvider, KftcApiProperties kftcApiProperties) {
+        KftcApiProperties.Client client = kftcApiProperties.getClient();
+
+        HttpClient httpClient = HttpClient.create(kftcConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) client.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, client.isKeepAlive())
+                .keepAlive(client.isKeepAlive())
+                .responseTimeout(client.getResponseTimeout())
+                .doOnConnected(conn -> conn
+                        .addHandlerLast(new ReadTimeoutHandler(client.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(client.getWriteTimeout().toMillis(), TimeUnit.MILLISECONDS)))
+                // 커넥션 풀 전체에서 하나의 SslContext를 공유하므로 세션 캐시를 통해 TLS 핸드셰이크가 재사용됩니다.
+                .secure(spec -> spec.sslContext(sslContextSpec(client))
+                        .handshakeTimeout(client.getSslHandshakeTimeout()));
+
+        if (client.isHttp2Enabled()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+
+        if (client.isMetricsEnabled()) {
+            // 쿼리스트링(bank_tran_id 등)으로 태그 카디널리티가 폭증하지 않도록 경로만 사용
+            httpClient = httpClient.metrics(true, uri -> {
+                int queryIndex = uri.indexOf('?');
+                return queryIndex < 0 ? uri : uri.substring(0, queryIndex);
+            });
+        }
+
+        return httpClient;
+    }
+
+    @Bean
+    public WebClient kftcWebClient(WebClient.Builder webClientBuilder, HttpClient kftcHttpClient,
+                                   KftcRateLimiter kftcRateLimiter, KftcClientMetrics kftcClientMetrics,
+                                   KftcAuditLog kftcAuditLog) {
+        return webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(kftcHttpClient))
+                // 모든 KFTC 호출은 처리율 제한기의 허가를 받은 뒤에 전송
+                .filter(kftcRateLimiter.filter())
+                // 엔드포인트별 지연/상태코드/페이로드 메트릭 (처리율 제한 대기 이후 구간만 측정)
+                .filter(kftcClientMetrics.filter())
+                // 요청/응답 감사 로그 (마스킹/파일 기록은 별도 스레드)
+                .filter(kftcAuditLog.filter())
+                .build();
+    }
+
+    /**
+     * GenericSslContextSpec 으로 반환해야 deprecated 된 sslContext(ProtocolSslContextSpec) 대신 sslContext(GenericSslContextSpec) 가 선택됩니다.
+     */
+    private SslProvider.GenericSslContextSpec<SslContextBuilder> sslContextSpec(KftcApiProperties.Client client) {
+        if (client.isHttp2Enabled()) {
+            return Http2SslContextSpec.forClient()
+                    .configure(builder -> builder
+                            .sessionCacheSize(client.getSslSessionCacheSize())
+                            .sessionTimeout(client.getSslSessionTimeout().toSeconds()));
+        }
+        return Http11SslContextSpec.forClient()
+                .configure(builder -> builder
+                        .sessionCacheSize(client.getSslSessionCacheSize())
+                        .sessionTimeout(client.getSslSessionTimeout().toSeconds()));
+    }
+}
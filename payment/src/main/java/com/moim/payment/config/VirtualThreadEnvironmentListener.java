@@ -0,0 +1,23 @@
+package com.moim.payment.config;
+
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * 가상 스레드 모드(spring.threads.virtual.enabled)에서 Reactor boundedElastic 도 가상 스레드를 사용하도록 설정합니다.
+ * JPA 저장/조회처럼 boundedElastic 으로 넘기는 블로킹 작업이 플랫폼 스레드 상한에 묶이지 않게 하며,
+ * Schedulers 가 초기화되기 전에 시스템 프로퍼티를 지정해야 하므로 환경 준비 직후에 실행합니다.
+ * (spring.factories 로 등록)
+ */
+public class VirtualThreadEnvironmentListener implements ApplicationListener<ApplicationEnvironmentPreparedEvent> {
+
+    static final String BOUNDED_ELASTIC_ON_VIRTUAL_THREADS = "reactor.schedulers.defaultBoundedElasticOnVirtualThreads";
+
+    @Override
+    public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+        boolean virtualThreads = event.getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (virtualThreads && System.getProperty(BOUNDED_ELASTIC_ON_VIRTUAL_THREADS) == null) {
+            System.setProperty(BOUNDED_ELASTIC_ON_VIRTUAL_THREADS, "true");
+        }
+    }
+}
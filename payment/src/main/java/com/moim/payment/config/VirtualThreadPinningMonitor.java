@@ -0,0 +1,101 @@
+package com.moim.payment.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 가상 스레드 고정(pinning) 진단.
+ * Java 21 에서는 synchronized 블록 안(JDBC 드라이버, 일부 라이브러리 등)에서 블로킹하면 가상 스레드가 캐리어 스레드를 점유합니다.
+ * JFR jdk.VirtualThreadPinned 이벤트를 스트리밍으로 받아 virtual-threads.pinned 타이머로 집계하고,
+ * 처음 발견된 고정 위치는 스택과 함께 경고 로그로 남깁니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Timer pinnedTimer;
+    private final Duration threshold;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+        this.pinnedTimer = Timer.builder("virtual-threads.pinned")
+                .description("가상 스레드가 캐리어 스레드에 고정된 시간")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        log.info("가상 스레드 고정 진단 시작: threshold={}ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return;
+        }
+        // 최상위 프레임은 JDK 내부 park 이므로, 고정 위치는 처음 나오는 JDK 외부 프레임(드라이버/애플리케이션)으로 판단
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        int siteIndex = 0;
+        while (siteIndex < frames.size() - 1 && isJdkFrame(frames.get(siteIndex))) {
+            siteIndex++;
+        }
+        String site = frames.isEmpty() ? "unknown" : describe(frames.get(siteIndex));
+        // 같은 위치는 한 번만 로그 (이후는 타이머로만 집계)
+        if (reportedSites.add(site)) {
+            String stack = frames.stream()
+                    .skip(siteIndex)
+                    .limit(LOGGED_FRAMES)
+                    .map(VirtualThreadPinningMonitor::describe)
+                    .collect(Collectors.joining("\n\tat "));
+            // 가상 스레드는 이름이 없는 경우가 많아 id 로 표시
+            String thread = event.getThread() != null ? "#" + event.getThread().getJavaThreadId() : "unknown";
+            log.warn("가상 스레드 고정 감지: {}ms, thread={}\n\tat {}", event.getDuration().toMillis(), thread, stack);
+        }
+    }
+
+    private static boolean isJdkFrame(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
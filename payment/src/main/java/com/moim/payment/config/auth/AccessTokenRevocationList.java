@@ -0,0 +1,224 @@
+package com.moim.payment.config.auth;
+
+import com.moim.payment.domain.RevokedAccessToken;
+import com.moim.payment.repository.RevokedAccessTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Access Token 폐기 목록.
+ * 요청마다 확인하는 경로는 메모리 Bloom 필터만 보며(대부분 여기서 "폐기 아님"으로 끝남),
+ * 필터가 양성일 때만 정확한 집합(jti -> 만료 시각)으로 확인합니다.
+ * 폐기 기록은 revoked_access_token 테이블에 저장되고, 각 노드는 syncInterval 마다 새 기록을 읽어 반영합니다.
+ * 만료된 항목은 pruneInterval 마다 집합/테이블에서 제거하고 Bloom 필터를 다시 만듭니다. (Bloom 필터는 삭제를 지원하지 않음)
+ */
+@Log4j2
+@Component
+public class AccessTokenRevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+    private final int expectedRevocations;
+    private final Duration syncOverlap;
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    private final Counter falsePositives;
+    private final Counter revokedHits;
+    private volatile BloomFilter bloomFilter;
+    private volatile LocalDateTime syncedUntil;
+
+    public AccessTokenRevocationList(RevokedAccessTokenRepository revokedAccessTokenRepository, MeterRegistry meterRegistry,
+                                     @Value("${jwt.revocation.expected-revocations:10000}") int expectedRevocations,
+                                     @Value("${jwt.revocation.sync-overlap:1m}") Duration syncOverlap) {
+        this.revokedAccessTokenRepository = revokedAccessTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.syncOverlap = syncOverlap;
+        this.bloomFilter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+        this.falsePositives = Counter.builder("jwt.revocation.checks")
+                .tag("result", "false_positive")
+                .description("Bloom 필터 양성 후 정확한 집합 확인 결과")
+                .register(meterRegistry);
+        this.revokedHits = Counter.builder("jwt.revocation.checks")
+                .tag("result", "revoked")
+                .description("Bloom 필터 양성 후 정확한 집합 확인 결과")
+                .register(meterRegistry);
+        Gauge.builder("jwt.revocation.size", revoked, Map::size)
+                .description("메모리 폐기 목록의 미만료 토큰 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        // 기동 직후부터 다른 노드의 폐기 기록을 반영 (DB 를 읽지 못하면 다음 동기화 주기에 재시도)
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            log.warn("폐기 토큰 목록 초기 적재 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 요청마다 호출되는 확인. 대부분은 Bloom 필터 조회(해시 1회 + 비트 k개)만으로 끝납니다.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        LocalDateTime expiresAt = revoked.get(jti);
+        if (expiresAt == null || expiresAt.isBefore(LocalDateTime.now())) {
+            falsePositives.increment();
+            return false;
+        }
+        revokedHits.increment();
+        return true;
+    }
+
+    /**
+     * 토큰을 폐기합니다. 이 노드에는 즉시, 다른 노드에는 다음 동기화 때 반영됩니다.
+     */
+    public void revoke(String jti, Long usrId, LocalDateTime expiresAt) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!expiresAt.isAfter(now)) {
+            return;
+        }
+        try {
+            revokedAccessTokenRepository.save(new RevokedAccessToken(jti, usrId, expiresAt, now));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("이미 폐기된 토큰: jti={}", jti);
+        }
+        add(jti, expiresAt);
+        log.info("Access Token 폐기: usrId={}, jti={}, expiresAt={}", usrId, jti, expiresAt);
+    }
+
+    /**
+     * 다른 노드에서 폐기한 토큰을 반영합니다.
+     * 노드 간 시계 차이와 커밋 순서를 고려해 마지막 동기화 시각보다 syncOverlap 만큼 앞에서부터 다시 읽습니다. (중복 반영은 무해)
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:5s}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime latest = syncedUntil;
+        List<RevokedAccessToken> tokens = latest == null
+                ? revokedAccessTokenRepository.findByExpiresAtAfter(now)
+                : revokedAccessTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(latest.minus(syncOverlap), now);
+        for (RevokedAccessToken token : tokens) {
+            add(token.getJti(), token.getExpiresAt());
+            if (latest == null || token.getRevokedAt().isAfter(latest)) {
+                latest = token.getRevokedAt();
+            }
+        }
+        syncedUntil = latest != null ? latest : now;
+    }
+
+    /**
+     * 만료된 항목을 제거하고 남은 항목으로 Bloom 필터를 다시 만듭니다.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval:10m}")
+    public void prune() {
+        LocalDateTime now = LocalDateTime.now();
+        revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        rebuild();
+
+        try {
+            int deleted = revokedAccessTokenRepository.deleteExpired(now);
+            if (deleted > 0) {
+                log.debug("만료된 폐기 토큰 삭제: {}건", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("만료된 폐기 토큰 삭제 실패: {}", e.getMessage());
+        }
+    }
+
+    private void add(String jti, LocalDateTime expiresAt) {
+        // 집합에 먼저 넣은 뒤 필터에 반영 (필터 양성이면 집합에 반드시 있음)
+        revoked.put(jti, expiresAt);
+        BloomFilter current = bloomFilter;
+        current.put(jti);
+        if (current.isSaturated(revoked.size())) {
+            // 예상보다 많이 폐기되어 오탐률이 올라가면 더 큰 필터로 교체
+            rebuild();
+        }
+    }
+
+    private synchronized void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2), FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        // 교체 직전에 이전 필터에만 추가된 항목이 빠지지 않도록 한 번 더 반영
+        revoked.keySet().forEach(rebuilt::put);
+    }
+
+    /**
+     * 고정 크기 Bloom 필터 (64비트 FNV-1a 해시 하나로 k 개 위치를 만드는 이중 해싱)
+     */
+    private static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitSize;
+        private final int hashCount;
+        private final int capacity;
+
+        private BloomFilter(int capacity, double falsePositiveRate) {
+            this.capacity = Math.max(capacity, 1);
+            long m = (long) Math.ceil(-this.capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) ((m + 63) / 64));
+            this.bitSize = bits.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitSize / this.capacity * Math.log(2)));
+        }
+
+        private void put(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long index = Integer.toUnsignedLong(h1 + i * h2) % bitSize;
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long current;
+                while (((current = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                    // 다른 스레드와 경합 시 재시도
+                }
+            }
+        }
+
+        private boolean mightContain(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long index = Integer.toUnsignedLong(h1 + i * h2) % bitSize;
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isSaturated(int size) {
+            return size > capacity;
+        }
+
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moim.payment.dto.usr.LoginReqDto;
 import com.moim.payment.dto.usr.LoginRespDto;
 import com.moim.payment.dto.usr.TokenDTO;
+import com.moim.payment.exception.PasswordHashingUnavailableException;
 import com.moim.payment.service.TokenService;
 import com.moim.payment.util.CustomUtil;
 import jakarta.servlet.FilterChain;
@@ -12,6 +13,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -54,6 +56,9 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
 
             return getAuthenticationManager().authenticate(authenticationToken);
 
+        } catch (PasswordHashingUnavailableException e) {
+            // 비밀번호 해시 실행기 포화 - unsuccessfulAuthentication 에서 503 으로 응답
+            throw new InternalAuthenticationServiceException(e.getMessage(), e);
         } catch (IOException e) {
             logger.error("JSON 처리 중 오류", e);
             throw new InternalAuthenticationServiceException("요청 처리 중 오류가 발생했습니다", e);
@@ -94,6 +99,12 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
     protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response,
                                               AuthenticationException failed){
         logger.debug("디버그: unsuccessfulAuthentication 호출");
+        if (failed.getCause() instanceof PasswordHashingUnavailableException) {
+            logger.warn("로그인 거절 (비밀번호 해시 실행기 포화): {}", failed.getMessage());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            CustomUtil.fail(response, "Login Failed", failed.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+            return;
+        }
         String errorMessage = switch (failed) {
             case UsernameNotFoundException usernameNotFoundException ->
                 // 계정을 찾을 수 없을 때 발생하는 예외
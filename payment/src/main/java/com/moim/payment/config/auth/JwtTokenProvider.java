@@ -3,8 +3,14 @@ package com.moim.payment.config.auth;//package com.moim.payment.config.auth;
 import com.moim.payment.domain.Usr.UserRole;
 import com.moim.payment.dto.usr.LoginRespDto;
 import com.moim.payment.dto.usr.TokenDTO;
+import com.moim.payment.util.DigestUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -18,10 +24,13 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 @Log4j2
@@ -29,14 +38,63 @@ public class JwtTokenProvider {
 
     private final String secretKey = JwtVO.SECRET;
     private SecretKey key;
+    private JwtParser jwtParser;
     private static final String BEARER_TYPE = "Bearer";
     private static final Long accessTokenValidationTime = 30 * 60 * 1000L;   //30분
     private static final Long refreshTokenValidationTime = 7 * 24 * 60 * 60 * 1000L;  //7일
+    private static final long authenticationCacheSize = 10_000L;
+
+    /**
+     * 검증된 Access Token 의 인증 정보 캐시.
+     * 키는 토큰의 SHA-256 다이제스트(원문 토큰은 보관하지 않음)이며, 항목은 토큰의 exp 시각에 만료됩니다.
+     * 같은 토큰의 반복 요청은 HMAC 검증과 JSON 파싱 없이 인증 객체를 만듭니다.
+     */
+    private final Cache<String, CachedAuthentication> authenticationCache;
+    private final AccessTokenRevocationList revocationList;
+
+    private record CachedAuthentication(UserDetails user, Collection<? extends GrantedAuthority> authorities,
+                                        Long usrId, String jti, Instant expiresAt) {
+
+        // 요청마다 새 인증 객체를 만들어 SecurityContext 간에 가변 객체를 공유하지 않음
+        Authentication toAuthentication() {
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(user, null, authorities);
+            if (usrId != null) {
+                authentication.setDetails(usrId);
+            }
+            return authentication;
+        }
+    }
+
+    public JwtTokenProvider(MeterRegistry meterRegistry, AccessTokenRevocationList revocationList) {
+        this.revocationList = revocationList;
+        this.authenticationCache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(authenticationCacheSize)
+                .expireAfter(new Expiry<String, CachedAuthentication>() {
+                    @Override
+                    public long expireAfterCreate(String digest, CachedAuthentication cached, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), cached.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, CachedAuthentication cached, long currentTime, long currentDuration) {
+                        return expireAfterCreate(digest, cached, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, CachedAuthentication cached, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .<String, CachedAuthentication>build(), "jwt.authentication");
+    }
 
     @PostConstruct
     protected void init() {
         // Plain String을 바로 byte[]로 변환하여 SecretKey 생성
         this.key = Keys.hmacShaKeyFor(secretKey.getBytes());
+        // 파서는 불변이며 스레드 안전하므로 하나만 만들어 재사용
+        this.jwtParser = Jwts.parser().verifyWith(key).build();
     }
 
     /**
@@ -55,6 +113,7 @@ public class JwtTokenProvider {
 
         //accessToken 생성
         String accessToken = Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(loginRespDto.getUsrname())
                 .claim("id", loginRespDto.getUsrId())
                 .claim("roles", loginRespDto.getRole())
@@ -64,7 +123,9 @@ public class JwtTokenProvider {
         log.debug("디버그: Access Token 생성됨 (Subject: {}, ID: {}, Role: {}, Expires: {})", loginRespDto.getUsrname(), loginRespDto.getUsrId(), loginRespDto.getRole(), accessTokenExpirationDate);
 
         //refreshToken 생성
+        // jti 가 없으면 같은 초에 발급된 토큰이 사용자와 관계없이 동일해짐 (저장소는 토큰 다이제스트가 유일해야 함)
         String refreshToken = Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .expiration(Date.from(now.plusMillis(refreshTokenValidationTime)))
                 .signWith(key)
                 .compact();
@@ -88,12 +149,23 @@ public class JwtTokenProvider {
      * @throws RuntimeException 권한 정보가 없는 토큰일 때
      */
     public Authentication getAuthentication(String accessToken) throws ExpiredJwtException {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(accessToken)
-                .getPayload();
+        String digest = digest(accessToken);
+        CachedAuthentication cached = authenticationCache.getIfPresent(digest);
+        if (cached == null) {
+            cached = toCachedAuthentication(jwtParser.parseSignedClaims(accessToken).getPayload());
+            // exp 가 없는 토큰은 만료 시각을 알 수 없으므로 캐시하지 않음
+            if (cached.expiresAt() != null) {
+                authenticationCache.put(digest, cached);
+            }
+        }
+        // 폐기 여부는 캐시 적중 시에도 매번 확인 (대부분 Bloom 필터 조회로 끝남)
+        if (revocationList.isRevoked(cached.jti())) {
+            throw new JwtException("폐기된 토큰입니다.");
+        }
+        return cached.toAuthentication();
+    }
 
+    private CachedAuthentication toCachedAuthentication(Claims claims) {
         if (claims.get("roles") == null) {
             log.warn("경고: 권한 정보가 없는 토큰입니다. Subject: {}", claims.getSubject());
             throw new RuntimeException("권한정보가 없는 토큰입니다.");
@@ -108,7 +180,33 @@ public class JwtTokenProvider {
         // UserDetails 객체 생성 (비밀번호는 인증 후이므로 빈 문자열)
         UserDetails user = new User(claims.getSubject(), "", authorities);
 
-        return new UsernamePasswordAuthenticationToken(user, null, authorities);
+        // Usr id를 details에 담아 DB 조회 없이 사용자별 리소스(KFTC 토큰 등)를 찾을 수 있게 함
+        Long usrId = claims.get("id") instanceof Number id ? id.longValue() : null;
+        Instant expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+        return new CachedAuthentication(user, authorities, usrId, claims.getId(), expiresAt);
+    }
+
+    /**
+     * Access Token을 만료 시각까지 폐기 (로그아웃, 토큰 재발급, 탈취 의심 시)
+     * jti 가 없는 토큰(도입 이전 발급분)은 폐기할 수 없으며 자연 만료를 기다림
+     * @param accessToken JWT Access Token (만료된 토큰은 무시)
+     * @throws JwtException 서명이 잘못되었거나 형식이 잘못된 경우
+     */
+    public void revokeAccessToken(String accessToken) {
+        Claims claims;
+        try {
+            claims = jwtParser.parseSignedClaims(accessToken).getPayload();
+        } catch (ExpiredJwtException e) {
+            return;
+        }
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            log.info("jti 가 없는 Access Token 은 폐기할 수 없습니다. Subject: {}", claims.getSubject());
+            return;
+        }
+        Long usrId = claims.get("id") instanceof Number id ? id.longValue() : null;
+        revocationList.revoke(claims.getId(), usrId,
+                LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()));
+        authenticationCache.invalidate(digest(accessToken));
     }
 
 
@@ -119,7 +217,12 @@ public class JwtTokenProvider {
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+            CachedAuthentication cached = authenticationCache.getIfPresent(digest(token));
+            String jti = cached != null ? cached.jti() : jwtParser.parseSignedClaims(token).getPayload().getId();
+            if (revocationList.isRevoked(jti)) {
+                log.info("폐기된 JWT 토큰입니다.");
+                return false;
+            }
             log.debug("디버그: JWT 토큰 유효성 검증 성공.");
             return true;
         } catch (SecurityException e) {
@@ -143,11 +246,46 @@ public class JwtTokenProvider {
      * @throws JwtException 토큰 파싱 실패 또는 유효하지 않은 경우
      */
     public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
+        CachedAuthentication cached = authenticationCache.getIfPresent(digest(token));
+        if (cached != null) {
+            return cached.user().getUsername();
+        }
+        return jwtParser.parseSignedClaims(token)
                 .getPayload()
                 .getSubject();
     }
+
+    /**
+     * 만료 여부와 관계없이 서명이 유효한 Access Token 의 사용자 ID(id 클레임)를 추출
+     * @param token JWT Access Token
+     * @return 사용자 ID (id 클레임이 없으면 null)
+     * @throws JwtException 서명이 잘못되었거나 형식이 잘못된 경우
+     */
+    public Long getUsrIdAllowExpired(String token) {
+        CachedAuthentication cached = authenticationCache.getIfPresent(digest(token));
+        if (cached != null) {
+            return cached.usrId();
+        }
+        Claims claims;
+        try {
+            claims = jwtParser.parseSignedClaims(token).getPayload();
+        } catch (ExpiredJwtException e) {
+            claims = e.getClaims();
+        }
+        return claims.get("id") instanceof Number id ? id.longValue() : null;
+    }
+
+    public Duration getRefreshTokenValidity() {
+        return Duration.ofMillis(refreshTokenValidationTime);
+    }
+
+    /**
+     * 토큰의 SHA-256 다이제스트 (hex). 토큰 원문 대신 캐시/저장소 키로 사용
+     */
+    public static String digest(String token) {
+        if (token == null) {
+            throw new IllegalArgumentException("JWT 토큰이 비어 있습니다.");
+        }
+        return DigestUtil.sha256Hex(token);
+    }
 }
\ No newline at end of file
@@ -16,7 +16,6 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -34,12 +33,6 @@ public class SecurityConfig {
     private final OAuth2SuccessHandler oAuth2SuccessHandler;
     private final CustomOAuth2UserService oAuth2UserService;
 
-    @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        log.debug("디버그: BCryptPasswordEncoder 빈 등록됨");
-        return new BCryptPasswordEncoder();
-    }
-
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
         return authenticationConfiguration.getAuthenticationManager();
@@ -85,7 +78,9 @@ public class SecurityConfig {
                         "/api/login/**",
                         "/api/signup/**",
                         "/api/image/**",
-                        "/api/kftc/**").permitAll()
+                        "/api/kftc/**",
+                        "/actuator/health",
+                        "/actuator/prometheus").permitAll() // actuator 는 내부 관리 포트로만 노출
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .anyRequest().authenticated());
 
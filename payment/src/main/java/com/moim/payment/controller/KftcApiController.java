@@ -1,16 +1,33 @@
 package com.moim.payment.controller;
 
+import com.moim.payment.config.KftcApiProperties;
+import com.moim.payment.domain.KftcTransfer;
 import com.moim.payment.dto.kftc.*;
 import com.moim.payment.exception.KftcApiException;
+import com.moim.payment.service.KftcAccountSnapshotService;
 import com.moim.payment.service.KftcApiService;
-import jakarta.servlet.http.HttpServletRequest;
+import com.moim.payment.service.KftcTokenVaultService;
+import com.moim.payment.service.KftcTransactionSyncService;
+import com.moim.payment.service.KftcTransferStore;
+import com.moim.payment.util.MaskingUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
-
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,91 +39,107 @@ import java.util.Map;
 public class KftcApiController {
 
     private final KftcApiService kftcApiService;
+    private final KftcTokenVaultService kftcTokenVaultService;
+    private final KftcTransactionSyncService kftcTransactionSyncService;
+    private final KftcApiProperties kftcApiProperties;
+    private final KftcTransferStore kftcTransferStore;
+    private final KftcAccountSnapshotService kftcAccountSnapshotService;
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    // 수취인별 멱등키(batchId#순번)가 64자를 넘지 않도록 제한
+    private static final int BATCH_IDEMPOTENCY_KEY_MAX_LENGTH = 56;
 
     @PostMapping("/token")
-    public ResponseEntity<?> exchangeCodeForToken(@RequestBody KftcApiReq request) {
-        log.info("토큰 발급 요청: code={}, redirect_uri={}", request.getCode(), request.getRedirect_uri());
+    public Mono<ResponseEntity<?>> exchangeCodeForToken(@RequestBody KftcApiReq request) {
+        log.info("토큰 발급 요청: redirect_uri={}", request.getRedirect_uri());
 
         // 입력값 검증
         if (StringUtils.isBlank(request.getCode())) {
             log.warn("인가 코드가 누락되었습니다.");
-            return ResponseEntity.badRequest().body(createErrorResponse(
-                    "MISSING_CODE", "인가 코드가 누락되었습니다."));
+            return Mono.just(ResponseEntity.badRequest().body(createErrorResponse(
+                    "MISSING_CODE", "인가 코드가 누락되었습니다.")));
         }
 
         if (StringUtils.isBlank(request.getRedirect_uri())) {
             log.warn("리다이렉트 URI가 누락되었습니다.");
-            return ResponseEntity.badRequest().body(createErrorResponse(
-                    "MISSING_REDIRECT_URI", "리다이렉트 URI가 누락되었습니다."));
+            return Mono.just(ResponseEntity.badRequest().body(createErrorResponse(
+                    "MISSING_REDIRECT_URI", "리다이렉트 URI가 누락되었습니다.")));
         }
 
-        try {
-            KftcTokenResp tokenResp = kftcApiService.exchangeCodeForToken(
-                    request.getCode(),
-                    request.getRedirect_uri()
-            );
-            if (tokenResp == null || StringUtils.isBlank(tokenResp.getAccessToken())) {
-                log.error("Access Token 교환 실패 - 응답이 null이거나 토큰이 없음");
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(createErrorResponse("TOKEN_EXCHANGE_FAILED", "토큰 교환에 실패했습니다."));
-            }
-
-            log.info("토큰 교환 성공 - userSeqNo: {}", tokenResp.getUserSeqNo());
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("accessToken", tokenResp.getAccessToken());
-            response.put("userSeqNo", tokenResp.getUserSeqNo());
-            response.put("tokenType", tokenResp.getTokenType());
-            response.put("expiresIn", tokenResp.getExpiresIn());
-            response.put("scope", tokenResp.getScope());
-
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            log.error("KFTC 토큰 교환 중 런타임 오류: {}", e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(createErrorResponse("KFTC_API_ERROR", "금융결재원 API 오류: " + e.getMessage()));
-        } catch (Exception e) {
-            log.error("토큰 교환 중 예상치 못한 오류: {}", e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(createErrorResponse("UNEXPECTED_ERROR", "예상치 못한 오류가 발생했습니다."));
-        }
+        Long usrId = currentUsrId();
+
+        return kftcApiService.issueUserAccessToken(request.getCode(), request.getRedirect_uri())
+                .flatMap(tokenResp -> storeInVault(usrId, tokenResp))
+                .<ResponseEntity<?>>map(tokenResp -> {
+                    if (StringUtils.isBlank(tokenResp.getAccessToken())) {
+                        log.error("Access Token 교환 실패 - 응답에 토큰이 없음");
+                        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                .body(createErrorResponse("TOKEN_EXCHANGE_FAILED", "토큰 교환에 실패했습니다."));
+                    }
+
+                    log.info("토큰 교환 성공 - userSeqNo: {}", tokenResp.getUserSeqNo());
+
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("accessToken", tokenResp.getAccessToken());
+                    response.put("userSeqNo", tokenResp.getUserSeqNo());
+                    response.put("tokenType", tokenResp.getTokenType());
+                    response.put("expiresIn", tokenResp.getExpiresIn());
+                    response.put("scope", tokenResp.getScope());
+
+                    return ResponseEntity.ok(response);
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.error("Access Token 교환 실패 - 응답이 null");
+                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(createErrorResponse("TOKEN_EXCHANGE_FAILED", "토큰 교환에 실패했습니다."));
+                }))
+                .onErrorResume(e -> {
+                    log.error("KFTC 토큰 교환 중 오류: {}", e.getMessage(), e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(createErrorResponse("KFTC_API_ERROR", "금융결재원 API 오류: " + e.getMessage())));
+                });
     }
 
     @PostMapping("/account-info")
-    public ResponseEntity<?> getAccountInfo(@RequestBody Map<String, String> request) {
+    public Mono<ResponseEntity<?>> getAccountInfo(@RequestBody Map<String, String> request) {
         String accessToken = request.get("accessToken");
         String userSeqNo = request.get("userSeqNo");
+        boolean refresh = Boolean.parseBoolean(request.get("refresh")); // true: 캐시를 거치지 않고 최신 데이터 조회
 
         log.info("계좌 정보 조회 요청: userSeqNo={}", userSeqNo);
 
-        if (StringUtils.isBlank(accessToken)) {
-            return ResponseEntity.badRequest()
-                    .body(createErrorResponse("MISSING_TOKEN", "액세스 토큰이 누락되었습니다."));
-        }
-
-        if (StringUtils.isBlank(userSeqNo)) {
-            return ResponseEntity.badRequest()
-                    .body(createErrorResponse("MISSING_USER_SEQ", "사용자 일련번호가 누락되었습니다."));
-        }
-
-        try {
-            AccountInfoDto accountInfo = kftcApiService.getComprehensiveAccountInfo(accessToken, userSeqNo);
-
-            log.info("계좌 정보 조회 성공: bankName={}, accountNumber={}",
-                    accountInfo.getBankName(), accountInfo.getAccountNumber());
-
-            return ResponseEntity.ok(accountInfo);
-
-        } catch (RuntimeException e) {
-            log.error("계좌 정보 조회 중 런타임 오류: {}", e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(createErrorResponse("ACCOUNT_INFO_ERROR", "계좌 정보 조회 실패: " + e.getMessage()));
-        } catch (Exception e) {
-            log.error("계좌 정보 조회 중 예상치 못한 오류: {}", e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(createErrorResponse("UNEXPECTED_ERROR", "예상치 못한 오류가 발생했습니다."));
-        }
+        // SecurityContext 는 요청 스레드에만 있으므로 스냅샷 조회(boundedElastic) 이후가 아닌 여기서 한 번 읽음
+        Long usrId = currentUsrId();
+
+        // 본문에 토큰이 없으면 로그인 사용자의 토큰 보관소에서 조회
+        Mono<AccountInfoDto> live = Mono.defer(() -> resolveKftcToken(accessToken, userSeqNo, usrId))
+                .flatMap(token -> {
+                    if (StringUtils.isBlank(token.getUserSeqNo())) {
+                        return Mono.error(new KftcApiException("MISSING_USER_SEQ",
+                                "사용자 일련번호가 누락되었습니다.", HttpStatus.BAD_REQUEST, null));
+                    }
+                    return kftcApiService.getComprehensiveAccountInfo(token.getAccessToken(), token.getUserSeqNo(), refresh);
+                });
+
+        // 로그인 사용자의 일반 조회는 사전 갱신된 스냅샷이 유효하면 KFTC 를 호출하지 않음
+        Long snapshotUsrId = StringUtils.isBlank(accessToken) && !refresh ? usrId : null;
+        Mono<AccountInfoDto> accountInfoMono = snapshotUsrId == null ? live
+                : kftcAccountSnapshotService.findFresh(snapshotUsrId).switchIfEmpty(live);
+
+        return accountInfoMono
+                .<ResponseEntity<?>>map(accountInfo -> {
+                    log.info("계좌 정보 조회 성공: bankName={}, accountNumber={}",
+                            accountInfo.getBankName(), MaskingUtil.accountNum(accountInfo.getAccountNumber()));
+                    return ResponseEntity.ok(accountInfo);
+                })
+                .onErrorResume(KftcApiException.class, e -> Mono.just(ResponseEntity.status(e.getHttpStatus())
+                        .body(createErrorResponse(e.getErrorCode(), e.getMessage()))))
+                .onErrorResume(e -> {
+                    log.error("계좌 정보 조회 중 오류: {}", e.getMessage(), e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(createErrorResponse("ACCOUNT_INFO_ERROR", "계좌 정보 조회 실패: " + e.getMessage())));
+                });
     }
 
     /**
@@ -117,45 +150,35 @@ public class KftcApiController {
      * @return 계좌 정보 DTO 또는 오류 응답
      */
     @PostMapping("/token-exchange")
-    public ResponseEntity<?> exchangeTokenAndGetAccountInfo(@RequestBody KftcApiReq request) {
-        log.info("통합 토큰 교환 및 계좌 정보 조회 요청: code={}, redirect_uri={}",
-                request.getCode(), request.getRedirect_uri());
+    public Mono<ResponseEntity<?>> exchangeTokenAndGetAccountInfo(@RequestBody KftcApiReq request) {
+        log.info("통합 토큰 교환 및 계좌 정보 조회 요청: redirect_uri={}", request.getRedirect_uri());
 
         // 입력값 검증
         if (StringUtils.isBlank(request.getCode()) || StringUtils.isBlank(request.getRedirect_uri())) {
-            return ResponseEntity.badRequest()
-                    .body(createErrorResponse("INVALID_REQUEST", "인가 코드 또는 리다이렉트 URI가 누락되었습니다."));
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(createErrorResponse("INVALID_REQUEST", "인가 코드 또는 리다이렉트 URI가 누락되었습니다.")));
         }
 
-        try {
-            log.info("금융결재원 토큰 교환 시작...");
-            
-            // 1. 인가 코드를 사용하여 Access Token 교환
-            KftcTokenResp tokenResponse = kftcApiService.exchangeCodeForToken(
-                    request.getCode(),
-                    request.getRedirect_uri()
-            );
-
-            // 2. 계좌 정보 조회
-            AccountInfoDto accountInfo = kftcApiService.getComprehensiveAccountInfo(
-                    tokenResponse.getAccessToken(),
-                    tokenResponse.getUserSeqNo()
-            );
-
-            log.info("통합 처리 성공: bankName={}, accountNumber={}",
-                    accountInfo.getBankName(), accountInfo.getAccountNumber());
-
-            return ResponseEntity.ok(accountInfo);
-
-        } catch (RuntimeException e) {
-            log.error("통합 처리 중 런타임 오류: {}", e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(createErrorResponse("INTEGRATION_ERROR", "통합 처리 실패: " + e.getMessage()));
-        } catch (Exception e) {
-            log.error("통합 처리 중 예상치 못한 오류: {}", e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(createErrorResponse("UNEXPECTED_ERROR", "예상치 못한 오류가 발생했습니다."));
-        }
+        log.info("금융결재원 토큰 교환 시작...");
+        Long usrId = currentUsrId();
+
+        // 1. 인가 코드를 사용하여 Access Token 교환 (보관소 저장) -> 2. 계좌 정보 조회
+        return kftcApiService.issueUserAccessToken(request.getCode(), request.getRedirect_uri())
+                .flatMap(tokenResp -> storeInVault(usrId, tokenResp))
+                .flatMap(tokenResponse -> kftcApiService.getComprehensiveAccountInfo(
+                        tokenResponse.getAccessToken(),
+                        tokenResponse.getUserSeqNo()
+                ))
+                .<ResponseEntity<?>>map(accountInfo -> {
+                    log.info("통합 처리 성공: bankName={}, accountNumber={}",
+                            accountInfo.getBankName(), MaskingUtil.accountNum(accountInfo.getAccountNumber()));
+                    return ResponseEntity.ok(accountInfo);
+                })
+                .onErrorResume(e -> {
+                    log.error("통합 처리 중 오류: {}", e.getMessage(), e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(createErrorResponse("INTEGRATION_ERROR", "통합 처리 실패: " + e.getMessage())));
+                });
     }
 
     /**
@@ -163,38 +186,127 @@ public class KftcApiController {
      * POST /api/kftc/balance
      */
     @PostMapping("/balance")
-    public ResponseEntity<?> getAccountBalance(@RequestBody Map<String, String> request) {
+    public Mono<ResponseEntity<?>> getAccountBalance(@RequestBody Map<String, String> request) {
         String accessToken = request.get("accessToken");
         String fintechUseNum = request.get("fintechUseNum");
+        boolean refresh = Boolean.parseBoolean(request.get("refresh")); // true: 캐시를 거치지 않고 최신 잔액 조회
 
-        if (StringUtils.isBlank(accessToken)) {
-            return ResponseEntity.badRequest()
-                    .body(createErrorResponse("MISSING_TOKEN", "액세스 토큰이 누락되었습니다."));
+        if (StringUtils.isBlank(fintechUseNum)) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(createErrorResponse("MISSING_FINTECH_USE_NUM", "핀테크 이용 번호가 누락되었습니다.")));
         }
+
+        return resolveKftcToken(accessToken, null, currentUsrId())
+                .flatMap(token -> kftcApiService.getAccountBalance(token.getAccessToken(), fintechUseNum, refresh))
+                .<ResponseEntity<?>>map(balanceResp -> {
+                    String balance = String.valueOf(balanceResp.getBalanceAmt());
+
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("balance", balance);
+                    response.put("balanceFormatted", formatAmount(balance));
+
+                    return ResponseEntity.ok(response);
+                })
+                .onErrorResume(KftcApiException.class, e -> {
+                    log.error("잔액 조회 중 API 오류: status={}, code={}", e.getHttpStatus(), e.getErrorCode());
+                    return Mono.just(ResponseEntity.status(e.getHttpStatus())
+                            .body(createErrorResponse(e.getErrorCode(), e.getMessage())));
+                })
+                .onErrorResume(e -> {
+                    log.error("잔액 조회 실패: {}", e.getMessage(), e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(createErrorResponse("BALANCE_ERROR", "잔액 조회 실패: " + e.getMessage())));
+                });
+    }
+
+    /**
+     * 계좌 거래내역 조회 API (워터마크 이후 구간만 KFTC 동기화, 나머지는 로컬 저장소)
+     * POST /api/kftc/transactions
+     */
+    @PostMapping("/transactions")
+    public Mono<ResponseEntity<?>> getTransactions(@RequestBody Map<String, String> request) {
+        String accessToken = request.get("accessToken");
+        String fintechUseNum = request.get("fintechUseNum");
+        boolean refresh = Boolean.parseBoolean(request.get("refresh")); // true: 최소 동기화 간격과 관계없이 최신 거래 조회
+
         if (StringUtils.isBlank(fintechUseNum)) {
-            return ResponseEntity.badRequest()
-                    .body(createErrorResponse("MISSING_FINTECH_USE_NUM", "핀테크 이용 번호가 누락되었습니다."));
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(createErrorResponse("MISSING_FINTECH_USE_NUM", "핀테크 이용 번호가 누락되었습니다.")));
         }
 
+        LocalDate toDate;
+        LocalDate fromDate;
         try {
-            String balance = kftcApiService.getAccountBalance(accessToken, fintechUseNum);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("balance", balance);
-            response.put("balanceFormatted", formatAmount(balance));
-
-            return ResponseEntity.ok(response);
-
-        } catch (KftcApiException e) { // ✅ 수정된 부분: 커스텀 예외를 잡아서 처리
-            log.error("잔액 조회 중 API 오류: status={}, body={}", e.getHttpStatus(), e.getResponseBody());
-            return ResponseEntity.status(e.getHttpStatus())
-                    .body(createErrorResponse(e.getErrorCode(), e.getMessage()));
-        } catch (Exception e) {
-            log.error("잔액 조회 실패: {}", e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(createErrorResponse("BALANCE_ERROR", "잔액 조회 실패: " + e.getMessage()));
+            toDate = StringUtils.isBlank(request.get("toDate")) ? LocalDate.now()
+                    : LocalDate.parse(request.get("toDate"), DateTimeFormatter.BASIC_ISO_DATE);
+            fromDate = StringUtils.isBlank(request.get("fromDate"))
+                    ? toDate.minusMonths(kftcApiProperties.getTransactionSync().getDefaultMonths())
+                    : LocalDate.parse(request.get("fromDate"), DateTimeFormatter.BASIC_ISO_DATE);
+        } catch (DateTimeParseException e) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(createErrorResponse("INVALID_DATE", "조회 기간은 yyyyMMdd 형식이어야 합니다.")));
         }
+
+        return resolveKftcToken(accessToken, null, currentUsrId())
+                .flatMap(token -> kftcTransactionSyncService.getTransactions(token.getAccessToken(), token.getUserSeqNo(),
+                        fintechUseNum, fromDate, toDate, refresh))
+                .<ResponseEntity<?>>map(transactions -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("transactions", transactions);
+                    response.put("count", transactions.size());
+                    return ResponseEntity.ok(response);
+                })
+                .onErrorResume(KftcApiException.class, e -> {
+                    log.error("거래내역 조회 중 API 오류: status={}, code={}", e.getHttpStatus(), e.getErrorCode());
+                    return Mono.just(ResponseEntity.status(e.getHttpStatus())
+                            .body(createErrorResponse(e.getErrorCode(), e.getMessage())));
+                })
+                .onErrorResume(e -> {
+                    log.error("거래내역 조회 실패: {}", e.getMessage(), e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(createErrorResponse("TRANSACTION_ERROR", "거래내역 조회 실패: " + e.getMessage())));
+                });
+    }
+
+    /**
+     * 거래내역 스트리밍 (NDJSON) - KFTC 페이지를 받는 대로 한 줄에 한 건씩 전송
+     * GET /api/kftc/transactions/stream?fintechUseNum=..&fromDate=yyyyMMdd&toDate=yyyyMMdd
+     */
+    @GetMapping(value = "/transactions/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AccountInfoDto.TransactionDTO> streamTransactions(
+            @RequestHeader(value = "X-Kftc-Access-Token", required = false) String accessToken,
+            @RequestParam String fintechUseNum,
+            @RequestParam String fromDate,
+            @RequestParam String toDate) {
+        log.info("거래내역 스트리밍(NDJSON) 요청: fintechUseNum={}, {}~{}", MaskingUtil.fintechUseNum(fintechUseNum), fromDate, toDate);
+
+        return resolveKftcToken(accessToken, null, currentUsrId())
+                .flatMapMany(token -> kftcApiService.streamTransactionHistory(token.getAccessToken(), fintechUseNum, fromDate, toDate))
+                .doOnError(e -> log.error("거래내역 스트리밍 실패: {}", e.getMessage()));
+    }
+
+    /**
+     * 거래내역 스트리밍 (Server-Sent Events) - 거래 한 건당 transaction 이벤트, 끝나면 complete 이벤트
+     */
+    @GetMapping(value = "/transactions/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<?>> streamTransactionEvents(
+            @RequestHeader(value = "X-Kftc-Access-Token", required = false) String accessToken,
+            @RequestParam String fintechUseNum,
+            @RequestParam String fromDate,
+            @RequestParam String toDate) {
+        log.info("거래내역 스트리밍(SSE) 요청: fintechUseNum={}, {}~{}", MaskingUtil.fintechUseNum(fintechUseNum), fromDate, toDate);
+
+        return resolveKftcToken(accessToken, null, currentUsrId())
+                .flatMapMany(token -> kftcApiService.streamTransactionHistory(token.getAccessToken(), fintechUseNum, fromDate, toDate))
+                .<ServerSentEvent<?>>map(tx -> ServerSentEvent.builder(tx).id(tx.getId()).event("transaction").build())
+                .concatWith(Mono.just(ServerSentEvent.builder().event("complete").data("").build()))
+                .onErrorResume(e -> {
+                    log.error("거래내역 스트리밍 실패: {}", e.getMessage());
+                    String errorCode = e instanceof KftcApiException kftcApiException ? kftcApiException.getErrorCode() : "TRANSACTION_STREAM_ERROR";
+                    return Mono.just(ServerSentEvent.builder(createErrorResponse(errorCode, e.getMessage())).event("error").build());
+                });
     }
 
     @GetMapping("/health")
@@ -206,65 +318,169 @@ public class KftcApiController {
     }
 
     /**
-     * 출금이체 (송금)
+     * 출금이체 (송금) 접수
+     * 이체 저널에 기록한 뒤 202 와 이체 id 를 바로 반환하며, 실제 전송은 디스패처가 수행합니다.
+     * 같은 Idempotency-Key 로 재요청하면 기존 이체 상태를 반환합니다.
      */
     @PostMapping("/transfer/withdraw")
-    public ResponseEntity<?> withdrawTransfer(@RequestBody TransferReqDto request,
-                                              HttpServletRequest httpRequest) {
+    public Mono<ResponseEntity<?>> withdrawTransfer(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                    @RequestBody TransferReqDto request) {
         log.info("출금이체 요청: fintechUseNum={}, amount={}",
-                request.getFintechUseNum(), request.getTranAmt());
+                MaskingUtil.fintechUseNum(request.getFintechUseNum()), request.getTranAmt());
+        return submitTransfer(KftcTransfer.TransferType.WITHDRAW, idempotencyKey, request, "WITHDRAW_TRANSFER_ERROR", "출금이체");
+    }
 
-        try {
-            // JWT 토큰에서 액세스 토큰 추출
-            String accessToken = extractAccessTokenFromRequest(httpRequest);
+    /**
+     * 입금이체 (수취) 접수
+     */
+    @PostMapping("/transfer/deposit")
+    public Mono<ResponseEntity<?>> depositTransfer(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                   @RequestBody TransferReqDto request) {
+        log.info("입금이체 요청: fintechUseNum={}, amount={}",
+                MaskingUtil.fintechUseNum(request.getFintechUseNum()), request.getTranAmt());
+        return submitTransfer(KftcTransfer.TransferType.DEPOSIT, idempotencyKey, request, "DEPOSIT_TRANSFER_ERROR", "입금이체");
+    }
 
-            TransferRespDto response = kftcApiService.processWithdrawTransfer(accessToken, request);
+    /**
+     * 이체 처리 상태 조회
+     * GET /api/kftc/transfer/{transferId}
+     */
+    @GetMapping("/transfer/{transferId}")
+    public Mono<ResponseEntity<?>> getTransferStatus(@PathVariable Long transferId) {
+        Long usrId = currentUsrId();
+        if (usrId == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(createErrorResponse("UNAUTHORIZED", "로그인이 필요합니다.")));
+        }
 
-            log.info("출금이체 성공: bankTranId={}", response.getBankTranId());
-            return ResponseEntity.ok(response);
+        return Mono.fromCallable(() -> kftcTransferStore.findTransfer(usrId, transferId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .<ResponseEntity<?>>map(transfer -> transfer
+                        .<ResponseEntity<?>>map(t -> ResponseEntity.ok(TransferStatusRespDto.from(t)))
+                        .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                .body(createErrorResponse("TRANSFER_NOT_FOUND", "이체 내역을 찾을 수 없습니다."))))
+                .onErrorResume(e -> {
+                    log.error("이체 상태 조회 실패: transferId={}, error={}", transferId, e.getMessage(), e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(createErrorResponse("TRANSFER_STATUS_ERROR", "이체 상태 조회 실패: " + e.getMessage())));
+                });
+    }
 
-        } catch (Exception e) {
-            log.error("출금이체 실패: {}", e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(createErrorResponse("WITHDRAW_TRANSFER_ERROR", "출금이체 처리 실패: " + e.getMessage()));
+    /**
+     * 다건 입금이체 (모임 정산금 일괄 지급) 접수
+     * 수취인별 입금이체를 이체 저널에 기록한 뒤 202 를 바로 반환하며, 전송과 결과 확정은 디스패처/이체결과 조회가 수행합니다.
+     * 같은 Idempotency-Key 로 재요청하면 다시 이체하지 않고 수취인별 현재 상태를 반환합니다.
+     * POST /api/kftc/transfer/deposit/batch
+     */
+    @PostMapping("/transfer/deposit/batch")
+    public Mono<ResponseEntity<?>> batchDepositTransfer(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                        @RequestBody BatchDepositReqDto request) {
+        if (StringUtils.isBlank(idempotencyKey) || idempotencyKey.length() > BATCH_IDEMPOTENCY_KEY_MAX_LENGTH) {
+            return Mono.just(ResponseEntity.badRequest().body(createErrorResponse(
+                    "INVALID_IDEMPOTENCY_KEY", IDEMPOTENCY_KEY_HEADER + " 헤더(최대 " + BATCH_IDEMPOTENCY_KEY_MAX_LENGTH + "자)가 필요합니다.")));
         }
+        if (request.getRecipients() == null || request.getRecipients().isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(createErrorResponse("MISSING_RECIPIENTS", "입금 수취인이 없습니다.")));
+        }
+        int maxRecipients = kftcApiProperties.getBatchDeposit().getMaxRecipients();
+        if (request.getRecipients().size() > maxRecipients) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(createErrorResponse("TOO_MANY_RECIPIENTS", "입금 수취인은 최대 " + maxRecipients + "건입니다.")));
+        }
+        log.info("다건 입금이체 요청: 수취인 {}건", request.getRecipients().size());
+        Long usrId = currentUsrId();
+
+        // 접수 전에 연동 토큰이 있는지 확인하여 전송 단계의 실패를 줄임
+        return resolveKftcToken(null, null, usrId)
+                .then(Mono.fromCallable(() -> kftcTransferStore.submitBatch(usrId, idempotencyKey, request))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .<ResponseEntity<?>>map(submission -> {
+                    BatchDepositRespDto response = BatchDepositRespDto.from(idempotencyKey, request.getRecipients(), submission.transfers());
+                    if (!submission.created()) {
+                        log.info("다건 입금이체 멱등 재요청: 성공 {}건, 실패 {}건, 확인중 {}건, 대기 {}건",
+                                response.getSuccessCount(), response.getFailureCount(), response.getUnknownCount(), response.getPendingCount());
+                        return ResponseEntity.ok(response);
+                    }
+                    log.info("다건 입금이체 접수: 수취인 {}건", response.getTotalCount());
+                    return ResponseEntity.accepted().body(response);
+                })
+                .onErrorResume(KftcApiException.class, e -> Mono.just(ResponseEntity.status(e.getHttpStatus())
+                        .body(createErrorResponse(e.getErrorCode(), e.getMessage()))))
+                .onErrorResume(e -> {
+                    log.error("다건 입금이체 접수 실패: {}", e.getMessage(), e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(createErrorResponse("BATCH_DEPOSIT_TRANSFER_ERROR", "다건 입금이체 처리 실패: " + e.getMessage())));
+                });
     }
 
     /**
-     * 입금이체 (수취)
+     * 이체 요청을 저널에 기록합니다. (신규 202, 멱등 재요청 200)
      */
-    @PostMapping("/transfer/deposit")
-    public ResponseEntity<?> depositTransfer(@RequestBody TransferReqDto request,
-                                             HttpServletRequest httpRequest) {
-        log.info("입금이체 요청: fintechUseNum={}, amount={}",
-                request.getFintechUseNum(), request.getTranAmt());
-
-        try {
-            // JWT 토큰에서 액세스 토큰 추출
-            String accessToken = extractAccessTokenFromRequest(httpRequest);
+    private Mono<ResponseEntity<?>> submitTransfer(KftcTransfer.TransferType transferType, String idempotencyKey, TransferReqDto request,
+                                                   String errorCode, String apiName) {
+        if (StringUtils.isBlank(idempotencyKey) || idempotencyKey.length() > 64) {
+            return Mono.just(ResponseEntity.badRequest().body(createErrorResponse(
+                    "INVALID_IDEMPOTENCY_KEY", IDEMPOTENCY_KEY_HEADER + " 헤더(최대 64자)가 필요합니다.")));
+        }
+        Long usrId = currentUsrId();
+
+        // 접수 전에 연동 토큰이 있는지 확인하여 전송 단계의 실패를 줄임
+        return resolveKftcToken(null, null, usrId)
+                .then(Mono.fromCallable(() -> kftcTransferStore.submit(usrId, transferType, idempotencyKey, request))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .<ResponseEntity<?>>map(submission -> {
+                    TransferStatusRespDto response = TransferStatusRespDto.from(submission.transfer());
+                    if (!submission.created()) {
+                        log.info("{} 멱등 재요청: transferId={}, status={}", apiName, response.getTransferId(), response.getStatus());
+                        return ResponseEntity.ok(response);
+                    }
+                    log.info("{} 접수: transferId={}, bankTranId={}", apiName, response.getTransferId(), response.getBankTranId());
+                    return ResponseEntity.accepted()
+                            .location(URI.create("/api/kftc/transfer/" + response.getTransferId()))
+                            .body(response);
+                })
+                .onErrorResume(KftcApiException.class, e -> Mono.just(ResponseEntity.status(e.getHttpStatus())
+                        .body(createErrorResponse(e.getErrorCode(), e.getMessage()))))
+                .onErrorResume(e -> {
+                    log.error("{} 접수 실패: {}", apiName, e.getMessage(), e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(createErrorResponse(errorCode, apiName + " 처리 실패: " + e.getMessage())));
+                });
+    }
 
-            TransferRespDto response = kftcApiService.processDepositTransfer(accessToken, request);
+    /**
+     * 요청 본문의 KFTC 토큰을 우선 사용하고, 없으면 로그인 사용자의 토큰 보관소에서 조회합니다.
+     * SecurityContext는 요청 스레드에 묶여 있으므로 usrId 는 호출자가 요청 스레드에서 읽어 넘깁니다. (구독 스레드에서는 비어 있을 수 있음)
+     */
+    private Mono<KftcTokenVaultService.VaultToken> resolveKftcToken(String accessToken, String userSeqNo, Long usrId) {
+        if (StringUtils.isNotBlank(accessToken)) {
+            return Mono.just(new KftcTokenVaultService.VaultToken(accessToken, null, userSeqNo, null));
+        }
 
-            log.info("입금이체 성공: bankTranId={}", response.getBankTranId());
-            return ResponseEntity.ok(response);
+        if (usrId == null) {
+            return Mono.error(new KftcApiException("MISSING_TOKEN", "액세스 토큰이 누락되었습니다.",
+                    HttpStatus.BAD_REQUEST, null));
+        }
+        return kftcTokenVaultService.getToken(usrId);
+    }
 
-        } catch (Exception e) {
-            log.error("입금이체 실패: {}", e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(createErrorResponse("DEPOSIT_TRANSFER_ERROR", "입금이체 처리 실패: " + e.getMessage()));
+    /**
+     * 로그인 사용자라면 발급받은 토큰을 보관소에 저장합니다. (비로그인 요청은 그대로 통과)
+     */
+    private Mono<KftcTokenResp> storeInVault(Long usrId, KftcTokenResp tokenResp) {
+        if (usrId == null || StringUtils.isBlank(tokenResp.getAccessToken())) {
+            return Mono.just(tokenResp);
         }
+        return kftcTokenVaultService.save(usrId, tokenResp).thenReturn(tokenResp);
     }
 
-    private String extractAccessTokenFromRequest(HttpServletRequest request) {
-        // JWT 토큰에서 KFTC 액세스 토큰을 추출하는 로직
-        // 실제 구현은 토큰 저장 방식에 따라 달라집니다
-        String authHeader = request.getHeader("Authorization");
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            // JWT 토큰을 파싱하여 KFTC 액세스 토큰 추출
-            // 또는 세션/데이터베이스에서 조회
-            return "extracted_kftc_access_token";
+    private Long currentUsrId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getDetails() instanceof Long usrId) {
+            return usrId;
         }
-        throw new RuntimeException("액세스 토큰을 찾을 수 없습니다.");
+        return null;
     }
 
     // 유틸리티 메서드들
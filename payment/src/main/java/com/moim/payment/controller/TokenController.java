@@ -1,5 +1,6 @@
 package com.moim.payment.controller;
 
+import com.moim.payment.config.auth.JwtVO;
 import com.moim.payment.dto.usr.TokenDTO;
 import com.moim.payment.service.TokenService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -8,6 +9,7 @@ import lombok.extern.log4j.Log4j2;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -24,4 +26,14 @@ public class TokenController {
     public ResponseEntity<TokenDTO> refreshToken(@RequestBody TokenDTO tokenDTO) {
         return ResponseEntity.ok(tokenService.refresh(tokenDTO));
     }
+
+    @Operation(summary = "로그아웃 (Refresh Token 삭제, Access Token 폐기)")
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(JwtVO.HEADER_STRING) String authorization) {
+        if (!authorization.startsWith(JwtVO.TOKEN_PREFIX)) {
+            return ResponseEntity.badRequest().build();
+        }
+        tokenService.logout(authorization.substring(JwtVO.TOKEN_PREFIX.length()).trim());
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,43 @@
+package com.moim.payment.domain;
+
+import com.moim.payment.domain.converter.EncryptedStringConverter;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 통합 계좌 정보 스냅샷 (잔액 + 최근 거래내역).
+ * 활동 중인 모임의 모임장 계좌를 백그라운드 작업이 미리 조회해 두며,
+ * 대시보드 조회는 refreshedAt 이 유효 기간 안이면 KFTC 를 호출하지 않고 이 값으로 응답합니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "kftc_account_snapshot")
+public class KftcAccountSnapshot {
+
+    @Id
+    private Long usrId;
+
+    @Lob
+    @Convert(converter = EncryptedStringConverter.class)
+    @Column(nullable = false)
+    private String payload;             // AccountInfoDto JSON (계좌번호 포함이므로 암호화)
+
+    @Column(nullable = false)
+    private LocalDateTime refreshedAt;
+
+    public KftcAccountSnapshot(Long usrId, String payload, LocalDateTime refreshedAt) {
+        this.usrId = usrId;
+        this.payload = payload;
+        this.refreshedAt = refreshedAt;
+    }
+
+    public void update(String payload, LocalDateTime refreshedAt) {
+        this.payload = payload;
+        this.refreshedAt = refreshedAt;
+    }
+}
@@ -0,0 +1,71 @@
+package com.moim.payment.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 금융결제원에서 동기화한 계좌 거래내역 (핀테크이용번호 기준 로컬 저장소).
+ * tranKey(거래일시/입출금구분/금액/거래후잔액)로 중복 저장을 막습니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "kftc_transaction",
+        uniqueConstraints = @UniqueConstraint(name = "UK_KFTC_TRANSACTION_KEY", columnNames = {"fintechUseNum", "tranKey"}),
+        indexes = @Index(name = "IDX_KFTC_TRANSACTION_ACCOUNT_DATE", columnList = "fintechUseNum, tranDate, tranTime"))
+public class KftcTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 24)
+    private String fintechUseNum;
+
+    @Column(nullable = false, length = 64)
+    private String tranKey;             // 자연키 (중복 제거용)
+
+    @Column(nullable = false, length = 8)
+    private String tranDate;            // yyyyMMdd
+
+    @Column(nullable = false, length = 6)
+    private String tranTime;            // HHmmss
+
+    private String inoutType;           // 입금/출금
+    private String tranType;
+    private String printContent;
+    private long tranAmt;
+    private long afterBalanceAmt;
+    private String branchName;
+
+    @CreatedDate
+    @Column(updatable = false)
+    private LocalDateTime syncedAt;
+
+    @Builder
+    public KftcTransaction(String fintechUseNum, String tranDate, String tranTime, String inoutType, String tranType,
+                           String printContent, long tranAmt, long afterBalanceAmt, String branchName) {
+        this.fintechUseNum = fintechUseNum;
+        this.tranDate = tranDate;
+        this.tranTime = tranTime;
+        this.inoutType = inoutType;
+        this.tranType = tranType;
+        this.printContent = printContent;
+        this.tranAmt = tranAmt;
+        this.afterBalanceAmt = afterBalanceAmt;
+        this.branchName = branchName;
+        this.tranKey = naturalKey(tranDate, tranTime, inoutType, tranAmt, afterBalanceAmt);
+    }
+
+    public static String naturalKey(String tranDate, String tranTime, String inoutType, long tranAmt, long afterBalanceAmt) {
+        return tranDate + tranTime + "|" + inoutType + "|" + tranAmt + "|" + afterBalanceAmt;
+    }
+}
@@ -0,0 +1,67 @@
+package com.moim.payment.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 계좌별 거래내역 동기화 워터마크.
+ * syncedFrom ~ watermarkDate 구간은 로컬 저장소에 모두 있으며,
+ * 다음 동기화는 watermarkDate(당일 추가 거래가 있을 수 있으므로 포함)부터 오늘까지만 조회합니다.
+ * ownerUserSeqNo 는 보관소 토큰으로 동기화에 성공한 사용자이며, 이 사용자만 KFTC 호출 없이 로컬 거래내역을 조회할 수 있습니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "kftc_transaction_sync_state")
+public class KftcTransactionSyncState {
+
+    @Id
+    @Column(length = 24)
+    private String fintechUseNum;
+
+    @Column(nullable = false)
+    private LocalDate syncedFrom;       // 로컬에 보관된 가장 이른 조회일
+
+    @Column(nullable = false)
+    private LocalDate watermarkDate;    // 마지막으로 동기화한 조회 종료일
+
+    @Column(nullable = false)
+    private LocalDateTime lastSyncedAt;
+
+    private String ownerUserSeqNo;      // 마지막으로 동기화에 성공한 금융결제원 사용자일련번호 (보관소 토큰)
+
+    public KftcTransactionSyncState(String fintechUseNum, LocalDate syncedFrom, LocalDate watermarkDate, LocalDateTime lastSyncedAt) {
+        this.fintechUseNum = fintechUseNum;
+        this.syncedFrom = syncedFrom;
+        this.watermarkDate = watermarkDate;
+        this.lastSyncedAt = lastSyncedAt;
+    }
+
+    public void advance(LocalDate fetchedFrom, LocalDate fetchedTo, LocalDateTime syncedAt) {
+        if (fetchedFrom.isBefore(this.syncedFrom)) {
+            this.syncedFrom = fetchedFrom;
+        }
+        if (fetchedTo.isAfter(this.watermarkDate)) {
+            this.watermarkDate = fetchedTo;
+        }
+        this.lastSyncedAt = syncedAt;
+    }
+
+    /**
+     * KFTC 조회에 성공한 사용자를 계좌 소유자로 기록합니다. (본문 토큰처럼 사용자를 알 수 없으면 유지)
+     */
+    public void confirmOwner(String userSeqNo) {
+        if (userSeqNo != null) {
+            this.ownerUserSeqNo = userSeqNo;
+        }
+    }
+
+    public boolean isOwnedBy(String userSeqNo) {
+        return userSeqNo != null && userSeqNo.equals(this.ownerUserSeqNo);
+    }
+}
@@ -0,0 +1,171 @@
+package com.moim.payment.domain;
+
+import com.moim.payment.domain.converter.EncryptedStringConverter;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * KFTC 이체 저널(outbox).
+ * 이체 요청은 먼저 이 테이블에 기록되고 응답(202)한 뒤, 디스패처가 KFTC 로 전송하여 결과를 기록합니다.
+ * (usrId, idempotencyKey) 가 유일하므로 클라이언트 재시도가 중복 이체로 이어지지 않으며,
+ * bank_tran_id 는 접수 시점에 채번하여 재전송/결과조회에 동일한 값을 사용합니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "kftc_transfer",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "UK_KFTC_TRANSFER_IDEMPOTENCY", columnNames = {"usrId", "idempotencyKey"}),
+                @UniqueConstraint(name = "UK_KFTC_TRANSFER_BANK_TRAN_ID", columnNames = {"bankTranId"})
+        },
+        indexes = {
+                @Index(name = "IDX_KFTC_TRANSFER_STATUS", columnList = "status, nextAttemptAt"),
+                @Index(name = "IDX_KFTC_TRANSFER_BATCH", columnList = "usrId, batchId")
+        })
+public class KftcTransfer {
+
+    public enum TransferType {
+        WITHDRAW, DEPOSIT
+    }
+
+    public enum Status {
+        PENDING,        // 전송 대기 (전송되지 않았음이 확실한 실패 포함)
+        PROCESSING,     // 디스패처가 전송 중
+        SUCCEEDED,
+        FAILED,
+        UNKNOWN;        // 전송 후 결과를 알 수 없음 (타임아웃/5xx/처리중 응답) - 결과 조회로 확정 필요
+
+        public boolean isFinal() {
+            return this == SUCCEEDED || this == FAILED;
+        }
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long usrId;
+
+    @Column(nullable = false, length = 64)
+    private String idempotencyKey;      // 클라이언트 멱등키 (Idempotency-Key 헤더)
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;         // 같은 멱등키로 다른 요청을 보냈는지 확인용 (SHA-256)
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TransferType transferType;
+
+    @Convert(converter = EncryptedStringConverter.class)
+    @Column(nullable = false, length = 4096)
+    private String requestPayload;      // TransferReqDto JSON (암호문구 포함이므로 암호화)
+
+    @Column(nullable = false, length = 20)
+    private String bankTranId;
+
+    @Column(length = 64)
+    private String batchId;             // 다건 입금이체 멱등키 (수취인별 건의 idempotencyKey 는 batchId#순번)
+
+    private Integer batchSeq;           // 다건 입금이체 안에서의 수취인 순번 (1부터)
+
+    @Column(length = 24)
+    private String fintechUseNum;
+
+    @Column(length = 12)
+    private String tranAmt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private int reconcileAttempts;      // UNKNOWN 건의 이체결과 조회 횟수
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt; // PENDING: 다음 전송 시각, UNKNOWN: 다음 결과 조회 시각
+
+    private LocalDateTime claimedAt;    // 마지막 전송 시작 시각
+
+    private String rspCode;
+    private String rspMessage;
+    private String bankRspCode;
+    private String bankRspMessage;
+    private String bankTranDate;
+
+    @CreatedDate
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime completedAt;
+
+    @Version
+    private Long version;
+
+    @Builder
+    public KftcTransfer(Long usrId, String idempotencyKey, String requestHash, TransferType transferType, String requestPayload,
+                        String bankTranId, String batchId, Integer batchSeq, String fintechUseNum, String tranAmt) {
+        this.usrId = usrId;
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.transferType = transferType;
+        this.requestPayload = requestPayload;
+        this.bankTranId = bankTranId;
+        this.batchId = batchId;
+        this.batchSeq = batchSeq;
+        this.fintechUseNum = fintechUseNum;
+        this.tranAmt = tranAmt;
+        this.status = Status.PENDING;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    public void complete(Status status, String rspCode, String rspMessage, String bankRspCode, String bankRspMessage, String bankTranDate) {
+        this.status = status;
+        this.rspCode = rspCode;
+        this.rspMessage = truncate(rspMessage);
+        this.bankRspCode = bankRspCode;
+        this.bankRspMessage = bankRspMessage;
+        this.bankTranDate = bankTranDate;
+        if (status.isFinal()) {
+            this.completedAt = LocalDateTime.now();
+        }
+    }
+
+    public void awaitReconcile(LocalDateTime nextCheckAt, String rspCode, String rspMessage) {
+        this.status = Status.UNKNOWN;
+        this.nextAttemptAt = nextCheckAt;
+        this.rspCode = rspCode;
+        this.rspMessage = truncate(rspMessage);
+    }
+
+    public void scheduleReconcile(LocalDateTime nextCheckAt) {
+        this.reconcileAttempts++;
+        this.nextAttemptAt = nextCheckAt;
+    }
+
+    public void retryAt(LocalDateTime nextAttemptAt, String rspCode, String rspMessage) {
+        this.status = Status.PENDING;
+        this.nextAttemptAt = nextAttemptAt;
+        this.rspCode = rspCode;
+        this.rspMessage = truncate(rspMessage);
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 255 ? message.substring(0, 255) : message;
+    }
+}
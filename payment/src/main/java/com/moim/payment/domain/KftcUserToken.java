@@ -0,0 +1,77 @@
+package com.moim.payment.domain;
+
+import com.moim.payment.domain.converter.EncryptedStringConverter;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 금융결제원(KFTC) 사용자 토큰 보관 테이블.
+ * access/refresh 토큰은 EncryptedStringConverter로 암호화되어 저장됩니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "kftc_user_token", indexes = {
+        @Index(name = "IDX_KFTC_USER_TOKEN_EXPIRES_AT", columnList = "expiresAt")
+})
+public class KftcUserToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Long usrId;                 // 우리 서비스의 Usr id
+
+    @Column(nullable = false)
+    private String userSeqNo;           // 금융결제원 사용자일련번호
+
+    @Convert(converter = EncryptedStringConverter.class)
+    @Column(nullable = false, length = 2048)
+    private String accessToken;
+
+    @Convert(converter = EncryptedStringConverter.class)
+    @Column(length = 2048)
+    private String refreshToken;
+
+    private String scope;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;    // access token 만료 시각
+
+    private LocalDateTime refreshClaimedAt; // 사전 갱신을 선점한 시각 (여러 노드가 같은 토큰을 갱신하지 않도록)
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
+    @Builder
+    public KftcUserToken(Long usrId, String userSeqNo, String accessToken, String refreshToken, String scope, LocalDateTime expiresAt) {
+        this.usrId = usrId;
+        this.userSeqNo = userSeqNo;
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.scope = scope;
+        this.expiresAt = expiresAt;
+    }
+
+    public KftcUserToken updateToken(String userSeqNo, String accessToken, String refreshToken, String scope, LocalDateTime expiresAt) {
+        if (userSeqNo != null) {
+            this.userSeqNo = userSeqNo;
+        }
+        this.accessToken = accessToken;
+        if (refreshToken != null) {
+            this.refreshToken = refreshToken;
+        }
+        this.scope = scope;
+        this.expiresAt = expiresAt;
+        return this;
+    }
+}
@@ -1,34 +1,35 @@
 package com.moim.payment.domain;
 
-import com.moim.payment.domain.Usr.Usr;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
-import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 Refresh Token (한 사용자당 하나).
+ * 토큰 원문은 저장하지 않고 SHA-256 다이제스트(tokenHash)만 저장하며, 조회/교체는 tokenHash 인덱스로 합니다.
+ * 읽기/쓰기는 JPA 를 거치지 않고 RefreshTokenStore(JDBC) 가 직접 수행하며, 이 엔티티는 테이블 정의(ddl-auto)에만 사용됩니다.
+ */
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "refresh_token_store", indexes = {
+        @Index(name = "UK_REFRESH_TOKEN_STORE_TOKEN_HASH", columnList = "tokenHash", unique = true),
+        @Index(name = "IDX_REFRESH_TOKEN_STORE_EXPIRES_AT", columnList = "expiresAt")
+})
 public class RefreshToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long tokenId;
-
-    @OneToOne(fetch = FetchType.LAZY)
-    private Usr usr;
+    private Long usrId;
 
-    private String token;
+    @Column(nullable = false, length = 64)
+    private String tokenHash;   // SHA-256 hex
 
-    @Builder
-    public RefreshToken(Usr usr, String token) {
-        this.usr = usr;
-        this.token = token;
-    }
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
 
-    public RefreshToken updateValue(String token) {
-        this.token = token;
-        return this;
-    }
+    @Column(nullable = false)
+    private LocalDateTime issuedAt;
 }
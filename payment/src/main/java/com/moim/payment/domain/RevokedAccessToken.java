@@ -0,0 +1,42 @@
+package com.moim.payment.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 폐기된 Access Token (jti).
+ * 로그아웃/토큰 재발급/탈취 의심 시 기록되며, 각 노드는 이 테이블을 주기적으로 읽어 메모리 폐기 목록에 반영합니다.
+ * 토큰 만료 시각(expiresAt)이 지나면 더 이상 확인할 필요가 없으므로 삭제됩니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "revoked_access_token", indexes = {
+        @Index(name = "IDX_REVOKED_ACCESS_TOKEN_REVOKED_AT", columnList = "revokedAt"),
+        @Index(name = "IDX_REVOKED_ACCESS_TOKEN_EXPIRES_AT", columnList = "expiresAt")
+})
+public class RevokedAccessToken {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    private Long usrId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;    // 토큰 exp
+
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+
+    public RevokedAccessToken(String jti, Long usrId, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        this.jti = jti;
+        this.usrId = usrId;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+}
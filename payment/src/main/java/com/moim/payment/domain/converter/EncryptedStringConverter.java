@@ -0,0 +1,82 @@
+package com.moim.payment.domain.converter;
+
+import com.moim.payment.config.KftcApiProperties;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * 민감 문자열 컬럼(KFTC 토큰 등)을 AES-256-GCM으로 암호화하여 저장하는 JPA 컨버터.
+ * 저장 형식: Base64(IV(12바이트) || 암호문+태그)
+ * Hibernate가 Spring 빈 컨테이너를 통해 생성하므로 설정값을 주입받을 수 있습니다.
+ */
+@Converter
+public class EncryptedStringConverter implements AttributeConverter<String, String> {
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BIT = 128;
+
+    private final SecretKeySpec key;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public EncryptedStringConverter(KftcApiProperties kftcApiProperties) {
+        String encodedKey = kftcApiProperties.getTokenVault().getEncryptionKey();
+        if (encodedKey == null || encodedKey.isBlank()) {
+            throw new IllegalStateException("kftc.token-vault.encryption-key 가 설정되지 않았습니다.");
+        }
+        byte[] keyBytes = Base64.getDecoder().decode(encodedKey);
+        if (keyBytes.length != 32) {
+            throw new IllegalStateException("kftc.token-vault.encryption-key 는 Base64 인코딩된 32바이트(AES-256) 키여야 합니다.");
+        }
+        this.key = new SecretKeySpec(keyBytes, "AES");
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            secureRandom.nextBytes(iv);
+
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BIT, iv));
+            byte[] encrypted = cipher.doFinal(attribute.getBytes(StandardCharsets.UTF_8));
+
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + encrypted.length)
+                    .put(iv)
+                    .put(encrypted)
+                    .array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("컬럼 암호화에 실패했습니다.", e);
+        }
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        try {
+            byte[] decoded = Base64.getDecoder().decode(dbData);
+
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BIT, decoded, 0, IV_LENGTH));
+            byte[] decrypted = cipher.doFinal(decoded, IV_LENGTH, decoded.length - IV_LENGTH);
+
+            return new String(decrypted, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("컬럼 복호화에 실패했습니다.", e);
+        }
+    }
+}
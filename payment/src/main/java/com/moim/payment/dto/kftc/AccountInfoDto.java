@@ -9,6 +9,8 @@ import java.util.List;
 @Getter
 @Setter
 @Builder // Builder 패턴 사용 (선택 사항)
+@NoArgsConstructor
+@AllArgsConstructor
 public class AccountInfoDto {
     private String bankName;
     private String accountNumber;
@@ -17,10 +19,13 @@ public class AccountInfoDto {
     private String fintechUseNum;
     private List<TransactionDTO> transactions;
     private List<AccountSummary> accountSummaries;
+    private LocalDateTime refreshedAt;    // 사전 갱신 스냅샷으로 응답한 경우 갱신 시각 (실시간 조회면 null)
 
     @Getter
     @Setter
     @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class TransactionDTO {
         private String id;
         private String amount;
@@ -59,6 +64,11 @@ public class AccountInfoDto {
         private String maturityDate;          // 만기일 (YYYYMMDD)
         private String lastTranDate;          // 최종거래일 (YYYYMMDD)
 
+        // 조회 결과 (통합 계좌 정보 조회 시 채워짐)
+        private String balance;               // 잔액
+        private List<TransactionDTO> transactions; // 최근 거래내역
+        private boolean partial;              // 잔액/거래내역 중 일부 조회 실패(타임아웃 등) 여부
+
         // 편의 메서드들
         public boolean isInquiryAvailable() {
             return "Y".equals(inquiryAgreeYn);
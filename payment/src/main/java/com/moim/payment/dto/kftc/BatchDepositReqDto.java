@@ -0,0 +1,46 @@
+package com.moim.payment.dto.kftc;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 다건 입금이체 요청 (모임 정산금 일괄 지급 등)
+ * 공통부(약정 계좌, 출금 인자내역)는 한 번만, 수취인별 정보는 recipients 에 담습니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchDepositReqDto {
+    private String cntrAccountType;      // 약정 계좌/계좌 구분 (N: 계좌)
+    private String cntrAccountNum;       // 약정 계좌/계좌 번호
+    private String dpsWdPassPhrase;      // 입출금이체 암호문구
+    private String wdPrintContent;       // 출금계좌인자내역
+    private String nameCheckOption;      // 수취인성명검증 ("on" 또는 "off")
+
+    // 하위기관정보 (선택사항)
+    private String subFmcName;           // 하위기관명
+    private String subFmcNum;            // 하위기관번호
+    private String subFmcBusinessNum;    // 하위기관 사업자등록번호
+
+    private List<Recipient> recipients;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Recipient {
+        private String recipientId;          // 호출 측 식별자 (예: 모임 회원 id) - 결과 매핑용
+        private String fintechUseNum;        // 입금 계좌 핀테크이용번호
+        private String printContent;         // 입금계좌인자내역
+        private String tranAmt;              // 거래금액
+        private String reqClientName;        // 요청고객성명
+        private String reqClientBankCode;    // 요청고객계좌 개설기관.표준코드
+        private String reqClientAccountNum;  // 요청고객계좌번호
+        private String reqClientFintechUseNum; // 요청고객핀테크이용번호
+    }
+}
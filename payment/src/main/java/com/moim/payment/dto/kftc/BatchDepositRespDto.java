@@ -0,0 +1,89 @@
+package com.moim.payment.dto.kftc;
+
+import com.moim.payment.domain.KftcTransfer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 다건 입금이체 접수 결과 (수취인별 이체 저널 상태)
+ * 같은 Idempotency-Key 로 재요청하면 그 시점의 수취인별 상태를 반환합니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchDepositRespDto {
+    private String batchId;              // 다건 입금이체 멱등키
+    private int totalCount;
+    private int successCount;
+    private int failureCount;
+    private int unknownCount;            // 처리 여부를 알 수 없어 이체결과 조회 중인 건
+    private int pendingCount;            // 전송 대기/전송 중인 건
+    private List<RecipientResult> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecipientResult {
+        private String recipientId;
+        private Long transferId;             // 이체 저널 id (GET /api/kftc/transfer/{transferId})
+        private String fintechUseNum;
+        private String tranAmt;
+        private KftcTransfer.Status status;
+        private String bankTranId;           // 접수 시 부여한 거래고유번호 (결과조회 키)
+        private String bankTranDate;
+        private String rspCode;              // API 응답코드 (요청 단위)
+        private String rspMessage;
+        private String bankRspCode;          // 참가은행 응답코드 (건별)
+        private String bankRspMessage;
+    }
+
+    /**
+     * 저널에 기록된 수취인별 건(batchSeq 순)과 요청의 수취인을 순서대로 맞춰 응답을 만듭니다.
+     */
+    public static BatchDepositRespDto from(String batchId, List<BatchDepositReqDto.Recipient> recipients, List<KftcTransfer> transfers) {
+        int success = 0;
+        int failure = 0;
+        int unknown = 0;
+        int pending = 0;
+        List<RecipientResult> results = new ArrayList<>(transfers.size());
+        for (int i = 0; i < transfers.size(); i++) {
+            KftcTransfer transfer = transfers.get(i);
+            switch (transfer.getStatus()) {
+                case SUCCEEDED -> success++;
+                case FAILED -> failure++;
+                case UNKNOWN -> unknown++;
+                case PENDING, PROCESSING -> pending++;
+            }
+            results.add(RecipientResult.builder()
+                    .recipientId(i < recipients.size() ? recipients.get(i).getRecipientId() : null)
+                    .transferId(transfer.getId())
+                    .fintechUseNum(transfer.getFintechUseNum())
+                    .tranAmt(transfer.getTranAmt())
+                    .status(transfer.getStatus())
+                    .bankTranId(transfer.getBankTranId())
+                    .bankTranDate(transfer.getBankTranDate())
+                    .rspCode(transfer.getRspCode())
+                    .rspMessage(transfer.getRspMessage())
+                    .bankRspCode(transfer.getBankRspCode())
+                    .bankRspMessage(transfer.getBankRspMessage())
+                    .build());
+        }
+
+        return BatchDepositRespDto.builder()
+                .batchId(batchId)
+                .totalCount(transfers.size())
+                .successCount(success)
+                .failureCount(failure)
+                .unknownCount(unknown)
+                .pendingCount(pending)
+                .results(results)
+                .build();
+    }
+}
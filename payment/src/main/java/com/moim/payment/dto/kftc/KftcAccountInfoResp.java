@@ -8,11 +8,7 @@ import java.util.List;
 
 @Getter
 @Setter
-public class KftcAccountInfoResp {
-    @JsonProperty("res_code")
-    private String resCode;
-    @JsonProperty("res_message")
-    private String resMessage;
+public class KftcAccountInfoResp extends KftcBaseResp {
     @JsonProperty("bank_name") // 은행명
     private String bankName;
     @JsonProperty("account_num_masked") // 마스킹된 계좌번호
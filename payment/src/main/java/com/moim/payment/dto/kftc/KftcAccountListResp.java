@@ -0,0 +1,54 @@
+package com.moim.payment.dto.kftc;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 등록계좌조회 (/v2.0/account/list) 응답
+ */
+@Getter
+@Setter
+public class KftcAccountListResp extends KftcBaseResp {
+    @JsonProperty("user_name")
+    private String userName;
+    @JsonProperty("res_cnt")
+    private int resCnt;
+    @JsonProperty("res_list")
+    private List<Account> resList;
+
+    @Getter
+    @Setter
+    public static class Account {
+        @JsonProperty("fintech_use_num")
+        private String fintechUseNum;
+        @JsonProperty("account_alias")
+        private String accountAlias;
+        @JsonProperty("bank_code_std")
+        private String bankCodeStd;
+        @JsonProperty("bank_name")
+        private String bankName;
+        @JsonProperty("account_num_masked")
+        private String accountNumMasked;
+        @JsonProperty("account_holder_name")
+        private String accountHolderName;
+        @JsonProperty("account_type")
+        private String accountType;
+        @JsonProperty("inquiry_agree_yn")
+        private String inquiryAgreeYn;
+        @JsonProperty("transfer_agree_yn")
+        private String transferAgreeYn;
+        @JsonProperty("account_state")
+        private String accountState;
+        @JsonProperty("product_name")
+        private String productName;
+        @JsonProperty("account_issue_date")
+        private String accountIssueDate;
+        @JsonProperty("maturity_date")
+        private String maturityDate;
+        @JsonProperty("last_tran_date")
+        private String lastTranDate;
+    }
+}
@@ -0,0 +1,42 @@
+package com.moim.payment.dto.kftc;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 잔액조회 (/v2.0/account/balance/fin_num) 응답
+ * 금액은 문자열로 내려오지만 박싱/문자열 보관 없이 long으로 바로 바인딩합니다.
+ */
+@Getter
+@Setter
+public class KftcBalanceResp extends KftcBaseResp {
+    @JsonProperty("bank_tran_id")
+    private String bankTranId;
+    @JsonProperty("bank_tran_date")
+    private String bankTranDate;
+    @JsonProperty("bank_code_tran")
+    private String bankCodeTran;
+    @JsonProperty("bank_rsp_code")
+    private String bankRspCode;
+    @JsonProperty("bank_rsp_message")
+    private String bankRspMessage;
+    @JsonProperty("bank_name")
+    private String bankName;
+    @JsonProperty("fintech_use_num")
+    private String fintechUseNum;
+    @JsonProperty("balance_amt")
+    private long balanceAmt;            // 계좌잔액
+    @JsonProperty("available_amt")
+    private long availableAmt;          // 출금가능금액
+    @JsonProperty("account_type")
+    private String accountType;
+    @JsonProperty("product_name")
+    private String productName;
+    @JsonProperty("account_issue_date")
+    private String accountIssueDate;
+    @JsonProperty("maturity_date")
+    private String maturityDate;
+    @JsonProperty("last_tran_date")
+    private String lastTranDate;
+}
@@ -0,0 +1,30 @@
+package com.moim.payment.dto.kftc;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 금융결제원 API 공통 응답부
+ * 모든 조회/이체 응답은 이 필드들을 최상위에 포함합니다.
+ */
+@Getter
+@Setter
+public abstract class KftcBaseResp {
+    public static final String RSP_CODE_SUCCESS = "A0000";
+
+    @JsonProperty("api_tran_id")
+    private String apiTranId;
+    @JsonProperty("api_tran_dtm")
+    private String apiTranDtm;
+    @JsonProperty("rsp_code")
+    private String rspCode;
+    @JsonProperty("rsp_message")
+    private String rspMessage;
+
+    @JsonIgnore
+    public boolean isSuccess() {
+        return RSP_CODE_SUCCESS.equals(rspCode);
+    }
+}
@@ -0,0 +1,55 @@
+package com.moim.payment.dto.kftc;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 입금이체 (/v2.0/transfer/deposit/fin_num) 응답
+ * 요청의 req_list 건별 결과가 res_list로 내려옵니다.
+ */
+@Getter
+@Setter
+public class KftcDepositResp extends KftcBaseResp {
+    @JsonProperty("wd_bank_code_std")
+    private String wdBankCodeStd;
+    @JsonProperty("wd_bank_name")
+    private String wdBankName;
+    @JsonProperty("wd_account_num_masked")
+    private String wdAccountNumMasked;
+    @JsonProperty("wd_print_content")
+    private String wdPrintContent;
+    @JsonProperty("res_cnt")
+    private int resCnt;
+    @JsonProperty("res_list")
+    private List<Result> resList;
+
+    @Getter
+    @Setter
+    public static class Result {
+        @JsonProperty("tran_no")
+        private String tranNo;
+        @JsonProperty("bank_tran_id")
+        private String bankTranId;
+        @JsonProperty("bank_tran_date")
+        private String bankTranDate;
+        @JsonProperty("bank_code_tran")
+        private String bankCodeTran;
+        @JsonProperty("bank_rsp_code")
+        private String bankRspCode;
+        @JsonProperty("bank_rsp_message")
+        private String bankRspMessage;
+        @JsonProperty("fintech_use_num")
+        private String fintechUseNum;
+        @JsonProperty("account_num")
+        private String accountNum;
+        @JsonProperty("print_content")
+        private String printContent;
+        @JsonProperty("tran_amt")
+        private String tranAmt;
+        @JsonProperty("wd_limit_remain_amt")
+        private String wdLimitRemainAmt;
+    }
+}
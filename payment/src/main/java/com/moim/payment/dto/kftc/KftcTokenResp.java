@@ -19,4 +19,8 @@ public class KftcTokenResp {
     private String scope;
     @JsonProperty("user_seq_no") // 사용자 일련번호 (계좌 조회 시 필요할 수 있음)
     private String userSeqNo;
+    @JsonProperty("rsp_code") // 오류 응답일 때만 내려옴
+    private String rspCode;
+    @JsonProperty("rsp_message")
+    private String rspMessage;
 }
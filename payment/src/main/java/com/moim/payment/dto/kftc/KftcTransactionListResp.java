@@ -0,0 +1,60 @@
+package com.moim.payment.dto.kftc;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 거래내역조회 (/v2.0/account/transaction_list/fin_num) 응답
+ */
+@Getter
+@Setter
+public class KftcTransactionListResp extends KftcBaseResp {
+    @JsonProperty("bank_tran_id")
+    private String bankTranId;
+    @JsonProperty("bank_tran_date")
+    private String bankTranDate;
+    @JsonProperty("bank_code_tran")
+    private String bankCodeTran;
+    @JsonProperty("bank_rsp_code")
+    private String bankRspCode;
+    @JsonProperty("bank_rsp_message")
+    private String bankRspMessage;
+    @JsonProperty("bank_name")
+    private String bankName;
+    @JsonProperty("fintech_use_num")
+    private String fintechUseNum;
+    @JsonProperty("balance_amt")
+    private long balanceAmt;
+    @JsonProperty("page_record_cnt")
+    private int pageRecordCnt;
+    @JsonProperty("next_page_yn")
+    private String nextPageYn;              // 다음페이지 존재여부 (Y/N)
+    @JsonProperty("befor_inquiry_trace_info")
+    private String beforInquiryTraceInfo;   // 직전조회추적정보 (다음 페이지 조회 시 사용)
+    @JsonProperty("res_list")
+    private List<Transaction> resList;
+
+    @Getter
+    @Setter
+    public static class Transaction {
+        @JsonProperty("tran_date")
+        private String tranDate;
+        @JsonProperty("tran_time")
+        private String tranTime;
+        @JsonProperty("inout_type")
+        private String inoutType;           // 입금/출금
+        @JsonProperty("tran_type")
+        private String tranType;
+        @JsonProperty("print_content")
+        private String printContent;
+        @JsonProperty("tran_amt")
+        private long tranAmt;
+        @JsonProperty("after_balance_amt")
+        private long afterBalanceAmt;
+        @JsonProperty("branch_name")
+        private String branchName;
+    }
+}
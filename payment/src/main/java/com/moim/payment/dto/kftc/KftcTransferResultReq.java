@@ -0,0 +1,23 @@
+package com.moim.payment.dto.kftc;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 이체결과 조회 req_list 항목 (원거래 식별 정보)
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class KftcTransferResultReq {
+    @JsonProperty("tran_no")
+    private final String tranNo;
+    @JsonProperty("org_bank_tran_id")
+    private final String orgBankTranId;
+    @JsonProperty("org_bank_tran_date")
+    private final String orgBankTranDate;
+    @JsonProperty("org_tran_amt")
+    private final String orgTranAmt;
+}
@@ -0,0 +1,41 @@
+package com.moim.payment.dto.kftc;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 이체결과 조회 (/v2.0/transfer/result) 응답
+ * 요청의 req_list 건별로 원거래의 처리 결과가 res_list로 내려옵니다.
+ */
+@Getter
+@Setter
+public class KftcTransferResultResp extends KftcBaseResp {
+    @JsonProperty("res_cnt")
+    private int resCnt;
+    @JsonProperty("res_list")
+    private List<Result> resList;
+
+    @Getter
+    @Setter
+    public static class Result {
+        @JsonProperty("tran_no")
+        private String tranNo;
+        @JsonProperty("bank_tran_id")
+        private String bankTranId;
+        @JsonProperty("bank_tran_date")
+        private String bankTranDate;
+        @JsonProperty("bank_code_tran")
+        private String bankCodeTran;
+        @JsonProperty("bank_rsp_code")
+        private String bankRspCode;
+        @JsonProperty("bank_rsp_message")
+        private String bankRspMessage;
+        @JsonProperty("fintech_use_num")
+        private String fintechUseNum;
+        @JsonProperty("tran_amt")
+        private String tranAmt;
+    }
+}
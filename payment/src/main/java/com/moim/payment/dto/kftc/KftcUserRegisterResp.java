@@ -0,0 +1,15 @@
+package com.moim.payment.dto.kftc;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 금융결제원 사용자 등록 응답
+ */
+public record KftcUserRegisterResp(
+        @JsonProperty("api_tran_id") String apiTranId,
+        @JsonProperty("api_tran_dtm") String apiTranDtm,
+        @JsonProperty("rsp_code") String rspCode,
+        @JsonProperty("rsp_message") String rspMessage,
+        @JsonProperty("user_seq_no") String userSeqNo       // 사용자 일련번호 (계좌 조회 시 사용)
+) {
+}
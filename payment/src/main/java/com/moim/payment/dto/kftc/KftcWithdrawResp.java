@@ -0,0 +1,33 @@
+package com.moim.payment.dto.kftc;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 출금이체 (/v2.0/transfer/withdraw/fin_num) 응답
+ */
+@Getter
+@Setter
+public class KftcWithdrawResp extends KftcBaseResp {
+    @JsonProperty("bank_tran_id")
+    private String bankTranId;
+    @JsonProperty("bank_tran_date")
+    private String bankTranDate;
+    @JsonProperty("bank_code_tran")
+    private String bankCodeTran;
+    @JsonProperty("bank_rsp_code")
+    private String bankRspCode;
+    @JsonProperty("bank_rsp_message")
+    private String bankRspMessage;
+    @JsonProperty("fintech_use_num")
+    private String fintechUseNum;
+    @JsonProperty("account_num")
+    private String accountNum;
+    @JsonProperty("print_content")
+    private String printContent;
+    @JsonProperty("tran_amt")
+    private String tranAmt;
+    @JsonProperty("wd_limit_remain_amt")
+    private String wdLimitRemainAmt;
+}
@@ -0,0 +1,51 @@
+package com.moim.payment.dto.kftc;
+
+import com.moim.payment.domain.KftcTransfer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferStatusRespDto {
+    private Long transferId;             // 이체 저널 id
+    private String idempotencyKey;       // 클라이언트 멱등키
+    private KftcTransfer.TransferType transferType;
+    private KftcTransfer.Status status;  // PENDING / PROCESSING / SUCCEEDED / FAILED / UNKNOWN
+    private String bankTranId;           // 은행거래고유번호
+    private String fintechUseNum;        // 핀테크이용번호
+    private String tranAmt;              // 거래금액
+    private String rspCode;              // 응답코드
+    private String rspMessage;           // 응답메시지
+    private String bankRspCode;          // 은행응답코드
+    private String bankRspMessage;       // 은행응답메시지
+    private String bankTranDate;         // 은행거래일자
+    private int attempts;                // 전송 시도 횟수
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    public static TransferStatusRespDto from(KftcTransfer transfer) {
+        return TransferStatusRespDto.builder()
+                .transferId(transfer.getId())
+                .idempotencyKey(transfer.getIdempotencyKey())
+                .transferType(transfer.getTransferType())
+                .status(transfer.getStatus())
+                .bankTranId(transfer.getBankTranId())
+                .fintechUseNum(transfer.getFintechUseNum())
+                .tranAmt(transfer.getTranAmt())
+                .rspCode(transfer.getRspCode())
+                .rspMessage(transfer.getRspMessage())
+                .bankRspCode(transfer.getBankRspCode())
+                .bankRspMessage(transfer.getBankRspMessage())
+                .bankTranDate(transfer.getBankTranDate())
+                .attempts(transfer.getAttempts())
+                .createdAt(transfer.getCreatedAt())
+                .completedAt(transfer.getCompletedAt())
+                .build();
+    }
+}
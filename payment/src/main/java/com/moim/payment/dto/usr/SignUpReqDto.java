@@ -9,7 +9,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Data
 @Builder
@@ -32,7 +32,7 @@ public class SignUpReqDto {
     @NotEmpty
     private String email;
 
-    public Usr toEntity(BCryptPasswordEncoder passwordEncoder) {
+    public Usr toEntity(PasswordEncoder passwordEncoder) {
         return Usr.builder()
                 .usrname(usrname)
                 .password(passwordEncoder.encode(password))
@@ -6,7 +6,7 @@ import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 public class UsrReqDto {
 
@@ -47,7 +47,7 @@ public class UsrReqDto {
         private String email;
 
 
-        public Usr toEntity(BCryptPasswordEncoder passwordEncoder) {
+        public Usr toEntity(PasswordEncoder passwordEncoder) {
             return Usr.builder()
                     .usrname(username)
                     .password(passwordEncoder.encode(password))
@@ -0,0 +1,11 @@
+package com.moim.payment.exception;
+
+/**
+ * 비밀번호 해시 실행기가 포화되어 요청을 받을 수 없음 (503 으로 응답)
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
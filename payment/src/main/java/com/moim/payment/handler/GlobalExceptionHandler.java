@@ -2,8 +2,10 @@ package com.moim.payment.handler;
 
 import com.moim.payment.dto.ResponseDto; // 기존에 사용하시던 응답 DTO
 import com.moim.payment.exception.CustomApiException; // 직접 만드신 예외
+import com.moim.payment.exception.PasswordHashingUnavailableException;
 import com.moim.payment.util.CustomDateUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -27,6 +29,16 @@ public class GlobalExceptionHandler {
         );
     }
 
+    /**
+     * 비밀번호 해시 실행기 포화 (로그인 폭주) - 요청 스레드를 붙잡지 않고 바로 503
+     */
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<?> handlePasswordHashingUnavailableException(PasswordHashingUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ResponseDto<>(-1, e.getMessage(), CustomDateUtil.toStringFormat(LocalDateTime.now()), null));
+    }
+
     /**
      * @Valid 유효성 검증 실패 시 발생하는 예외 처리
      * (예: DTO의 필드가 @NotBlank, @Email 등의 조건을 만족하지 못할 때)
@@ -0,0 +1,56 @@
+package com.moim.payment.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메모리 저장소 (로컬/테스트용, 노드 간 공유되지 않고 재시작 시 모든 사용자 재로그인 필요).
+ */
+@Repository
+@ConditionalOnProperty(prefix = "jwt.refresh-token", name = "store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private record Entry(String tokenHash, LocalDateTime expiresAt) {
+    }
+
+    private final Map<Long, Entry> tokens = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(Long usrId, String tokenHash, LocalDateTime expiresAt) {
+        tokens.put(usrId, new Entry(tokenHash, expiresAt));
+    }
+
+    @Override
+    public boolean rotate(Long usrId, String currentHash, String newHash, LocalDateTime newExpiresAt, LocalDateTime now) {
+        Entry current = tokens.get(usrId);
+        if (current == null || !current.tokenHash().equals(currentHash) || !current.expiresAt().isAfter(now)) {
+            return false;
+        }
+        // 같은 토큰으로 동시에 재발급해도 한 요청만 성공
+        return tokens.replace(usrId, current, new Entry(newHash, newExpiresAt));
+    }
+
+    @Override
+    public void delete(Long usrId) {
+        tokens.remove(usrId);
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now, int batchSize) {
+        int deleted = 0;
+        Iterator<Map.Entry<Long, Entry>> iterator = tokens.entrySet().iterator();
+        while (iterator.hasNext() && deleted < batchSize) {
+            Map.Entry<Long, Entry> entry = iterator.next();
+            // 그 사이 재로그인으로 교체된 항목은 지우지 않음
+            if (!entry.getValue().expiresAt().isAfter(now) && tokens.remove(entry.getKey(), entry.getValue())) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,46 @@
+package com.moim.payment.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * MySQL refresh_token_store 테이블 기반 저장소. 모든 연산이 SQL 한 번입니다.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "jwt.refresh-token", name = "store", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcRefreshTokenStore implements RefreshTokenStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void save(Long usrId, String tokenHash, LocalDateTime expiresAt) {
+        jdbcTemplate.update("""
+                insert into refresh_token_store (usr_id, token_hash, expires_at, issued_at) values (?, ?, ?, ?)
+                on duplicate key update token_hash = values(token_hash), expires_at = values(expires_at), issued_at = values(issued_at)
+                """, usrId, tokenHash, expiresAt, LocalDateTime.now());
+    }
+
+    @Override
+    public boolean rotate(Long usrId, String currentHash, String newHash, LocalDateTime newExpiresAt, LocalDateTime now) {
+        return jdbcTemplate.update("""
+                update refresh_token_store set token_hash = ?, expires_at = ?, issued_at = ?
+                where token_hash = ? and usr_id = ? and expires_at > ?
+                """, newHash, newExpiresAt, now, currentHash, usrId, now) == 1;
+    }
+
+    @Override
+    public void delete(Long usrId) {
+        jdbcTemplate.update("delete from refresh_token_store where usr_id = ?", usrId);
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now, int batchSize) {
+        // LIMIT 으로 나눠 지워 한 번에 긴 잠금을 잡지 않음
+        return jdbcTemplate.update("delete from refresh_token_store where expires_at <= ? limit ?", now, batchSize);
+    }
+}
@@ -0,0 +1,17 @@
+package com.moim.payment.repository;
+
+import com.moim.payment.domain.KftcAccountSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface KftcAccountSnapshotRepository extends JpaRepository<KftcAccountSnapshot, Long> {
+
+    // 이체 결과 기록 시 스냅샷 무효화 (조회 없이 삭제, 같은 트랜잭션의 이체 저널 변경은 커밋 시 반영)
+    @Modifying
+    @Query("delete from KftcAccountSnapshot s where s.usrId = :usrId")
+    int deleteByUsrId(@Param("usrId") Long usrId);
+}
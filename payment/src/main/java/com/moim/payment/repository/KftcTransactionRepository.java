@@ -0,0 +1,21 @@
+package com.moim.payment.repository;
+
+import com.moim.payment.domain.KftcTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface KftcTransactionRepository extends JpaRepository<KftcTransaction, Long> {
+    List<KftcTransaction> findByFintechUseNumAndTranDateBetweenOrderByTranDateDescTranTimeDesc(
+            String fintechUseNum, String fromDate, String toDate);
+
+    // 동기화 구간에 이미 저장된 자연키 (중복 제거용)
+    @Query("select t.tranKey from KftcTransaction t where t.fintechUseNum = :fintechUseNum and t.tranDate between :fromDate and :toDate")
+    List<String> findTranKeys(@Param("fintechUseNum") String fintechUseNum,
+                              @Param("fromDate") String fromDate,
+                              @Param("toDate") String toDate);
+}
@@ -0,0 +1,9 @@
+package com.moim.payment.repository;
+
+import com.moim.payment.domain.KftcTransactionSyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface KftcTransactionSyncStateRepository extends JpaRepository<KftcTransactionSyncState, String> {
+}
@@ -0,0 +1,55 @@
+package com.moim.payment.repository;
+
+import com.moim.payment.domain.KftcTransfer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface KftcTransferRepository extends JpaRepository<KftcTransfer, Long> {
+    Optional<KftcTransfer> findByUsrIdAndIdempotencyKey(Long usrId, String idempotencyKey);
+
+    Optional<KftcTransfer> findByIdAndUsrId(Long id, Long usrId);
+
+    List<KftcTransfer> findByUsrIdAndBatchIdOrderByBatchSeq(Long usrId, String batchId);
+
+    // 전송 대상 후보 (선점은 claim 으로 확정)
+    @Query("select t.id from KftcTransfer t where t.status = :status and t.nextAttemptAt <= :now order by t.id")
+    List<Long> findIdsByStatusAndNextAttemptAtBefore(@Param("status") KftcTransfer.Status status,
+                                                     @Param("now") LocalDateTime now,
+                                                     Pageable pageable);
+
+    // 조건부 상태 전환 (여러 인스턴스 중 하나만 성공)
+    @Modifying(clearAutomatically = true)
+    @Query("update KftcTransfer t set t.status = :to, t.claimedAt = :now, t.attempts = t.attempts + 1, t.version = t.version + 1 " +
+            "where t.id = :id and t.status = :from")
+    int claim(@Param("id") Long id,
+              @Param("from") KftcTransfer.Status from,
+              @Param("to") KftcTransfer.Status to,
+              @Param("now") LocalDateTime now);
+
+    // 이체결과 조회 선점: 다음 조회 시각을 lease 만큼 미뤄 다른 인스턴스의 조회 대상에서 제외 (중단되면 lease 후 다시 대상)
+    @Modifying(clearAutomatically = true)
+    @Query("update KftcTransfer t set t.nextAttemptAt = :leaseUntil, t.version = t.version + 1 " +
+            "where t.id = :id and t.status = :status and t.nextAttemptAt <= :now")
+    int claimReconcile(@Param("id") Long id,
+                       @Param("status") KftcTransfer.Status status,
+                       @Param("now") LocalDateTime now,
+                       @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // 전송 중 인스턴스가 중단되어 남은 건은 결과를 알 수 없으므로 UNKNOWN 으로 전환
+    @Modifying(clearAutomatically = true)
+    @Query("update KftcTransfer t set t.status = :to, t.nextAttemptAt = :now, t.version = t.version + 1 " +
+            "where t.status = :from and t.claimedAt < :before")
+    int updateStatusClaimedBefore(@Param("from") KftcTransfer.Status from,
+                                  @Param("to") KftcTransfer.Status to,
+                                  @Param("before") LocalDateTime before,
+                                  @Param("now") LocalDateTime now);
+}
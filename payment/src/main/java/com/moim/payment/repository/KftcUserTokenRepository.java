@@ -0,0 +1,32 @@
+package com.moim.payment.repository;
+
+import com.moim.payment.domain.KftcUserToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface KftcUserTokenRepository extends JpaRepository<KftcUserToken, Long> {
+    Optional<KftcUserToken> findByUsrId(Long usrId);
+
+    // 곧 만료될 토큰 (백그라운드 갱신 대상)
+    List<KftcUserToken> findByExpiresAtBeforeAndRefreshTokenIsNotNull(LocalDateTime threshold);
+
+    // 사전 갱신 선점 (아직 만료 임박이고 다른 노드의 선점이 없거나 만료된 경우에만 성공 - 한 노드만 갱신)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update KftcUserToken t set t.refreshClaimedAt = :now " +
+            "where t.usrId = :usrId and t.expiresAt < :threshold " +
+            "and (t.refreshClaimedAt is null or t.refreshClaimedAt < :leaseExpiredBefore)")
+    int claimRefresh(@Param("usrId") Long usrId,
+                     @Param("threshold") LocalDateTime threshold,
+                     @Param("now") LocalDateTime now,
+                     @Param("leaseExpiredBefore") LocalDateTime leaseExpiredBefore);
+}
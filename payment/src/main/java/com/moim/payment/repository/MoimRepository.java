@@ -2,8 +2,11 @@ package com.moim.payment.repository;
 
 import com.moim.payment.domain.Moim;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +17,14 @@ public interface MoimRepository extends JpaRepository<Moim, Long> {
 
     // 모임 이름으로 모임 조회 (중복 확인 등)
     Optional<Moim> findByMoimname(String moimname);
+
+    // 최근 결제/정산 기록이 있는 모임의 모임장 중 KFTC 연동 토큰이 있는 사용자 (모임장 ID 기준 파티션)
+    @Query("select distinct m.createdByUsrId from Moim m " +
+            "where mod(m.createdByUsrId, :partitions) = :partition " +
+            "and exists (select 1 from KftcUserToken t where t.usrId = m.createdByUsrId) " +
+            "and (exists (select 1 from Payment p where p.moim = m and p.paidAt >= :since) " +
+            "or exists (select 1 from SettlementHistory s where s.moim = m and s.recordedAt >= :since)) " +
+            "order by m.createdByUsrId")
+    List<Long> findActiveOwnerUsrIds(@Param("partition") long partition, @Param("partitions") long partitions,
+                                     @Param("since") LocalDateTime since);
 }
@@ -0,0 +1,31 @@
+package com.moim.payment.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh Token 저장소 (JPA 를 거치지 않음).
+ * 토큰은 SHA-256 다이제스트로만 다루며, 재발급 시 교체는 기존 다이제스트를 조건으로 한 번의 갱신(compare-and-swap)으로 처리합니다.
+ * - jdbc: 운영 (refresh_token_store 테이블)
+ * - memory: 로컬/테스트 (노드 간 공유되지 않음)
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * 로그인 시 사용자의 Refresh Token 을 저장합니다. (기존 토큰은 교체)
+     */
+    void save(Long usrId, String tokenHash, LocalDateTime expiresAt);
+
+    /**
+     * 저장된 토큰이 currentHash 이고 만료되지 않았을 때만 newHash 로 교체합니다.
+     * @return 교체 여부 (false 면 이미 교체/삭제되었거나 다른 토큰 - 재사용/탈취 의심)
+     */
+    boolean rotate(Long usrId, String currentHash, String newHash, LocalDateTime newExpiresAt, LocalDateTime now);
+
+    void delete(Long usrId);
+
+    /**
+     * 만료된 토큰을 최대 batchSize 건 삭제합니다.
+     * @return 삭제 건수
+     */
+    int deleteExpired(LocalDateTime now, int batchSize);
+}
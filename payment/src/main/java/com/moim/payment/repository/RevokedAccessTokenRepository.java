@@ -0,0 +1,27 @@
+package com.moim.payment.repository;
+
+import com.moim.payment.domain.RevokedAccessToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedAccessTokenRepository extends JpaRepository<RevokedAccessToken, String> {
+
+    // 기동 시 전체 적재: 아직 만료되지 않은 폐기 토큰
+    List<RevokedAccessToken> findByExpiresAtAfter(LocalDateTime now);
+
+    // 마지막 동기화 이후 폐기된 토큰 중 아직 만료되지 않은 것
+    List<RevokedAccessToken> findByRevokedAtAfterAndExpiresAtAfter(LocalDateTime revokedAfter, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedAccessToken r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
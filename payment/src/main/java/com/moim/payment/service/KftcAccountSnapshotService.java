@@ -0,0 +1,137 @@
+package com.moim.payment.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moim.payment.config.KftcApiProperties;
+import com.moim.payment.domain.KftcAccountSnapshot;
+import com.moim.payment.dto.kftc.AccountInfoDto;
+import com.moim.payment.repository.KftcAccountSnapshotRepository;
+import com.moim.payment.repository.MoimRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 통합 계좌 정보 스냅샷 (사전 갱신).
+ * 활동 중인 모임의 모임장 계좌를 KftcBalancePrefetchJob 이 파티션 단위로 미리 조회해 kftc_account_snapshot 에 저장하고,
+ * 대시보드 조회는 유효한 스냅샷이 있으면 기본키 조회 한 번으로 응답합니다.
+ * (스냅샷이 없거나 snapshotMaxAge 보다 오래되었으면 호출자가 실시간 조회)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KftcAccountSnapshotService {
+
+    private final KftcAccountSnapshotRepository kftcAccountSnapshotRepository;
+    private final MoimRepository moimRepository;
+    private final KftcTokenVaultService kftcTokenVaultService;
+    private final KftcApiService kftcApiService;
+    private final KftcApiProperties kftcApiProperties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 유효 기간 안의 스냅샷을 조회합니다. (없으면 empty)
+     */
+    public Mono<AccountInfoDto> findFresh(Long usrId) {
+        LocalDateTime freshAfter = LocalDateTime.now().minus(kftcApiProperties.getBalancePrefetch().getSnapshotMaxAge());
+        return Mono.fromCallable(() -> kftcAccountSnapshotRepository.findById(usrId)
+                        .filter(snapshot -> snapshot.getRefreshedAt().isAfter(freshAfter))
+                        .map(this::read)
+                        .orElse(null))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    log.warn("계좌 정보 스냅샷 조회 실패 (실시간 조회로 대체): usrId={}, error={}", usrId, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * 파티션에 속한 활동 모임장의 계좌 정보를 batchSize 씩 갱신합니다. (Quartz 작업 스레드에서 호출, 블로킹)
+     * 배치 사이에 batchDelay 만큼 쉬어 KFTC 조회 한도를 실시간 요청과 나눠 씁니다.
+     * @return 갱신에 성공한 사용자 수
+     */
+    public int refreshPartition(int partition, int partitions) {
+        KftcApiProperties.BalancePrefetch config = kftcApiProperties.getBalancePrefetch();
+        List<Long> usrIds = moimRepository.findActiveOwnerUsrIds(partition, partitions,
+                LocalDateTime.now().minus(config.getActiveWithin()));
+        if (usrIds.isEmpty()) {
+            return 0;
+        }
+        log.info("계좌 정보 사전 갱신 시작: partition={}/{}, 대상 {}명", partition, partitions, usrIds.size());
+
+        Integer refreshed = Flux.fromIterable(usrIds)
+                .buffer(config.getBatchSize())
+                .index()
+                .concatMap(batch -> refreshBatch(batch.getT2(), config.getConcurrency())
+                        .delaySubscription(batch.getT1() == 0 ? Duration.ZERO : config.getBatchDelay()))
+                .reduce(0, Integer::sum)
+                .block(config.getInterval());
+
+        log.info("계좌 정보 사전 갱신 완료: partition={}/{}, 성공 {}명", partition, partitions, refreshed);
+        return refreshed != null ? refreshed : 0;
+    }
+
+    private Mono<Integer> refreshBatch(List<Long> usrIds, int concurrency) {
+        return Flux.fromIterable(usrIds)
+                .flatMap(usrId -> refresh(usrId)
+                        .thenReturn(1)
+                        .onErrorResume(e -> {
+                            log.warn("계좌 정보 사전 갱신 실패: usrId={}, error={}", usrId, e.getMessage());
+                            return Mono.just(0);
+                        }), concurrency)
+                .reduce(0, Integer::sum);
+    }
+
+    private Mono<Void> refresh(Long usrId) {
+        return kftcTokenVaultService.getToken(usrId)
+                .flatMap(token -> kftcApiService.getComprehensiveAccountInfo(token.getAccessToken(), token.getUserSeqNo(), true))
+                .flatMap(accountInfo -> {
+                    // 일부 계좌 조회가 실패한 결과로 기존 스냅샷을 덮어쓰지 않음 (오래되면 실시간 조회로 대체)
+                    if (accountInfo.getAccountSummaries().stream().anyMatch(AccountInfoDto.AccountSummary::isPartial)) {
+                        return Mono.error(new IllegalStateException("일부 계좌 조회 실패 (부분 결과)"));
+                    }
+                    return Mono.fromRunnable(() -> save(usrId, accountInfo))
+                            .subscribeOn(Schedulers.boundedElastic());
+                })
+                .then();
+    }
+
+    private void save(Long usrId, AccountInfoDto accountInfo) {
+        LocalDateTime refreshedAt = LocalDateTime.now();
+        accountInfo.setRefreshedAt(refreshedAt);
+        String payload = write(accountInfo);
+        try {
+            KftcAccountSnapshot snapshot = kftcAccountSnapshotRepository.findById(usrId)
+                    .orElseGet(() -> new KftcAccountSnapshot(usrId, payload, refreshedAt));
+            snapshot.update(payload, refreshedAt);
+            kftcAccountSnapshotRepository.save(snapshot);
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 같은 사용자의 스냅샷을 먼저 만든 경우 - 그 값도 방금 조회한 것이므로 무시
+            log.debug("계좌 정보 스냅샷 동시 생성: usrId={}", usrId);
+        }
+    }
+
+    private AccountInfoDto read(KftcAccountSnapshot snapshot) {
+        try {
+            return objectMapper.readValue(snapshot.getPayload(), AccountInfoDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("계좌 정보 스냅샷 복원 실패: usrId=" + snapshot.getUsrId(), e);
+        }
+    }
+
+    private String write(AccountInfoDto accountInfo) {
+        try {
+            return objectMapper.writeValueAsString(accountInfo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("계좌 정보 스냅샷 직렬화 실패", e);
+        }
+    }
+}
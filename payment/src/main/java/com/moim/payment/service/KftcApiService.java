@@ -2,22 +2,35 @@ package com.moim.payment.service;
 
 import com.moim.payment.config.KftcApiProperties;
 import com.moim.payment.dto.kftc.*;
+import com.moim.payment.exception.KftcApiException;
+import com.moim.payment.service.kftc.KftcBankTranIdGenerator;
+import com.moim.payment.service.kftc.KftcClock;
+import com.moim.payment.service.kftc.KftcInquiryCache;
+import com.moim.payment.service.kftc.KftcRequestCoalescer;
+import com.moim.payment.service.kftc.KftcRequestEnvelope;
+import com.moim.payment.service.kftc.KftcResilience;
+import com.moim.payment.util.MaskingUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 @Service
 @Slf4j // 로깅을 위한 Lombok 어노테이션
@@ -25,11 +38,26 @@ public class KftcApiService {
 
     private final WebClient webClient;
     private final KftcApiProperties kftcApiProperties;
+    private final KftcInquiryCache kftcInquiryCache;
+    private final KftcRequestCoalescer kftcRequestCoalescer;
+    private final KftcResilience kftcResilience;
+    private final KftcBankTranIdGenerator kftcBankTranIdGenerator;
+    private final KftcClock kftcClock;
+    private final KftcRequestEnvelope kftcRequestEnvelope;
 
     @Autowired
-    public KftcApiService(WebClient.Builder webClientBuilder, KftcApiProperties kftcApiProperties) {
-        this.webClient = webClientBuilder.build();
+    public KftcApiService(@Qualifier("kftcWebClient") WebClient webClient, KftcApiProperties kftcApiProperties,
+                          KftcInquiryCache kftcInquiryCache, KftcRequestCoalescer kftcRequestCoalescer,
+                          KftcResilience kftcResilience, KftcBankTranIdGenerator kftcBankTranIdGenerator,
+                          KftcClock kftcClock, KftcRequestEnvelope kftcRequestEnvelope) {
+        this.webClient = webClient;
         this.kftcApiProperties = kftcApiProperties;
+        this.kftcInquiryCache = kftcInquiryCache;
+        this.kftcRequestCoalescer = kftcRequestCoalescer;
+        this.kftcResilience = kftcResilience;
+        this.kftcBankTranIdGenerator = kftcBankTranIdGenerator;
+        this.kftcClock = kftcClock;
+        this.kftcRequestEnvelope = kftcRequestEnvelope;
     }
 
     /**
@@ -39,7 +67,7 @@ public class KftcApiService {
      * @return 발급된 Access Token 정보
      */
     public Mono<KftcTokenResp> issueUserAccessToken(String code, String redirectUri) {
-        log.info("사용자  Access Token 교환 요청 시작: code={}, redirectUri={}", code, redirectUri);
+        log.debug("사용자  Access Token 교환 요청 시작: redirectUri={}", redirectUri);
 
         String apiUrl = kftcApiProperties.getEndpoints().getToken();
 
@@ -50,16 +78,42 @@ public class KftcApiService {
         formData.add("redirect_uri", redirectUri);
         formData.add("code", code);
 
-        return webClient.post()
-                .uri(kftcApiProperties.getEndpoints().getToken())
-                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                .bodyValue(BodyInserters.fromFormData(formData))
-                .retrieve()
-                .bodyToMono(KftcTokenResp.class)
+        return kftcResilience.call(KftcResilience.TOKEN, () -> webClient.post()
+                        .uri(kftcApiProperties.getEndpoints().getToken())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .body(BodyInserters.fromFormData(formData))
+                        .retrieve()
+                        .onStatus(HttpStatusCode::isError, httpError("토큰 교환"))
+                        .bodyToMono(KftcTokenResp.class))
                 .timeout(Duration.ofSeconds(30))
                 .doOnSuccess(response -> log.info("Access Token 교환 성공: userSeqNo={}", response != null ? response.getUserSeqNo() : "null"))
-                .doOnError(WebClientResponseException.class, e -> log.error("KFTC API 호출 실패: status={}, body={}", e.getStatusCode(), e.getResponseBodyAsString()))
-                .doOnError(Exception.class, e -> log.error("토큰 교환 중 예상치 못한 오류: {}", e.getMessage(), e));
+                .doOnError(e -> !(e instanceof KftcApiException), e -> log.error("토큰 교환 중 예상치 못한 오류: {}", e.getMessage(), e));
+    }
+
+    /**
+     * refresh_token으로 사용자 Access Token을 갱신합니다.
+     * @param refreshToken 발급 시 받은 Refresh Token
+     * @return 갱신된 Access Token 정보
+     */
+    public Mono<KftcTokenResp> refreshUserAccessToken(String refreshToken) {
+        log.info("사용자 Access Token 갱신 요청 시작");
+
+        MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+        formData.add("grant_type", "refresh_token");
+        formData.add("client_id", kftcApiProperties.getClientId());
+        formData.add("client_secret", kftcApiProperties.getClientSecret());
+        formData.add("refresh_token", refreshToken);
+        formData.add("scope", "login inquiry transfer");
+
+        return kftcResilience.call(KftcResilience.TOKEN, () -> webClient.post()
+                        .uri(kftcApiProperties.getEndpoints().getToken())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .body(BodyInserters.fromFormData(formData))
+                        .retrieve()
+                        .onStatus(HttpStatusCode::isError, httpError("토큰 갱신"))
+                        .bodyToMono(KftcTokenResp.class))
+                .timeout(Duration.ofSeconds(30))
+                .doOnSuccess(response -> log.info("Access Token 갱신 성공: userSeqNo={}", response != null ? response.getUserSeqNo() : "null"));
     }
 
     /**
@@ -68,10 +122,10 @@ public class KftcApiService {
      * @param userCi 사용자의 CI 값 (Base64 인코딩)
      * @param userName 사용자명
      * @param userEmail 사용자 이메일
-     * @return API 응답 Map
+     * @return 사용자 등록 응답
      */
-    public Mono<Map> registerUser(String accessToken, String userCi, String userName, String userEmail) {
-        log.info("사용자 등록 요청: userCi={}", userCi);
+    public Mono<KftcUserRegisterResp> registerUser(String accessToken, String userCi, String userName, String userEmail) {
+        log.info("사용자 등록 요청");
         String apiUrl = kftcApiProperties.getEndpoints().getUserRegister();
 
         Map<String, Object> reqInfo = new HashMap<>();
@@ -81,18 +135,15 @@ public class KftcApiService {
         reqInfo.put("scope", "fintechinfo");
         reqInfo.put("info_prvd_agmt_yn", "Y");
 
-        // 공통 파라미터는 `createRequestEntity` 헬퍼 메서드로 처리합니다.
-        Map<String, Object> requestBody = createRequestBody(reqInfo);
-
-        return webClient.post()
+        return kftcResilience.call(KftcResilience.USER_REGISTER, () -> webClient.post()
                 .uri(apiUrl)
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
                 .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(requestBody)
+                // 공통부(req_common)는 미리 직렬화된 템플릿으로 작성
+                .body(kftcRequestEnvelope.body(reqInfo))
                 .retrieve()
-                .onStatus(status -> status.is4xxClientError(), clientResponse ->  Mono.error(new RuntimeException("Client Error: " + clientResponse.statusCode())))
-                .onStatus(status -> status.is5xxServerError(), serverResponse ->  Mono.error(new RuntimeException("Server Error: " + serverResponse.statusCode())))
-                .bodyToMono(Map.class);
+                .onStatus(HttpStatusCode::isError, httpError("사용자 등록"))
+                .bodyToMono(KftcUserRegisterResp.class));
     }
 
     /**
@@ -101,22 +152,38 @@ public class KftcApiService {
      * @param userSeqNo 사용자 일련번호
      * @return 등록된 계좌 목록
      */
-    public Mono<Map> getRegisteredAccountList(String accessToken, String userSeqNo) {
+    public Mono<KftcAccountListResp> getRegisteredAccountList(String accessToken, String userSeqNo) {
+        return getRegisteredAccountList(accessToken, userSeqNo, false);
+    }
+
+    /**
+     * 등록된 계좌 목록을 조회합니다. (Access Token + userSeqNo 기준 캐시 사용)
+     * @param bypassCache true이면 캐시를 거치지 않고 원격 조회 후 캐시를 갱신
+     */
+    public Mono<KftcAccountListResp> getRegisteredAccountList(String accessToken, String userSeqNo, boolean bypassCache) {
+        String owner = KftcInquiryCache.ownerOf(accessToken);
+        // 병합 키에 호출자(토큰)와 제거 세대를 포함: 다른 토큰의 호출이나 제거 이전에 시작된 호출에는 합류하지 않음
+        return kftcInquiryCache.getAccountList(owner, userSeqNo, bypassCache,
+                () -> kftcRequestCoalescer.execute("account-list",
+                        owner + ":" + userSeqNo + ":" + kftcInquiryCache.accountListGeneration(userSeqNo),
+                        () -> fetchRegisteredAccountList(accessToken, userSeqNo)));
+    }
+
+    private Mono<KftcAccountListResp> fetchRegisteredAccountList(String accessToken, String userSeqNo) {
         log.info("등록 계좌 목록 조회 요청: userSeqNo={}", userSeqNo);
         String apiUrl = kftcApiProperties.getEndpoints().getAccountList();
 
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path(apiUrl)
+        return kftcResilience.inquiry(KftcResilience.ACCOUNT_LIST, () -> webClient.get()
+                .uri(apiUrl, uriBuilder -> uriBuilder
                         .queryParam("user_seq_no", userSeqNo)
                         .queryParam("include_cancel_yn", "N")
                         .queryParam("sort_order", "D")
                         .build())
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
                 .retrieve()
-                .onStatus(status -> status.is4xxClientError(), clientResponse ->  Mono.error(new RuntimeException("Client Error: " + clientResponse.statusCode())))
-                .onStatus(status -> status.is5xxServerError(), serverResponse ->  Mono.error(new RuntimeException("Server Error: " + serverResponse.statusCode())))
-                .bodyToMono(Map.class);
+                .onStatus(HttpStatusCode::isError, httpError("등록 계좌 목록 조회"))
+                .bodyToMono(KftcAccountListResp.class))
+                .flatMap(response -> requireSuccess(response, "등록 계좌 목록 조회"));
     }
 
     /**
@@ -125,27 +192,39 @@ public class KftcApiService {
      * @param fintechUseNum 핀테크이용번호
      * @return 계좌 잔액 정보
      */
-    public Mono<Map> getAccountBalance(String accessToken, String fintechUseNum) {
-        log.info("계좌 잔액 조회 요청: fintechUseNum={}", fintechUseNum);
+    public Mono<KftcBalanceResp> getAccountBalance(String accessToken, String fintechUseNum) {
+        return getAccountBalance(accessToken, fintechUseNum, false);
+    }
 
-        String apiUrl = kftcApiProperties.getEndpoints().getBalanceFinNum();
+    /**
+     * 사용자 계좌의 잔액을 조회합니다. (Access Token + fintechUseNum 기준 캐시 사용)
+     * @param bypassCache true이면 캐시를 거치지 않고 원격 조회 후 캐시를 갱신
+     */
+    public Mono<KftcBalanceResp> getAccountBalance(String accessToken, String fintechUseNum, boolean bypassCache) {
+        String owner = KftcInquiryCache.ownerOf(accessToken);
+        // 병합 키에 호출자(토큰)와 제거 세대를 포함: 다른 토큰의 호출이나 이체 이전에 시작된 호출에는 합류하지 않음
+        return kftcInquiryCache.getBalance(owner, fintechUseNum, bypassCache,
+                () -> kftcRequestCoalescer.execute("balance",
+                        owner + ":" + fintechUseNum + ":" + kftcInquiryCache.balanceGeneration(fintechUseNum),
+                        () -> fetchAccountBalance(accessToken, fintechUseNum)));
+    }
 
-//        String bankTranId = generateBankTranId("M202501486U");
-//        log.info("bankTranId = {}", bankTranId);
-//        String tranDtime = getCurrentTimestamp();
+    private Mono<KftcBalanceResp> fetchAccountBalance(String accessToken, String fintechUseNum) {
+        log.debug("계좌 잔액 조회 요청: fintechUseNum={}", MaskingUtil.fintechUseNum(fintechUseNum));
+
+        String apiUrl = kftcApiProperties.getEndpoints().getBalanceFinNum();
 
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path(apiUrl)
-                        .queryParam("bank_tran_id", generateBankTranId(kftcApiProperties.getClientUseCode()))
+        return kftcResilience.hedgedInquiry(KftcResilience.BALANCE, () -> webClient.get()
+                .uri(apiUrl, uriBuilder -> uriBuilder
+                        .queryParam("bank_tran_id", kftcBankTranIdGenerator.next())
                         .queryParam("fintech_use_num", fintechUseNum)
                         .queryParam("tran_dtime", getCurrentTimestamp())
                         .build())
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
                 .retrieve()
-                .onStatus(status -> status.is4xxClientError(), clientResponse ->  Mono.error(new RuntimeException("Client Error: " + clientResponse.statusCode())))
-                .onStatus(status -> status.is5xxServerError(), serverResponse ->  Mono.error(new RuntimeException("Server Error: " + serverResponse.statusCode())))
-                .bodyToMono(Map.class);
+                .onStatus(HttpStatusCode::isError, httpError("잔액 조회"))
+                .bodyToMono(KftcBalanceResp.class))
+                .flatMap(response -> requireSuccess(response, "잔액 조회"));
     }
 
     /**
@@ -156,14 +235,47 @@ public class KftcApiService {
      * @param toDate 조회 종료일자
      * @return 거래내역 목록
      */
-    public Mono<Map> getTransactionHistory(String accessToken, String fintechUseNum, String fromDate, String toDate) {
-        log.info("거래내역 조회 요청: fintechUseNum={}, fromDate={}, toDate={}", fintechUseNum, fromDate, toDate);
+    public Mono<KftcTransactionListResp> getTransactionHistory(String accessToken, String fintechUseNum, String fromDate, String toDate) {
+        // 같은 토큰/계좌/기간의 동시 조회는 하나의 원격 호출로 병합
+        return kftcRequestCoalescer.execute("transaction-list",
+                KftcInquiryCache.ownerOf(accessToken) + ":" + fintechUseNum + ":" + fromDate + ":" + toDate,
+                () -> fetchTransactionHistory(accessToken, fintechUseNum, fromDate, toDate, null));
+    }
+
+    /**
+     * 기간 내 거래내역 전체 페이지를 순서대로 조회합니다.
+     * next_page_yn = Y 이면 befor_inquiry_trace_info 로 다음 페이지를 조회하며,
+     * 이전 페이지 응답을 받은 뒤에 다음 페이지를 요청하므로 기간이 길어도 메모리에는 한두 페이지만 유지됩니다.
+     */
+    public Flux<KftcTransactionListResp> getTransactionHistoryPages(String accessToken, String fintechUseNum, String fromDate, String toDate) {
+        return Flux.defer(() -> {
+            // 구독마다 독립적인 페이지 커서 (null: 첫 페이지, 빈 문자열: 마지막 페이지 수신 완료)
+            AtomicReference<String> cursor = new AtomicReference<>();
+            return Mono.defer(() -> fetchTransactionHistory(accessToken, fintechUseNum, fromDate, toDate, cursor.get()))
+                    .doOnNext(page -> cursor.set("Y".equals(page.getNextPageYn()) && StringUtils.hasText(page.getBeforInquiryTraceInfo())
+                            ? page.getBeforInquiryTraceInfo() : ""))
+                    .repeat(() -> StringUtils.hasText(cursor.get()));
+        });
+    }
+
+    /**
+     * 기간 내 거래내역을 페이지 단위로 이어받아 한 건씩 스트리밍합니다.
+     */
+    public Flux<AccountInfoDto.TransactionDTO> streamTransactionHistory(String accessToken, String fintechUseNum, String fromDate, String toDate) {
+        return getTransactionHistoryPages(accessToken, fintechUseNum, fromDate, toDate)
+                .concatMapIterable(page -> page.getResList() != null ? page.getResList() : List.<KftcTransactionListResp.Transaction>of(), 1)
+                .index((index, tx) -> toTransactionDto(tx, index));
+    }
+
+    private Mono<KftcTransactionListResp> fetchTransactionHistory(String accessToken, String fintechUseNum, String fromDate, String toDate,
+                                                                  String beforInquiryTraceInfo) {
+        log.debug("거래내역 조회 요청: fintechUseNum={}, fromDate={}, toDate={}, nextPage={}",
+                MaskingUtil.fintechUseNum(fintechUseNum), fromDate, toDate, beforInquiryTraceInfo != null);
         String apiUrl = kftcApiProperties.getEndpoints().getTransactionListFinNum();
 
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path(apiUrl)
-                        .queryParam("bank_tran_id", generateBankTranId(kftcApiProperties.getClientUseCode()))
+        return kftcResilience.inquiry(KftcResilience.TRANSACTION_LIST, () -> webClient.get()
+                .uri(apiUrl, uriBuilder -> uriBuilder
+                        .queryParam("bank_tran_id", kftcBankTranIdGenerator.next())
                         .queryParam("fintech_use_num", fintechUseNum)
                         .queryParam("inquiry_type", "A") // All
                         .queryParam("inquiry_base", "D") // 일자 기준
@@ -171,139 +283,178 @@ public class KftcApiService {
                         .queryParam("to_date", toDate)
                         .queryParam("sort_order", "D") // 내림차순 정렬
                         .queryParam("tran_dtime", getCurrentTimestamp())
+                        .queryParamIfPresent("befor_inquiry_trace_info", Optional.ofNullable(beforInquiryTraceInfo))
                         .build())
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
                 .retrieve()
-                .onStatus(status -> status.is4xxClientError(), clientResponse ->  Mono.error(new RuntimeException("Client Error: " + clientResponse.statusCode())))
-                .onStatus(status -> status.is5xxServerError(), serverResponse ->  Mono.error(new RuntimeException("Server Error: " + serverResponse.statusCode())))
-                .bodyToMono(Map.class);
+                .onStatus(HttpStatusCode::isError, httpError("거래내역 조회"))
+                .bodyToMono(KftcTransactionListResp.class))
+                .flatMap(response -> requireSuccess(response, "거래내역 조회"));
     }
 
     // --- 이체 서비스 ---
 
     /**
-     * 출금이체 API를 호출합니다. (핀테크이용번호 사용)
+     * 이체결과 조회 API를 호출합니다.
      * @param accessToken Access Token
-     * @param request 출금이체 요청 데이터
-     * @return 이체 결과 정보
+     * @param checkType 이체구분 (1: 출금이체, 2: 입금이체)
+     * @param reqList 조회할 원거래 목록 (최대 25건)
+     * @return 원거래별 처리 결과
      */
-    public Mono<Map> withdrawTransfer(String accessToken, Map<String, Object> request) {
-        log.info("출금이체 요청 시작");
-        String apiUrl = kftcApiProperties.getEndpoints().getWithdrawFinNum();
+    public Mono<KftcTransferResultResp> getTransferResults(String accessToken, String checkType, List<KftcTransferResultReq> reqList) {
+        log.info("이체결과 조회 요청: checkType={}, {}건", checkType, reqList.size());
 
-        // 이체 API는 본문에 파라미터를 담아 POST 요청을 보냅니다.
-        request.put("bank_tran_id", generateBankTranId(kftcApiProperties.getClientUseCode()));
-        request.put("tran_dtime", getCurrentTimestamp());
-
-        return webClient.post()
-                .uri(apiUrl)
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(request)
-                .retrieve()
-                .onStatus(status -> status.is4xxClientError(), clientResponse ->  Mono.error(new RuntimeException("Client Error: " + clientResponse.statusCode())))
-                .onStatus(status -> status.is5xxServerError(), serverResponse ->  Mono.error(new RuntimeException("Server Error: " + serverResponse.statusCode())))
-                .bodyToMono(Map.class);
+        Map<String, Object> reqInfo = new HashMap<>();
+        reqInfo.put("check_type", checkType);
+        reqInfo.put("tran_dtime", getCurrentTimestamp());
+        reqInfo.put("req_cnt", String.valueOf(reqList.size()));
+        reqInfo.put("req_list", reqList);
+
+        // 조회이므로 5xx/네트워크 오류는 재시도
+        return kftcResilience.inquiry(KftcResilience.TRANSFER_RESULT, () -> webClient.post()
+                        .uri(kftcApiProperties.getEndpoints().getTransferResult())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(kftcRequestEnvelope.body(reqInfo))
+                        .retrieve()
+                        .onStatus(HttpStatusCode::isError, httpError("이체결과 조회"))
+                        .bodyToMono(KftcTransferResultResp.class))
+                .timeout(Duration.ofSeconds(30))
+                .flatMap(response -> requireSuccess(response, "이체결과 조회"));
     }
 
     /**
-     * 입금이체 API를 호출합니다. (핀테크이용번호 사용)
-     * @param accessToken Access Token
-     * @param request 입금이체 요청 데이터
-     * @return 이체 결과 정보
+     * KFTC 4xx/5xx 응답을 상태코드와 응답 본문을 담은 KftcApiException 으로 변환합니다.
+     * 5xx 는 KftcResilience 에서 재시도/서킷브레이커 실패로 집계됩니다.
      */
-    public Mono<Map> depositTransfer(String accessToken, Map<String, Object> request) {
-        log.info("입금이체 요청 시작");
-        String apiUrl = kftcApiProperties.getEndpoints().getDepositFinNum();
-
-        // 입금이체 API도 본문에 파라미터를 담아 POST 요청을 보냅니다.
-        // 이체결과조회와 달리 이체 API는 명세서에 공통부(req_common)가 없습니다.
-        request.put("bank_tran_id", generateBankTranId(kftcApiProperties.getClientUseCode()));
-        request.put("tran_dtime", getCurrentTimestamp());
+    private Function<ClientResponse, Mono<? extends Throwable>> httpError(String apiName) {
+        return clientResponse -> clientResponse.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(errorBody -> {
+                    // 응답 본문 전체는 감사 로그(KFTC_AUDIT)에 마스킹되어 남음
+                    log.error("KFTC {} 실패: HTTP Status={}", apiName, clientResponse.statusCode());
+                    return new KftcApiException("KFTC_HTTP_" + clientResponse.statusCode().value(),
+                            "KFTC " + apiName + " 실패: HTTP " + clientResponse.statusCode().value(),
+                            clientResponse.statusCode(), errorBody);
+                });
+    }
 
-        return webClient.post()
-                .uri(apiUrl)
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(request)
-                .retrieve()
-                .onStatus(status -> status.is4xxClientError(), clientResponse ->  Mono.error(new RuntimeException("Client Error: " + clientResponse.statusCode())))
-                .onStatus(status -> status.is5xxServerError(), serverResponse ->  Mono.error(new RuntimeException("Server Error: " + serverResponse.statusCode())))
-                .bodyToMono(Map.class);
+    private String getCurrentTimestamp() {
+        return kftcClock.tranDtime();
     }
 
     /**
-     * API 호출 시 공통으로 사용되는 요청 본문을 생성하는 헬퍼 메서드.
+     * 통합 계좌 정보 조회 (계좌 목록 + 계좌별 잔액 + 최근 거래내역)
+     * 계좌 목록 조회 후 모든 계좌의 잔액/거래내역을 제한된 동시성으로 병렬 조회합니다.
+     * 특정 은행이 응답하지 않으면 해당 계좌만 부분 결과(partial)로 표시하고 나머지는 정상 반환합니다.
      */
-    private Map<String, Object> createRequestBody(Map<String, Object> reqInfo) {
-        Map<String, Object> reqCommon = new HashMap<>();
-        reqCommon.put("tran_date", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")));
-        reqCommon.put("tran_time", LocalDateTime.now().format(DateTimeFormatter.ofPattern("HHmmss")));
-        reqCommon.put("tran_id", kftcApiProperties.getClientUseCode() + "U" + UUID.randomUUID().toString().substring(0, 9).toUpperCase());
-        reqCommon.put("org_code", kftcApiProperties.getOrgCode());
-        reqCommon.put("client_use_code", kftcApiProperties.getClientUseCode());
-        reqCommon.put("client_use_name", kftcApiProperties.getClientUseName());
-        reqCommon.put("main_bank_code", kftcApiProperties.getMainBankCode());
-        reqCommon.put("preference_yn", "N");
-        reqCommon.put("acting_fee", "0");
-
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("req_common", reqCommon);
-        requestBody.put("req_info", reqInfo);
+    public Mono<AccountInfoDto> getComprehensiveAccountInfo(String accessToken, String userSeqNo) {
+        return getComprehensiveAccountInfo(accessToken, userSeqNo, false);
+    }
 
-        return requestBody;
+    public Mono<AccountInfoDto> getComprehensiveAccountInfo(String accessToken, String userSeqNo, boolean bypassCache) {
+        log.info("통합 계좌 정보 조회 시작: userSeqNo={}", userSeqNo);
+        KftcApiProperties.AccountInfo accountInfo = kftcApiProperties.getAccountInfo();
+
+        return getAccountList(accessToken, userSeqNo, bypassCache)
+                .flatMap(accounts -> {
+                    if (accounts.isEmpty()) {
+                        return Mono.error(new RuntimeException("등록된 계좌가 없습니다."));
+                    }
+
+                    // 계좌 순서를 유지하면서 최대 concurrency 개씩 동시에 조회
+                    return Flux.fromIterable(accounts)
+                            .flatMapSequential(account -> enrichAccountSummary(accessToken, account, bypassCache),
+                                    accountInfo.getConcurrency())
+                            .collectList();
+                })
+                .map(summaries -> {
+                    // 첫 번째 계좌를 대표 계좌로 사용
+                    AccountInfoDto.AccountSummary primaryAccount = summaries.get(0);
+                    log.debug("primaryAccount.getFintechUseNum= {}", MaskingUtil.fintechUseNum(primaryAccount.getFintechUseNum()));
+
+                    return AccountInfoDto.builder()
+                            .bankName(primaryAccount.getBankName())
+                            .accountNumber(primaryAccount.getAccountNumber())
+                            .ownerName(primaryAccount.getOwnerName())
+                            .balance(primaryAccount.getBalance())
+                            .fintechUseNum(primaryAccount.getFintechUseNum())
+                            .transactions(primaryAccount.getTransactions())
+                            .accountSummaries(summaries)
+                            .build();
+                })
+                .doOnError(e -> log.error("통합 계좌 정보 조회 실패: {}", e.getMessage()));
     }
 
-    private String generateBankTranId(String prefix) {
-        String uniqueId = UUID.randomUUID().toString().replaceAll("-", "").substring(0, 9).toUpperCase();
-        return prefix + "U" + uniqueId;
+    /**
+     * 계좌 하나의 잔액과 최근 거래내역을 동시에 조회하여 AccountSummary에 채웁니다.
+     * 각 호출은 계좌별 타임아웃이 적용되며, 실패 시 전체를 실패시키지 않고 partial로 표시합니다.
+     */
+    private Mono<AccountInfoDto.AccountSummary> enrichAccountSummary(String accessToken,
+                                                                    AccountInfoDto.AccountSummary account,
+                                                                    boolean bypassCache) {
+        if (!account.isInquiryAvailable()) {
+            log.debug("조회 미동의 계좌는 잔액/거래내역 조회 생략: fintechUseNum={}", MaskingUtil.fintechUseNum(account.getFintechUseNum()));
+            return Mono.just(account);
+        }
+
+        KftcApiProperties.AccountInfo accountInfo = kftcApiProperties.getAccountInfo();
+        Duration timeout = accountInfo.getPerAccountTimeout();
+        LocalDate today = LocalDate.now();
+        String fromDate = today.minusDays(accountInfo.getRecentTransactionDays()).format(DateTimeFormatter.BASIC_ISO_DATE);
+        String toDate = today.format(DateTimeFormatter.BASIC_ISO_DATE);
+
+        Mono<Optional<KftcBalanceResp>> balance = getAccountBalance(accessToken, account.getFintechUseNum(), bypassCache)
+                .timeout(timeout)
+                .map(Optional::of)
+                .onErrorResume(e -> {
+                    log.warn("계좌 잔액 조회 실패 (부분 결과 반환): fintechUseNum={}, error={}", MaskingUtil.fintechUseNum(account.getFintechUseNum()), e.toString());
+                    return Mono.just(Optional.empty());
+                })
+                .defaultIfEmpty(Optional.empty());
+
+        Mono<Optional<KftcTransactionListResp>> transactions = getTransactionHistory(accessToken, account.getFintechUseNum(), fromDate, toDate)
+                .timeout(timeout)
+                .map(Optional::of)
+                .onErrorResume(e -> {
+                    log.warn("거래내역 조회 실패 (부분 결과 반환): fintechUseNum={}, error={}", MaskingUtil.fintechUseNum(account.getFintechUseNum()), e.toString());
+                    return Mono.just(Optional.empty());
+                })
+                .defaultIfEmpty(Optional.empty());
+
+        return Mono.zip(balance, transactions)
+                .map(result -> {
+                    result.getT1().ifPresent(b -> account.setBalance(String.valueOf(b.getBalanceAmt())));
+                    result.getT2().ifPresent(t -> account.setTransactions(toTransactionDtos(t)));
+                    account.setPartial(result.getT1().isEmpty() || result.getT2().isEmpty());
+                    return account;
+                });
     }
 
-    private String getCurrentTimestamp() {
-        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+    private List<AccountInfoDto.TransactionDTO> toTransactionDtos(KftcTransactionListResp response) {
+        List<KftcTransactionListResp.Transaction> resList = response.getResList();
+        if (resList == null || resList.isEmpty()) {
+            return List.of();
+        }
+
+        List<AccountInfoDto.TransactionDTO> transactions = new ArrayList<>(resList.size());
+        for (KftcTransactionListResp.Transaction tx : resList) {
+            transactions.add(toTransactionDto(tx, transactions.size()));
+        }
+        return transactions;
     }
 
-    /**
-     * 통합 계좌 정보 조회 (계좌 목록 + 잔액 + 거래내역)
-     */
-//    public AccountInfoDto getComprehensiveAccountInfo(String accessToken, String userSeqNo) {
-//        log.info("통합 계좌 정보 조회 시작: userSeqNo={}", userSeqNo);
-//
-//        try {
-//            // 1. 계좌 목록 조회
-//            List<AccountInfoDto.AccountSummary> accounts = getAccountList(accessToken, userSeqNo);
-//
-//            if (accounts.isEmpty()) {
-//                throw new RuntimeException("등록된 계좌가 없습니다.");
-//            }
-//
-//            // 첫 번째 계좌를 대표 계좌로 사용
-//            AccountInfoDto.AccountSummary primaryAccount = accounts.get(0);
-//            log.debug("primaryAccount.getFintechUseNum= {}", primaryAccount.getFintechUseNum());
-//            log.debug("primaryAccount.getBankCode= {}", primaryAccount.getBankCode());
-//            log.debug("primaryAccount.getBankName= {}", primaryAccount.getBankName());
-//            // 2. 잔액 조회
-//            String balance = getAccountBalance(accessToken, primaryAccount.getFintechUseNum());
-//
-//            // 3. 거래 내역 조회 (최근 7일)
-////            List<AccountInfoDto.TransactionDTO> transactions = getTransactionHistory(
-////                    accessToken, primaryAccount.getFintechUseNum(), 7);
-//
-//            // 4. 통합 정보 구성
-//            return AccountInfoDto.builder()
-//                    .bankName(primaryAccount.getBankName())
-//                    .accountNumber(primaryAccount.getAccountNumber())
-//                    .ownerName(primaryAccount.getOwnerName())
-//                    .balance(balance)
-//                    .fintechUseNum(primaryAccount.getFintechUseNum())
-////                    .transactions(transactions)
-//                    .build();
-//
-//        } catch (Exception e) {
-//            log.error("통합 계좌 정보 조회 실패: {}", e.getMessage(), e);
-//            throw new RuntimeException("계좌 정보 조회 실패: " + e.getMessage());
-//        }
-//    }
+    private AccountInfoDto.TransactionDTO toTransactionDto(KftcTransactionListResp.Transaction tx, long index) {
+        return AccountInfoDto.TransactionDTO.builder()
+                .id(tx.getTranDate() + tx.getTranTime() + "-" + index)
+                .tran_date(tx.getTranDate())
+                .tran_time(tx.getTranTime())
+                .tran_amt(String.valueOf(tx.getTranAmt()))
+                .inout_type(tx.getInoutType())
+                .print_content(tx.getPrintContent())
+                .after_balance_amt(String.valueOf(tx.getAfterBalanceAmt()))
+                .build();
+    }
 
     /**
      * 획득한 Access Token을 사용하여 계좌 정보를 조회합니다.
@@ -359,113 +510,50 @@ public class KftcApiService {
     /**
      * Access Token을 사용하여 계좌 목록을 조회합니다.
      */
-//    public List<AccountInfoDto.AccountSummary> getAccountList(String accessToken, String userSeqNo) {
-//        log.info("계좌 목록 조회 요청 시작: userSeqNo={}", userSeqNo);
-//
-//        // 헤더 설정
-//        HttpHeaders headers = new HttpHeaders();
-//        headers.setContentType(MediaType.APPLICATION_JSON);
-//        headers.setBearerAuth(accessToken);
-//
-//        try {
-//            String fullAccountListApiUri = accountListEndpoint + "?user_seq_no=" + userSeqNo;
-//
-//            log.debug("계좌 목록 조회 API 호출: URL={}", fullAccountListApiUri);
-//
-//            Map<String, Object> responseBody = webClient.get()
-//                    .uri(fullAccountListApiUri)
-//                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-//                    .retrieve()
-//                    .onStatus(
-//                            status -> status.is4xxClientError() || status.is5xxServerError(),
-//                            clientResponse -> clientResponse.bodyToMono(String.class)
-//                                    .flatMap(errorBody -> {
-//                                        log.error("KFTC 계좌 목록 조회 실패: HTTP Status={}, Error Body={}",
-//                                                clientResponse.statusCode(), errorBody);
-//                                        return Mono.error(new RuntimeException("KFTC 계좌 목록 조회 실패: " + errorBody));
-//                                    })
-//                    )
-//                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-//                    .timeout(Duration.ofSeconds(30))
-//                    .block();
-//
-//            if (responseBody == null) {
-//                throw new RuntimeException("계좌 목록 조회 응답이 비어있습니다.");
-//            }
-//
-//            // 응답 상태 확인
-//            String rspCode = (String) responseBody.get("rsp_code");
-//            if (!"A0000".equals(rspCode)) {
-//                String rspMessage = (String) responseBody.get("rsp_message");
-//                log.error("계좌 목록 조회 실패: code={}, message={}", rspCode, rspMessage);
-//                throw new RuntimeException("계좌 목록 조회 실패: " + rspMessage);
-//            }
-//
-//            // 계좌 목록 추출 및 변환
-//            List<Map<String, Object>> resList = (List<Map<String, Object>>) responseBody.get("res_list");
-//            if (resList == null || resList.isEmpty()) {
-//                log.warn("조회된 계좌가 없습니다.");
-//                return new ArrayList<>();
-//            }
-//
-//            List<AccountInfoDto.AccountSummary> accountList = new ArrayList<>();
-//
-//            for (Map<String, Object> account : resList) {
-//                try {
-//                    AccountInfoDto.AccountSummary summary = AccountInfoDto.AccountSummary.builder()
-//                            .bankName(getStringValue(account, "bank_name"))
-//                            .bankCode(getStringValue(account, "bank_code_std"))
-//                            .accountNumber(maskAccountNumber(getStringValue(account, "account_num_masked")))
-//                            .ownerName(getStringValue(account, "account_holder_name"))
-//                            .fintechUseNum(getStringValue(account, "fintech_use_num"))
-//                            .accountType(getStringValue(account, "account_type"))
-//                            .inquiryAgreeYn(getStringValue(account, "inquiry_agree_yn"))
-//                            .transferAgreeYn(getStringValue(account, "transfer_agree_yn"))
-//                            .accountState(getStringValue(account, "account_state"))
-//                            .productName(getStringValue(account, "product_name"))
-//                            .accountIssueDate(getStringValue(account, "account_issue_date"))
-//                            .maturityDate(getStringValue(account, "maturity_date"))
-//                            .lastTranDate(getStringValue(account, "last_tran_date"))
-//                            .build();
-//
-//                    accountList.add(summary);
-//
-//                } catch (Exception e) {
-//                    log.warn("계좌 정보 파싱 실패: {}, account={}", e.getMessage(), account);
-//                    // 개별 계좌 파싱 실패해도 전체는 계속 진행
-//                }
-//            }
-//
-//            log.info("계좌 목록 조회 성공: 총 {}개 계좌", accountList.size());
-//            return accountList;
-//
-//        } catch (HttpClientErrorException e) {
-//            log.error("계좌 목록 조회 클라이언트 오류: status={}, body={}",
-//                    e.getStatusCode(), e.getResponseBodyAsString());
-//            throw new RuntimeException("계좌 목록 조회 실패 (클라이언트 오류): " + e.getResponseBodyAsString());
-//
-//        } catch (HttpServerErrorException e) {
-//            log.error("계좌 목록 조회 서버 오류: status={}, body={}",
-//                    e.getStatusCode(), e.getResponseBodyAsString());
-//            throw new RuntimeException("계좌 목록 조회 실패 (서버 오류): " + e.getResponseBodyAsString());
-//
-//        } catch (ResourceAccessException e) {
-//            log.error("계좌 목록 조회 네트워크 오류: {}", e.getMessage(), e);
-//            throw new RuntimeException("계좌 목록 조회 연결 오류: " + e.getMessage());
-//
-//        } catch (Exception e) {
-//            log.error("계좌 목록 조회 중 예상치 못한 오류: {}", e.getMessage(), e);
-//            throw new RuntimeException("계좌 목록 조회 실패: " + e.getMessage());
-//        }
-//    }
+    public Mono<List<AccountInfoDto.AccountSummary>> getAccountList(String accessToken, String userSeqNo) {
+        return getAccountList(accessToken, userSeqNo, false);
+    }
+
+    public Mono<List<AccountInfoDto.AccountSummary>> getAccountList(String accessToken, String userSeqNo, boolean bypassCache) {
+        return getRegisteredAccountList(accessToken, userSeqNo, bypassCache)
+                .map(response -> {
+                    List<KftcAccountListResp.Account> resList = response.getResList();
+                    if (resList == null || resList.isEmpty()) {
+                        log.warn("조회된 계좌가 없습니다.");
+                        return new ArrayList<AccountInfoDto.AccountSummary>();
+                    }
+
+                    List<AccountInfoDto.AccountSummary> accountList = new ArrayList<>(resList.size());
+                    for (KftcAccountListResp.Account account : resList) {
+                        accountList.add(AccountInfoDto.AccountSummary.builder()
+                                .bankName(account.getBankName())
+                                .bankCode(account.getBankCodeStd())
+                                .accountNumber(maskAccountNumber(account.getAccountNumMasked()))
+                                .ownerName(account.getAccountHolderName())
+                                .fintechUseNum(account.getFintechUseNum())
+                                .accountType(account.getAccountType())
+                                .inquiryAgreeYn(account.getInquiryAgreeYn())
+                                .transferAgreeYn(account.getTransferAgreeYn())
+                                .accountState(account.getAccountState())
+                                .productName(account.getProductName())
+                                .accountIssueDate(account.getAccountIssueDate())
+                                .maturityDate(account.getMaturityDate())
+                                .lastTranDate(account.getLastTranDate())
+                                .build());
+                    }
+
+                    log.info("계좌 목록 조회 성공: 총 {}개 계좌", accountList.size());
+                    return accountList;
+                });
+    }
 
     /**
-     * 출금이체 처리
+     * 출금이체 처리 (이체 저널에서 미리 채번한 거래고유번호 사용)
+     * 이체는 KftcTransferDispatcher 를 통해서만 전송합니다. (멱등키/저널 없이 직접 호출하지 않음)
      */
-    public TransferRespDto processWithdrawTransfer(String accessToken, TransferReqDto request) {
-        log.info("출금이체 API 호출 시작: fintechUseNum={}", request.getFintechUseNum());
+    public Mono<TransferRespDto> processWithdrawTransfer(String accessToken, TransferReqDto request, String bankTranId) {
+        log.info("출금이체 API 호출 시작: fintechUseNum={}, bankTranId={}", MaskingUtil.fintechUseNum(request.getFintechUseNum()), bankTranId);
 
-        String bankTranId = generateBankTranId("M201");  // 출금이체용 거래고유번호
         String tranDtime = getCurrentTimestamp();
 
         // 요청 바디 구성
@@ -497,157 +585,184 @@ public class KftcApiService {
         requestBody.put("recv_client_bank_code", request.getRecvClientBankCode());
         requestBody.put("recv_client_account_num", request.getRecvClientAccountNum());
 
-        try {
-            Map<String, Object> responseBody = webClient.post()
-                    .uri(kftcApiProperties.getEndpoints().getWithdrawFinNum())
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .onStatus(
-                            status -> status.is4xxClientError() || status.is5xxServerError(),
-                            clientResponse -> clientResponse.bodyToMono(String.class)
-                                    .flatMap(errorBody -> {
-                                        log.error("KFTC 출금이체 실패: HTTP Status={}, Error Body={}",
-                                                clientResponse.statusCode(), errorBody);
-                                        return Mono.error(new RuntimeException("KFTC 출금이체 실패: " + errorBody));
-                                    })
-                    )
-                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-                    .timeout(Duration.ofSeconds(30))
-                    .block();
-
-            return mapToTransferResponse(responseBody);
-
-        } catch (Exception e) {
-            log.error("출금이체 처리 중 오류: {}", e.getMessage(), e);
-            throw new RuntimeException("출금이체 처리 실패: " + e.getMessage());
-        }
+        // 이체는 중복 처리 위험이 있으므로 재시도하지 않음 (서킷브레이커/벌크헤드만 적용)
+        return kftcResilience.call(KftcResilience.WITHDRAW, () -> webClient.post()
+                        .uri(kftcApiProperties.getEndpoints().getWithdrawFinNum())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(requestBody)
+                        .retrieve()
+                        .onStatus(HttpStatusCode::isError, httpError("출금이체"))
+                        .bodyToMono(KftcWithdrawResp.class))
+                .timeout(Duration.ofSeconds(30))
+                .map(this::mapToTransferResponse)
+                // KFTC 응답 오류(상태코드/차단 사유 포함)는 그대로 전달
+                .onErrorMap(e -> !(e instanceof KftcApiException), e -> {
+                    log.error("출금이체 처리 중 오류: {}", e.getMessage(), e);
+                    return new RuntimeException("출금이체 처리 실패: " + e.getMessage(), e);
+                })
+                // 성공/실패/타임아웃과 무관하게 잔액이 바뀌었을 수 있으므로 캐시를 제거
+                .doFinally(signal -> evictTransferredAccounts(request));
     }
 
     /**
-     * 입금이체 처리
+     * 입금이체 처리 (이체 저널에서 미리 채번한 거래고유번호 사용)
      */
-    public TransferRespDto processDepositTransfer(String accessToken, TransferReqDto request) {
-        log.info("입금이체 API 호출 시작: fintechUseNum={}", request.getFintechUseNum());
+    public Mono<TransferRespDto> processDepositTransfer(String accessToken, TransferReqDto request, String bankTranId) {
+        return processDepositTransfers(accessToken, List.of(request), List.of(bankTranId))
+                .map(responses -> responses.get(0));
+    }
 
-        String bankTranId = generateBankTranId("M202");  // 입금이체용 거래고유번호
-        String tranDtime = getCurrentTimestamp();
+    /**
+     * 입금이체 처리 (req_list 여러 건을 한 번에 요청).
+     * 공통부(약정 계좌, 출금 인자내역)는 첫 번째 요청의 값을 사용하므로 같은 다건 입금이체 건끼리만 묶어야 합니다.
+     * 건별 결과는 tran_no 로 요청 순서에 맞춰 반환하며, 결과부가 없는 건은 참가기관 응답코드 없이 반환합니다. (결과 판단은 디스패처에서)
+     * 이체는 KftcTransferDispatcher 를 통해서만 전송합니다. (멱등키/저널 없이 직접 호출하지 않음)
+     */
+    public Mono<List<TransferRespDto>> processDepositTransfers(String accessToken, List<TransferReqDto> requests, List<String> bankTranIds) {
+        log.info("입금이체 API 호출 시작: {}건, bankTranId={}", requests.size(), bankTranIds);
+        TransferReqDto common = requests.get(0);
 
         // 요청 바디 구성
         Map<String, Object> requestBody = new HashMap<>();
 
         // Header 파라미터들
-        requestBody.put("cntr_account_type", request.getCntrAccountType());
-        requestBody.put("cntr_account_num", request.getCntrAccountNum());
-        requestBody.put("wd_pass_phrase", request.getDpsWdPassPhrase());
-        requestBody.put("wd_print_content", request.getWdPrintContent());
-        requestBody.put("name_check_option", request.getNameCheckOption());
+        requestBody.put("cntr_account_type", common.getCntrAccountType());
+        requestBody.put("cntr_account_num", common.getCntrAccountNum());
+        requestBody.put("wd_pass_phrase", common.getDpsWdPassPhrase());
+        requestBody.put("wd_print_content", common.getWdPrintContent());
+        requestBody.put("name_check_option", common.getNameCheckOption());
 
         // 하위기관정보 (선택사항)
-        if (request.getSubFmcName() != null) {
-            requestBody.put("sub_fmc_name", request.getSubFmcName());
-            requestBody.put("sub_fmc_num", request.getSubFmcNum());
-            requestBody.put("sub_fmc_business_num", request.getSubFmcBusinessNum());
+        if (common.getSubFmcName() != null) {
+            requestBody.put("sub_fmc_name", common.getSubFmcName());
+            requestBody.put("sub_fmc_num", common.getSubFmcNum());
+            requestBody.put("sub_fmc_business_num", common.getSubFmcBusinessNum());
         }
 
-        requestBody.put("tran_dtime", tranDtime);
-        requestBody.put("req_cnt", 1);
-
-        // Body 파라미터들 (req_list는 배열)
-        Map<String, Object> reqListItem = new HashMap<>();
-        reqListItem.put("tran_no", "1");
-        reqListItem.put("bank_tran_id", bankTranId);
-        reqListItem.put("fintech_use_num", request.getFintechUseNum());
-        reqListItem.put("print_content", request.getDpsPrintContent());
-        reqListItem.put("tran_amt", request.getTranAmt());
-        reqListItem.put("req_client_name", request.getReqClientName());
-        reqListItem.put("req_client_bank_code", request.getReqClientBankCode());
-        reqListItem.put("req_client_account_num", request.getReqClientAccountNum());
-        reqListItem.put("req_client_fintech_use_num", request.getReqClientFintechUseNum());
-
-        requestBody.put("req_list", List.of(reqListItem));
-
-        try {
-            Map<String, Object> responseBody = webClient.post()
-                    .uri(kftcApiProperties.getEndpoints().getDepositFinNum())
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .onStatus(
-                            status -> status.is4xxClientError() || status.is5xxServerError(),
-                            clientResponse -> clientResponse.bodyToMono(String.class)
-                                    .flatMap(errorBody -> {
-                                        log.error("KFTC 입금이체 실패: HTTP Status={}, Error Body={}",
-                                                clientResponse.statusCode(), errorBody);
-                                        return Mono.error(new RuntimeException("KFTC 입금이체 실패: " + errorBody));
-                                    })
-                    )
-                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-                    .timeout(Duration.ofSeconds(30))
-                    .block();
-
-            return mapToTransferResponse(responseBody);
-
-        } catch (Exception e) {
-            log.error("입금이체 처리 중 오류: {}", e.getMessage(), e);
-            throw new RuntimeException("입금이체 처리 실패: " + e.getMessage());
+        requestBody.put("tran_dtime", getCurrentTimestamp());
+        requestBody.put("req_cnt", requests.size());
+
+        // Body 파라미터들 (req_list는 배열, tran_no 는 1부터)
+        List<Map<String, Object>> reqList = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            TransferReqDto request = requests.get(i);
+            Map<String, Object> reqListItem = new HashMap<>();
+            reqListItem.put("tran_no", String.valueOf(i + 1));
+            reqListItem.put("bank_tran_id", bankTranIds.get(i));
+            reqListItem.put("fintech_use_num", request.getFintechUseNum());
+            reqListItem.put("print_content", request.getDpsPrintContent());
+            reqListItem.put("tran_amt", request.getTranAmt());
+            reqListItem.put("req_client_name", request.getReqClientName());
+            reqListItem.put("req_client_bank_code", request.getReqClientBankCode());
+            reqListItem.put("req_client_account_num", request.getReqClientAccountNum());
+            reqListItem.put("req_client_fintech_use_num", request.getReqClientFintechUseNum());
+            reqList.add(reqListItem);
         }
+        requestBody.put("req_list", reqList);
+
+        // 이체는 중복 처리 위험이 있으므로 재시도하지 않음 (서킷브레이커/벌크헤드만 적용)
+        return kftcResilience.call(KftcResilience.DEPOSIT, () -> webClient.post()
+                        .uri(kftcApiProperties.getEndpoints().getDepositFinNum())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(requestBody)
+                        .retrieve()
+                        .onStatus(HttpStatusCode::isError, httpError("입금이체"))
+                        .bodyToMono(KftcDepositResp.class))
+                .timeout(kftcApiProperties.getBatchDeposit().getTimeout())
+                .map(response -> mapToTransferResponses(response, requests.size()))
+                // KFTC 응답 오류(상태코드/차단 사유 포함)는 그대로 전달
+                .onErrorMap(e -> !(e instanceof KftcApiException), e -> {
+                    log.error("입금이체 처리 중 오류: {}", e.getMessage(), e);
+                    return new RuntimeException("입금이체 처리 실패: " + e.getMessage(), e);
+                })
+                .doFinally(signal -> requests.forEach(this::evictTransferredAccounts));
     }
 
     /**
-     * API 응답을 DTO로 변환
+     * 이체 대상(출금/입금) 계좌의 잔액 캐시를 제거합니다.
+     * (사용자별 계좌 정보 스냅샷은 KftcTransferStore 가 이체 결과를 기록할 때 함께 삭제)
      */
-    private TransferRespDto mapToTransferResponse(Map<String, Object> responseBody) {
-        if (responseBody == null) {
-            throw new RuntimeException("이체 응답이 비어있습니다.");
-        }
-
-        // 응답 상태 확인
-        String rspCode = getStringValue(responseBody, "rsp_code");
-        String rspMessage = getStringValue(responseBody, "rsp_message");
+    private void evictTransferredAccounts(TransferReqDto request) {
+        kftcInquiryCache.evictBalance(request.getFintechUseNum());
+        kftcInquiryCache.evictBalance(request.getReqClientFintechUseNum());
+    }
 
+    /**
+     * 출금이체 응답을 DTO로 변환
+     */
+    private TransferRespDto mapToTransferResponse(KftcWithdrawResp response) {
         TransferRespDto.TransferRespDtoBuilder builder = TransferRespDto.builder()
-                .rspCode(rspCode)
-                .rspMessage(rspMessage)
-                .apiTranId(getStringValue(responseBody, "api_tran_id"))
-                .apiTranDtm(getStringValue(responseBody, "api_tran_dtm"));
-
-        // 성공한 경우에만 상세 정보 매핑
-        if ("A0000".equals(rspCode)) {
-            // res_list에서 첫 번째 결과 추출 (입금이체의 경우)
-            List<Map<String, Object>> resList = (List<Map<String, Object>>) responseBody.get("res_list");
-            if (resList != null && !resList.isEmpty()) {
-                Map<String, Object> firstResult = resList.get(0);
-                builder
-                        .bankTranId(getStringValue(firstResult, "bank_tran_id"))
-                        .bankTranDate(getStringValue(firstResult, "bank_tran_date"))
-                        .bankCodeTran(getStringValue(firstResult, "bank_code_tran"))
-                        .bankRspCode(getStringValue(firstResult, "bank_rsp_code"))
-                        .bankRspMessage(getStringValue(firstResult, "bank_rsp_message"))
-                        .fintechUseNum(getStringValue(firstResult, "fintech_use_num"))
-                        .accountNum(getStringValue(firstResult, "account_num"))
-                        .printContent(getStringValue(firstResult, "print_content"))
-                        .tranAmt(getStringValue(firstResult, "tran_amt"))
-                        .wdLimitRemainAmt(getStringValue(firstResult, "wd_limit_remain_amt"));
-            } else {
-                // 출금이체의 경우 직접 매핑
+                .rspCode(response.getRspCode())
+                .rspMessage(response.getRspMessage())
+                .apiTranId(response.getApiTranId())
+                .apiTranDtm(response.getApiTranDtm());
+
+        // rsp_code 가 A0000 이 아니어도 참가기관 응답코드로 처리 결과를 판단하므로 항상 매핑
+        return builder
+                .bankTranId(response.getBankTranId())
+                .bankTranDate(response.getBankTranDate())
+                .bankCodeTran(response.getBankCodeTran())
+                .bankRspCode(response.getBankRspCode())
+                .bankRspMessage(response.getBankRspMessage())
+                .fintechUseNum(response.getFintechUseNum())
+                .accountNum(response.getAccountNum())
+                .printContent(response.getPrintContent())
+                .tranAmt(response.getTranAmt())
+                .wdLimitRemainAmt(response.getWdLimitRemainAmt())
+                .build();
+    }
+
+    /**
+     * 입금이체 응답을 요청 순서(tran_no)별 DTO로 변환
+     */
+    private List<TransferRespDto> mapToTransferResponses(KftcDepositResp response, int count) {
+        Map<String, KftcDepositResp.Result> resultsByTranNo = new HashMap<>();
+        if (response.getResList() != null) {
+            for (KftcDepositResp.Result result : response.getResList()) {
+                resultsByTranNo.put(result.getTranNo(), result);
+            }
+        }
+
+        List<TransferRespDto> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TransferRespDto.TransferRespDtoBuilder builder = TransferRespDto.builder()
+                    .rspCode(response.getRspCode())
+                    .rspMessage(response.getRspMessage())
+                    .apiTranId(response.getApiTranId())
+                    .apiTranDtm(response.getApiTranDtm());
+
+            // rsp_code 와 관계없이 건별 결과가 있으면 매핑 (결과 판단은 디스패처에서)
+            KftcDepositResp.Result result = resultsByTranNo.get(String.valueOf(i + 1));
+            if (result != null) {
                 builder
-                        .bankTranId(getStringValue(responseBody, "bank_tran_id"))
-                        .bankTranDate(getStringValue(responseBody, "bank_tran_date"))
-                        .bankCodeTran(getStringValue(responseBody, "bank_code_tran"))
-                        .bankRspCode(getStringValue(responseBody, "bank_rsp_code"))
-                        .bankRspMessage(getStringValue(responseBody, "bank_rsp_message"))
-                        .fintechUseNum(getStringValue(responseBody, "fintech_use_num"))
-                        .accountNum(getStringValue(responseBody, "account_num"))
-                        .printContent(getStringValue(responseBody, "print_content"))
-                        .tranAmt(getStringValue(responseBody, "tran_amt"))
-                        .wdLimitRemainAmt(getStringValue(responseBody, "wd_limit_remain_amt"));
+                        .bankTranId(result.getBankTranId())
+                        .bankTranDate(result.getBankTranDate())
+                        .bankCodeTran(result.getBankCodeTran())
+                        .bankRspCode(result.getBankRspCode())
+                        .bankRspMessage(result.getBankRspMessage())
+                        .fintechUseNum(result.getFintechUseNum())
+                        .accountNum(result.getAccountNum())
+                        .printContent(result.getPrintContent())
+                        .tranAmt(result.getTranAmt())
+                        .wdLimitRemainAmt(result.getWdLimitRemainAmt());
             }
+            responses.add(builder.build());
         }
+        return responses;
+    }
 
-        return builder.build();
+    /**
+     * 응답 공통부의 rsp_code를 먼저 확인하여, 정상(A0000)이 아니면 결과부를 사용하기 전에 오류로 전환합니다.
+     */
+    private <T extends KftcBaseResp> Mono<T> requireSuccess(T response, String apiName) {
+        if (!response.isSuccess()) {
+            log.error("{} 실패: rsp_code={}, rsp_message={}", apiName, response.getRspCode(), response.getRspMessage());
+            return Mono.error(new KftcApiException(response.getRspCode(),
+                    apiName + " 실패: " + response.getRspMessage(), HttpStatus.BAD_GATEWAY, null));
+        }
+        return Mono.just(response);
     }
 
     private List<AccountInfoDto.TransactionDTO> createMockTransactions() {
@@ -674,14 +789,6 @@ public class KftcApiService {
         );
     }
 
-    /**
-     * Map에서 String 값을 안전하게 추출하는 헬퍼 메서드
-     */
-    private String getStringValue(Map<String, Object> map, String key) {
-        Object value = map.get(key);
-        return value != null ? value.toString() : null;
-    }
-
     /**
      * 계좌번호 마스킹 처리
      */
@@ -0,0 +1,39 @@
+package com.moim.payment.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+/**
+ * 활동 모임 계좌 정보 사전 갱신 작업 (파티션 하나).
+ * 파티션마다 별도 JobDetail 로 등록되며, Quartz JDBC 클러스터에서 각 실행은 한 노드만 가져가므로
+ * 파티션들이 노드에 나뉘어 실행되고 같은 파티션이 동시에 두 번 실행되지 않습니다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@DisallowConcurrentExecution
+public class KftcBalancePrefetchJob extends QuartzJobBean {
+
+    public static final String PARTITION = "partition";
+    public static final String PARTITIONS = "partitions";
+
+    private final KftcAccountSnapshotService kftcAccountSnapshotService;
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) throws JobExecutionException {
+        JobDataMap data = context.getMergedJobDataMap();
+        int partition = data.getInt(PARTITION);
+        int partitions = data.getInt(PARTITIONS);
+        try {
+            kftcAccountSnapshotService.refreshPartition(partition, partitions);
+        } catch (RuntimeException e) {
+            // 다음 주기에 다시 실행 (즉시 재실행하지 않음)
+            log.error("계좌 정보 사전 갱신 작업 실패: partition={}/{}, error={}", partition, partitions, e.getMessage(), e);
+            throw new JobExecutionException(e, false);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.moim.payment.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.moim.payment.config.KftcApiProperties;
+import com.moim.payment.domain.KftcUserToken;
+import com.moim.payment.dto.kftc.KftcTokenResp;
+import com.moim.payment.exception.KftcApiException;
+import com.moim.payment.repository.KftcUserTokenRepository;
+import com.moim.payment.service.kftc.KftcRequestCoalescer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 금융결제원 사용자 토큰 보관소.
+ * Usr id 기준으로 메모리(hot tier)와 암호화된 kftc_user_token 테이블에 토큰을 보관하고,
+ * 만료 전에 백그라운드에서 refresh_token으로 갱신합니다.
+ * KFTC API 호출 시 클라이언트가 토큰을 보내지 않아도 이 보관소에서 조회합니다.
+ *
+ * 사전 갱신은 모든 노드에서 실행되지만 토큰별로 DB 선점(claimRefresh)에 성공한 노드만 갱신합니다.
+ * 메모리 보관은 hot-tier-ttl 이 지나면 DB 에서 다시 읽으므로, 다른 노드가 갱신한 토큰도 그 안에 반영됩니다.
+ */
+@Slf4j
+@Service
+public class KftcTokenVaultService {
+
+    private static final String RSP_CODE_SUCCESS = "A0000";
+
+    private final KftcUserTokenRepository kftcUserTokenRepository;
+    private final KftcApiService kftcApiService;
+    private final KftcRequestCoalescer kftcRequestCoalescer;
+    private final KftcApiProperties kftcApiProperties;
+
+    private final Cache<Long, VaultToken> hotTier;
+
+    public KftcTokenVaultService(KftcUserTokenRepository kftcUserTokenRepository, KftcApiService kftcApiService,
+                                 KftcRequestCoalescer kftcRequestCoalescer, KftcApiProperties kftcApiProperties) {
+        this.kftcUserTokenRepository = kftcUserTokenRepository;
+        this.kftcApiService = kftcApiService;
+        this.kftcRequestCoalescer = kftcRequestCoalescer;
+        this.kftcApiProperties = kftcApiProperties;
+        this.hotTier = Caffeine.newBuilder()
+                .expireAfterWrite(kftcApiProperties.getTokenVault().getHotTierTtl())
+                .build();
+    }
+
+    /**
+     * 발급/갱신된 토큰을 보관소에 저장합니다.
+     */
+    public Mono<VaultToken> save(Long usrId, KftcTokenResp tokenResp) {
+        return Mono.fromCallable(() -> saveToken(usrId, tokenResp))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * 사용자의 유효한 KFTC 토큰을 조회합니다.
+     * 메모리에 있으면 바로 반환하고, 없으면 DB에서 적재합니다.
+     * 만료 직전 토큰은 백그라운드 갱신을 놓친 경우에만 동기적으로 갱신합니다.
+     */
+    public Mono<VaultToken> getToken(Long usrId) {
+        LocalDateTime validUntil = LocalDateTime.now().plus(kftcApiProperties.getTokenVault().getExpiryMargin());
+
+        VaultToken cached = hotTier.getIfPresent(usrId);
+        if (cached != null && cached.getExpiresAt().isAfter(validUntil)) {
+            return Mono.just(cached);
+        }
+
+        return Mono.fromCallable(() -> kftcUserTokenRepository.findByUsrId(usrId).map(VaultToken::from))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(optionalToken -> {
+                    if (optionalToken.isEmpty()) {
+                        return Mono.error(new KftcApiException("KFTC_TOKEN_NOT_FOUND",
+                                "금융결제원 계좌 연동(토큰 발급)이 필요합니다.", HttpStatus.UNAUTHORIZED, null));
+                    }
+
+                    VaultToken token = optionalToken.get();
+                    if (token.getExpiresAt().isAfter(validUntil)) {
+                        hotTier.put(usrId, token);
+                        return Mono.just(token);
+                    }
+                    return refresh(usrId, token);
+                });
+    }
+
+    /**
+     * 곧 만료될 토큰을 주기적으로 미리 갱신합니다. (토큰별로 선점한 노드만 갱신)
+     */
+    @Scheduled(fixedDelayString = "${kftc.token-vault.refresh-interval:10m}")
+    public void refreshExpiringTokens() {
+        KftcApiProperties.TokenVault tokenVault = kftcApiProperties.getTokenVault();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime threshold = now.plus(tokenVault.getRefreshAhead());
+        LocalDateTime leaseExpiredBefore = now.minus(tokenVault.getRefreshClaimLease());
+
+        List<KftcUserToken> targets = kftcUserTokenRepository.findByExpiresAtBeforeAndRefreshTokenIsNotNull(threshold);
+        // 다른 노드가 이미 갱신했거나(만료 시각이 바뀜) 갱신 중인 토큰은 제외
+        List<KftcUserToken> claimed = targets.stream()
+                .filter(token -> kftcUserTokenRepository.claimRefresh(token.getUsrId(), threshold, now, leaseExpiredBefore) == 1)
+                .toList();
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        log.info("KFTC 토큰 사전 갱신 시작: 대상 {}건 중 선점 {}건", targets.size(), claimed.size());
+        Long refreshed = Flux.fromIterable(claimed)
+                .flatMap(token -> refresh(token.getUsrId(), VaultToken.from(token))
+                        .onErrorResume(e -> {
+                            log.warn("KFTC 토큰 사전 갱신 실패: usrId={}, error={}", token.getUsrId(), e.getMessage());
+                            return Mono.empty();
+                        }), tokenVault.getRefreshConcurrency())
+                .count()
+                .block(tokenVault.getRefreshInterval());
+        log.info("KFTC 토큰 사전 갱신 완료: 성공 {}건", refreshed);
+    }
+
+    public void evict(Long usrId) {
+        hotTier.invalidate(usrId);
+    }
+
+    private Mono<VaultToken> refresh(Long usrId, VaultToken current) {
+        if (current.getRefreshToken() == null) {
+            return Mono.error(new KftcApiException("KFTC_TOKEN_EXPIRED",
+                    "금융결제원 토큰이 만료되었습니다. 다시 연동해주세요.", HttpStatus.UNAUTHORIZED, null));
+        }
+
+        // 같은 사용자에 대한 동시 갱신은 하나의 호출로 병합
+        return kftcRequestCoalescer.execute("token-refresh", String.valueOf(usrId),
+                () -> kftcApiService.refreshUserAccessToken(current.getRefreshToken())
+                        .flatMap(tokenResp -> save(usrId, tokenResp)));
+    }
+
+    private VaultToken saveToken(Long usrId, KftcTokenResp tokenResp) {
+        validate(tokenResp);
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(
+                tokenResp.getExpiresIn() != null ? tokenResp.getExpiresIn() : 0);
+
+        KftcUserToken entity = kftcUserTokenRepository.findByUsrId(usrId)
+                .map(token -> token.updateToken(tokenResp.getUserSeqNo(), tokenResp.getAccessToken(),
+                        tokenResp.getRefreshToken(), tokenResp.getScope(), expiresAt))
+                .orElseGet(() -> KftcUserToken.builder()
+                        .usrId(usrId)
+                        .userSeqNo(tokenResp.getUserSeqNo())
+                        .accessToken(tokenResp.getAccessToken())
+                        .refreshToken(tokenResp.getRefreshToken())
+                        .scope(tokenResp.getScope())
+                        .expiresAt(expiresAt)
+                        .build());
+
+        VaultToken token = VaultToken.from(kftcUserTokenRepository.save(entity));
+        hotTier.put(usrId, token);
+        log.info("KFTC 토큰 저장: usrId={}, expiresAt={}", usrId, expiresAt);
+        return token;
+    }
+
+    /**
+     * 오류 응답(rsp_code)이나 토큰이 없는 응답을 저장하지 않도록 확인합니다. (기존 토큰 유지)
+     */
+    private static void validate(KftcTokenResp tokenResp) {
+        if (tokenResp == null) {
+            throw new KftcApiException("KFTC_TOKEN_INVALID", "금융결제원 토큰 응답이 없습니다.", HttpStatus.BAD_GATEWAY, null);
+        }
+        if (tokenResp.getRspCode() != null && !RSP_CODE_SUCCESS.equals(tokenResp.getRspCode())) {
+            throw new KftcApiException(tokenResp.getRspCode(), "금융결제원 토큰 발급/갱신 실패: " + tokenResp.getRspMessage(),
+                    HttpStatus.BAD_GATEWAY, null);
+        }
+        if (StringUtils.isBlank(tokenResp.getAccessToken())) {
+            throw new KftcApiException("KFTC_TOKEN_INVALID", "금융결제원 토큰 응답에 access_token 이 없습니다.", HttpStatus.BAD_GATEWAY, null);
+        }
+    }
+
+    /**
+     * 메모리에 보관되는 토큰 스냅샷 (불변)
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class VaultToken {
+        private final String accessToken;
+        private final String refreshToken;
+        private final String userSeqNo;
+        private final LocalDateTime expiresAt;
+
+        public static VaultToken from(KftcUserToken token) {
+            return new VaultToken(token.getAccessToken(), token.getRefreshToken(), token.getUserSeqNo(), token.getExpiresAt());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.moim.payment.service;
+
+import com.moim.payment.domain.KftcTransaction;
+import com.moim.payment.domain.KftcTransactionSyncState;
+import com.moim.payment.dto.kftc.KftcTransactionListResp;
+import com.moim.payment.repository.KftcTransactionRepository;
+import com.moim.payment.repository.KftcTransactionSyncStateRepository;
+import com.moim.payment.util.MaskingUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 동기화된 KFTC 거래내역 로컬 저장소 (JPA, 블로킹 - boundedElastic 에서 호출)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class KftcTransactionStore {
+
+    private final KftcTransactionRepository kftcTransactionRepository;
+    private final KftcTransactionSyncStateRepository kftcTransactionSyncStateRepository;
+
+    public Optional<KftcTransactionSyncState> findState(String fintechUseNum) {
+        return kftcTransactionSyncStateRepository.findById(fintechUseNum);
+    }
+
+    public List<KftcTransaction> findTransactions(String fintechUseNum, LocalDate fromDate, LocalDate toDate) {
+        return kftcTransactionRepository.findByFintechUseNumAndTranDateBetweenOrderByTranDateDescTranTimeDesc(
+                fintechUseNum, fromDate.format(DateTimeFormatter.BASIC_ISO_DATE), toDate.format(DateTimeFormatter.BASIC_ISO_DATE));
+    }
+
+    /**
+     * KFTC 에서 받은 거래내역 한 페이지를 자연키 기준으로 중복 제거하여 저장합니다.
+     * @return 새로 저장된 거래 건수
+     */
+    @Transactional
+    public int saveRows(String fintechUseNum, List<KftcTransactionListResp.Transaction> rows) {
+        if (rows == null || rows.isEmpty()) {
+            return 0;
+        }
+
+        // 페이지에 포함된 날짜 구간에 이미 저장된 자연키만 조회
+        String minDate = rows.get(0).getTranDate();
+        String maxDate = minDate;
+        for (KftcTransactionListResp.Transaction row : rows) {
+            if (row.getTranDate().compareTo(minDate) < 0) minDate = row.getTranDate();
+            if (row.getTranDate().compareTo(maxDate) > 0) maxDate = row.getTranDate();
+        }
+        Set<String> existingKeys = new HashSet<>(kftcTransactionRepository.findTranKeys(fintechUseNum, minDate, maxDate));
+
+        List<KftcTransaction> newTransactions = new ArrayList<>();
+        for (KftcTransactionListResp.Transaction row : rows) {
+            String tranKey = KftcTransaction.naturalKey(row.getTranDate(), row.getTranTime(), row.getInoutType(),
+                    row.getTranAmt(), row.getAfterBalanceAmt());
+            if (existingKeys.add(tranKey)) {
+                newTransactions.add(KftcTransaction.builder()
+                        .fintechUseNum(fintechUseNum)
+                        .tranDate(row.getTranDate())
+                        .tranTime(row.getTranTime())
+                        .inoutType(row.getInoutType())
+                        .tranType(row.getTranType())
+                        .printContent(row.getPrintContent())
+                        .tranAmt(row.getTranAmt())
+                        .afterBalanceAmt(row.getAfterBalanceAmt())
+                        .branchName(row.getBranchName())
+                        .build());
+            }
+        }
+        kftcTransactionRepository.saveAll(newTransactions);
+        return newTransactions.size();
+    }
+
+    /**
+     * 조회 구간의 모든 페이지를 저장한 뒤 워터마크를 전진시킵니다.
+     * @param userSeqNo 조회에 사용한 보관소 토큰의 사용자일련번호 (본문 토큰이면 null)
+     */
+    @Transactional
+    public void advanceWatermark(String fintechUseNum, String userSeqNo, LocalDate fetchedFrom, LocalDate fetchedTo) {
+        LocalDateTime now = LocalDateTime.now();
+        KftcTransactionSyncState state = kftcTransactionSyncStateRepository.findById(fintechUseNum)
+                .orElseGet(() -> new KftcTransactionSyncState(fintechUseNum, fetchedFrom, fetchedTo, now));
+        state.advance(fetchedFrom, fetchedTo, now);
+        state.confirmOwner(userSeqNo);
+        kftcTransactionSyncStateRepository.save(state);
+        log.debug("거래내역 동기화 워터마크 갱신: fintechUseNum={}, {}~{}", MaskingUtil.fintechUseNum(fintechUseNum), fetchedFrom, fetchedTo);
+    }
+}
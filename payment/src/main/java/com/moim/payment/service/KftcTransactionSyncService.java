@@ -0,0 +1,127 @@
+package com.moim.payment.service;
+
+import com.moim.payment.config.KftcApiProperties;
+import com.moim.payment.domain.KftcTransaction;
+import com.moim.payment.domain.KftcTransactionSyncState;
+import com.moim.payment.dto.kftc.AccountInfoDto;
+import com.moim.payment.service.kftc.KftcInquiryCache;
+import com.moim.payment.service.kftc.KftcRequestCoalescer;
+import com.moim.payment.util.MaskingUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 워터마크 기반 거래내역 증분 동기화.
+ * 계좌별로 마지막 동기화 일자(워터마크) 이후 구간만 KFTC 에 조회하여 로컬 저장소에 쌓고,
+ * 요청한 기간의 거래내역은 로컬 저장소에서 읽어 반환합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KftcTransactionSyncService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final KftcApiService kftcApiService;
+    private final KftcTransactionStore kftcTransactionStore;
+    private final KftcRequestCoalescer kftcRequestCoalescer;
+    private final KftcApiProperties kftcApiProperties;
+
+    /**
+     * 기간 내 거래내역을 조회합니다. (필요한 구간만 KFTC 동기화 후 로컬 저장소에서 조회)
+     * 로컬 저장소만으로 응답하는 것은 동기화 상태의 소유자(userSeqNo)와 같은 사용자일 때뿐이며,
+     * 그 외 호출자는 최근에 동기화된 계좌라도 자신의 토큰으로 KFTC 조회에 성공해야 로컬 거래내역을 받습니다.
+     * @param userSeqNo 보관소 토큰의 사용자일련번호 (본문 토큰이면 null - 소유 여부를 알 수 없음)
+     * @param forceSync true이면 최소 동기화 간격과 관계없이 워터마크 이후 구간을 다시 조회
+     */
+    public Mono<List<AccountInfoDto.TransactionDTO>> getTransactions(String accessToken, String userSeqNo, String fintechUseNum,
+                                                                    LocalDate fromDate, LocalDate toDate, boolean forceSync) {
+        return sync(accessToken, userSeqNo, fintechUseNum, fromDate, forceSync)
+                .onErrorResume(DataIntegrityViolationException.class, e -> {
+                    // 다른 인스턴스가 같은 구간을 먼저 저장한 경우 - 로컬 저장소 결과로 응답
+                    log.warn("거래내역 동기화 충돌 (로컬 데이터로 응답): fintechUseNum={}", MaskingUtil.fintechUseNum(fintechUseNum));
+                    return Mono.just(0);
+                })
+                .then(Mono.fromCallable(() -> kftcTransactionStore.findTransactions(fintechUseNum, fromDate, toDate))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .map(transactions -> transactions.stream().map(this::toDto).toList());
+    }
+
+    /**
+     * 워터마크 이후 구간과(요청 시작일이 보관 구간보다 이르면) 그 이전 구간만 KFTC 에서 받아 저장합니다.
+     * @return 새로 저장된 거래 건수
+     */
+    public Mono<Integer> sync(String accessToken, String userSeqNo, String fintechUseNum, LocalDate fromDate, boolean forceSync) {
+        // 같은 토큰의 같은 계좌 동시 동기화만 하나로 병합 (다른 호출자는 자신의 토큰으로 KFTC 조회를 거쳐야 함)
+        String key = KftcInquiryCache.ownerOf(accessToken) + ":" + fintechUseNum + ":" + fromDate + ":" + forceSync;
+        return kftcRequestCoalescer.execute("transaction-sync", key,
+                () -> Mono.fromCallable(() -> kftcTransactionStore.findState(fintechUseNum))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMapMany(state -> Flux.fromIterable(rangesToFetch(state, userSeqNo, fromDate, forceSync)))
+                        .concatMap(range -> fetchAndStore(accessToken, userSeqNo, fintechUseNum, range[0], range[1]))
+                        .reduce(0, Integer::sum));
+    }
+
+    private List<LocalDate[]> rangesToFetch(Optional<KftcTransactionSyncState> optionalState, String userSeqNo,
+                                            LocalDate fromDate, boolean forceSync) {
+        LocalDate today = LocalDate.now(KST);
+        List<LocalDate[]> ranges = new ArrayList<>(2);
+
+        if (optionalState.isEmpty()) {
+            ranges.add(new LocalDate[]{fromDate, today});
+            return ranges;
+        }
+
+        KftcTransactionSyncState state = optionalState.get();
+        // 보관 구간보다 이른 기간 요청 시 앞쪽 공백 구간
+        if (fromDate.isBefore(state.getSyncedFrom())) {
+            ranges.add(new LocalDate[]{fromDate, state.getSyncedFrom().minusDays(1)});
+        }
+        // 워터마크 당일은 이후 거래가 추가되었을 수 있으므로 다시 포함
+        boolean stale = state.getLastSyncedAt().isBefore(
+                LocalDateTime.now().minus(kftcApiProperties.getTransactionSync().getMinInterval()));
+        // 소유자가 아닌 호출자는 KFTC 가 토큰의 계좌 권한을 확인하도록 간격과 관계없이 조회
+        if (forceSync || stale || !state.isOwnedBy(userSeqNo)) {
+            ranges.add(new LocalDate[]{state.getWatermarkDate(), today});
+        }
+        return ranges;
+    }
+
+    private Mono<Integer> fetchAndStore(String accessToken, String userSeqNo, String fintechUseNum, LocalDate from, LocalDate to) {
+        log.debug("거래내역 증분 동기화: fintechUseNum={}, {}~{}", MaskingUtil.fintechUseNum(fintechUseNum), from, to);
+        // 페이지 단위로 받아 바로 저장하고, 모든 페이지를 저장한 뒤에만 워터마크를 전진
+        return kftcApiService.getTransactionHistoryPages(accessToken, fintechUseNum,
+                        from.format(DateTimeFormatter.BASIC_ISO_DATE), to.format(DateTimeFormatter.BASIC_ISO_DATE))
+                .concatMap(page -> Mono.fromCallable(() -> kftcTransactionStore.saveRows(fintechUseNum, page.getResList()))
+                        .subscribeOn(Schedulers.boundedElastic()), 1)
+                .reduce(0, Integer::sum)
+                .flatMap(inserted -> Mono.fromRunnable(() -> kftcTransactionStore.advanceWatermark(fintechUseNum, userSeqNo, from, to))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .thenReturn(inserted));
+    }
+
+    private AccountInfoDto.TransactionDTO toDto(KftcTransaction transaction) {
+        return AccountInfoDto.TransactionDTO.builder()
+                .id(String.valueOf(transaction.getId()))
+                .tran_date(transaction.getTranDate())
+                .tran_time(transaction.getTranTime())
+                .tran_amt(String.valueOf(transaction.getTranAmt()))
+                .inout_type(transaction.getInoutType())
+                .print_content(transaction.getPrintContent())
+                .after_balance_amt(String.valueOf(transaction.getAfterBalanceAmt()))
+                .build();
+    }
+}
@@ -0,0 +1,237 @@
+package com.moim.payment.service;
+
+import com.moim.payment.config.KftcApiProperties;
+import com.moim.payment.domain.KftcTransfer;
+import com.moim.payment.dto.kftc.TransferReqDto;
+import com.moim.payment.dto.kftc.TransferRespDto;
+import com.moim.payment.exception.KftcApiException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이체 저널 디스패처.
+ * 전송 대기 건을 선점하여 최대 workerConcurrency 건까지 동시에 KFTC 로 전송하고 결과를 저널에 기록합니다.
+ * 이체 API 요청 경로에서는 저널 기록만 하므로 KFTC 지연이 응답 시간에 포함되지 않습니다.
+ * 다건 입금이체로 접수된 건은 같은 배치끼리 묶어 req_list 여러 건의 입금이체 요청 하나로 전송합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KftcTransferDispatcher {
+
+    private static final String RSP_CODE_SUCCESS = "A0000";
+    private static final String BANK_RSP_CODE_SUCCESS = "000";
+
+    // 로컬에서 거절되어 KFTC 로 전송되지 않은 것이 확실한 오류 (재시도)
+    private static final Set<String> NOT_SENT_ERROR_CODES = Set.of("KFTC_RATE_LIMITED", "KFTC_CIRCUIT_OPEN", "KFTC_BULKHEAD_FULL");
+    // 전송 전 단계(연동 토큰/요청 복원)에서 실패하여 전송되지 않았고, 재시도해도 같은 결과인 오류 (실패 확정)
+    private static final Set<String> NOT_SENT_FINAL_ERROR_CODES = Set.of(
+            "KFTC_TOKEN_NOT_FOUND", "KFTC_TOKEN_EXPIRED", "KFTC_TOKEN_INVALID", "TRANSFER_REQUEST_INVALID");
+
+    private final KftcTransferStore kftcTransferStore;
+    private final KftcTokenVaultService kftcTokenVaultService;
+    private final KftcApiService kftcApiService;
+    private final KftcApiProperties kftcApiProperties;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * 남은 작업 슬롯만큼 전송 대기 건을 선점하여 비동기로 전송합니다. (스케줄러 스레드는 선점만 하고 바로 반환)
+     */
+    @Scheduled(fixedDelayString = "${kftc.transfer-outbox.poll-interval:500ms}")
+    public void dispatchPending() {
+        int available = kftcApiProperties.getTransferOutbox().getWorkerConcurrency() - inFlight.get();
+        if (available <= 0) {
+            return;
+        }
+
+        List<KftcTransfer> claimed = kftcTransferStore.claimDispatchable(available);
+        for (List<KftcTransfer> group : groups(claimed)) {
+            inFlight.addAndGet(group.size());
+            dispatch(group)
+                    .doFinally(signal -> inFlight.addAndGet(-group.size()))
+                    .subscribe(null, e -> log.error("이체 결과 기록 실패: transferIds={}, error={}", ids(group), e.getMessage(), e));
+        }
+    }
+
+    /**
+     * 같은 다건 입금이체(usrId, batchId)에 속한 건은 maxItemsPerRequest 건씩 한 번의 입금이체 요청으로 묶고, 나머지는 건별로 전송합니다.
+     */
+    List<List<KftcTransfer>> groups(List<KftcTransfer> claimed) {
+        List<List<KftcTransfer>> groups = new ArrayList<>();
+        Map<String, List<KftcTransfer>> batches = new LinkedHashMap<>();
+        for (KftcTransfer transfer : claimed) {
+            if (transfer.getBatchId() != null && transfer.getTransferType() == KftcTransfer.TransferType.DEPOSIT) {
+                batches.computeIfAbsent(transfer.getUsrId() + ":" + transfer.getBatchId(), key -> new ArrayList<>()).add(transfer);
+            } else {
+                groups.add(List.of(transfer));
+            }
+        }
+
+        int maxItems = kftcApiProperties.getBatchDeposit().getMaxItemsPerRequest();
+        for (List<KftcTransfer> batch : batches.values()) {
+            for (int from = 0; from < batch.size(); from += maxItems) {
+                groups.add(batch.subList(from, Math.min(from + maxItems, batch.size())));
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * 전송 도중 인스턴스가 중단되어 PROCESSING 으로 남은 건을 UNKNOWN 으로 전환합니다. (결과 조회로 확정)
+     */
+    @Scheduled(fixedDelayString = "${kftc.transfer-outbox.stale-check-interval:1m}")
+    public void recoverStaleTransfers() {
+        LocalDateTime before = LocalDateTime.now().minus(kftcApiProperties.getTransferOutbox().getProcessingTimeout());
+        int count = kftcTransferStore.markStaleProcessingUnknown(before);
+        if (count > 0) {
+            log.warn("전송 중 중단된 이체 {}건을 결과 확인 필요(UNKNOWN)로 전환", count);
+        }
+    }
+
+    private Mono<Void> dispatch(List<KftcTransfer> group) {
+        KftcTransfer first = group.get(0);
+        for (KftcTransfer transfer : group) {
+            log.info("이체 전송 시작: transferId={}, type={}, bankTranId={}, attempt={}",
+                    transfer.getId(), transfer.getTransferType(), transfer.getBankTranId(), transfer.getAttempts());
+        }
+
+        return Mono.fromCallable(() -> group.stream().map(kftcTransferStore::readRequest).toList())
+                .onErrorMap(e -> new KftcApiException("TRANSFER_REQUEST_INVALID", e.getMessage(), HttpStatus.BAD_REQUEST, null))
+                .zipWith(kftcTokenVaultService.getToken(first.getUsrId()))
+                // 여기까지의 오류(토큰 갱신 5xx 포함)는 이체 요청을 보내기 전이므로 결과 미확정(UNKNOWN)이 될 수 없음
+                .onErrorMap(NotSentException::new)
+                .flatMap(tuple -> send(group, tuple.getT2().getAccessToken(), tuple.getT1()))
+                .flatMapMany(responses -> Flux.range(0, group.size())
+                        .concatMap(i -> recordResponse(group.get(i), responses.get(i))))
+                .onErrorResume(error -> Flux.fromIterable(group)
+                        .concatMap(transfer -> recordFailure(transfer, error)))
+                .then();
+    }
+
+    private Mono<KftcTransfer> recordResponse(KftcTransfer transfer, TransferRespDto response) {
+        KftcTransfer.Status status = classifyResponse(response);
+        log.info("이체 전송 완료: transferId={}, status={}, rspCode={}, bankRspCode={}",
+                transfer.getId(), status, response.getRspCode(), response.getBankRspCode());
+        LocalDateTime nextCheckAt = LocalDateTime.now().plus(kftcApiProperties.getTransferReconcile().getInitialDelay());
+        return Mono.fromCallable(() -> kftcTransferStore.recordResponse(transfer.getId(), status, response, nextCheckAt))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<KftcTransfer> recordFailure(KftcTransfer transfer, Throwable error) {
+        KftcTransfer.Status status = classifyFailure(error);
+        Throwable e = error instanceof NotSentException ? error.getCause() : error;
+        String errorCode = e instanceof KftcApiException kftcApiException ? kftcApiException.getErrorCode() : e.getClass().getSimpleName();
+        log.warn("이체 전송 실패: transferId={}, status={}, error={}", transfer.getId(), status, e.getMessage());
+
+        KftcApiProperties.TransferOutbox outbox = kftcApiProperties.getTransferOutbox();
+        // 결과 미확정 건은 KFTC 처리가 끝날 시간을 두고 이체결과 조회
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(status == KftcTransfer.Status.UNKNOWN
+                ? kftcApiProperties.getTransferReconcile().getInitialDelay()
+                : backoff(outbox, transfer.getAttempts()));
+        return Mono.fromCallable(() -> kftcTransferStore.recordFailure(transfer.getId(), status, errorCode, e.getMessage(),
+                        outbox.getMaxAttempts(), nextAttemptAt))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * 건별 응답을 요청 순서대로 반환합니다. (묶음 전송은 같은 다건 입금이체의 입금이체만)
+     */
+    private Mono<List<TransferRespDto>> send(List<KftcTransfer> group, String accessToken, List<TransferReqDto> requests) {
+        KftcTransfer first = group.get(0);
+        if (group.size() > 1) {
+            return kftcApiService.processDepositTransfers(accessToken, requests,
+                    group.stream().map(KftcTransfer::getBankTranId).toList());
+        }
+        return (switch (first.getTransferType()) {
+            case WITHDRAW -> kftcApiService.processWithdrawTransfer(accessToken, requests.get(0), first.getBankTranId());
+            case DEPOSIT -> kftcApiService.processDepositTransfer(accessToken, requests.get(0), first.getBankTranId());
+        }).map(List::of);
+    }
+
+    private static List<Long> ids(List<KftcTransfer> group) {
+        return group.stream().map(KftcTransfer::getId).toList();
+    }
+
+    /**
+     * KFTC 응답으로 저널 상태를 결정합니다.
+     * SUCCEEDED: A0000 + 참가기관 000, FAILED: 설정된 실패 확정 코드, UNKNOWN: 그 외 (처리중/결과 미상 - 이체결과 조회로 확정)
+     */
+    KftcTransfer.Status classifyResponse(TransferRespDto response) {
+        if (RSP_CODE_SUCCESS.equals(response.getRspCode()) && BANK_RSP_CODE_SUCCESS.equals(response.getBankRspCode())) {
+            return KftcTransfer.Status.SUCCEEDED;
+        }
+        KftcApiProperties.TransferReconcile reconcile = kftcApiProperties.getTransferReconcile();
+        if ((response.getBankRspCode() != null && reconcile.getFailedBankRspCodes().contains(response.getBankRspCode()))
+                || (response.getRspCode() != null && reconcile.getFailedRspCodes().contains(response.getRspCode()))) {
+            return KftcTransfer.Status.FAILED;
+        }
+        return KftcTransfer.Status.UNKNOWN;
+    }
+
+    /**
+     * 실패 원인에 따라 저널 상태를 결정합니다.
+     * PENDING: 전송되지 않은 것이 확실 (재시도), FAILED: KFTC 가 거절했거나 전송 전 단계의 영구 오류, UNKNOWN: 전송 후 결과를 모름
+     */
+    KftcTransfer.Status classifyFailure(Throwable error) {
+        Throwable e = Exceptions.unwrap(error);
+        if (e instanceof NotSentException) {
+            return e.getCause() instanceof KftcApiException kftcApiException
+                    && NOT_SENT_FINAL_ERROR_CODES.contains(kftcApiException.getErrorCode())
+                    ? KftcTransfer.Status.FAILED : KftcTransfer.Status.PENDING;
+        }
+        // 이체 처리 실패(RuntimeException) 로 감싼 원인 확인
+        if (!(e instanceof KftcApiException) && e.getCause() != null) {
+            e = e.getCause();
+        }
+
+        if (e instanceof KftcApiException kftcApiException) {
+            if (NOT_SENT_ERROR_CODES.contains(kftcApiException.getErrorCode())) {
+                return KftcTransfer.Status.PENDING;
+            }
+            if (NOT_SENT_FINAL_ERROR_CODES.contains(kftcApiException.getErrorCode())) {
+                return KftcTransfer.Status.FAILED;
+            }
+            if (kftcApiException.getErrorCode().startsWith("KFTC_HTTP_") && kftcApiException.getHttpStatus().is5xxServerError()) {
+                return KftcTransfer.Status.UNKNOWN;
+            }
+            return KftcTransfer.Status.FAILED;
+        }
+        if (e instanceof WebClientRequestException && e.getCause() instanceof ConnectException) {
+            return KftcTransfer.Status.PENDING;
+        }
+        return KftcTransfer.Status.UNKNOWN;
+    }
+
+    private Duration backoff(KftcApiProperties.TransferOutbox outbox, int attempts) {
+        Duration backoff = outbox.getRetryBackoff().multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 16));
+        return backoff.compareTo(outbox.getRetryMaxBackoff()) > 0 ? outbox.getRetryMaxBackoff() : backoff;
+    }
+
+    /**
+     * 이체 요청을 보내기 전 단계(요청 복원, 연동 토큰 조회/갱신)의 오류
+     */
+    static final class NotSentException extends RuntimeException {
+        NotSentException(Throwable cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.moim.payment.service;
+
+import com.moim.payment.config.KftcApiProperties;
+import com.moim.payment.domain.KftcTransfer;
+import com.moim.payment.dto.kftc.KftcTransferResultReq;
+import com.moim.payment.dto.kftc.KftcTransferResultResp;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 결과 미확정(UNKNOWN) 이체의 이체결과 조회.
+ * 타임아웃/5xx 로 끝난 이체를 bank_tran_id 기준으로 모아 KFTC 이체결과 조회 API로 확인하고 저널 상태를 확정합니다.
+ * 조회/저장은 전용 bounded 스케줄러에서만 실행하고 주기당 요청 수를 제한하여,
+ * 미확정 건이 몰려도 실시간 요청 처리 자원을 점유하지 않습니다.
+ * 대상 건은 조건부 UPDATE 로 선점하므로 여러 인스턴스가 같은 건을 동시에 조회하지 않습니다.
+ * 참가기관 응답코드가 000 이면 성공, failed-bank-rsp-codes 에 있으면 실패로 확정하고 그 외 코드는 다시 조회합니다.
+ */
+@Slf4j
+@Service
+public class KftcTransferReconciler {
+
+    private static final String CHECK_TYPE_WITHDRAW = "1";
+    private static final String CHECK_TYPE_DEPOSIT = "2";
+    private static final String BANK_RSP_CODE_SUCCESS = "000";
+
+    private final KftcTransferStore kftcTransferStore;
+    private final KftcTokenVaultService kftcTokenVaultService;
+    private final KftcApiService kftcApiService;
+    private final KftcApiProperties.TransferReconcile config;
+    private final Scheduler reconcileScheduler;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public KftcTransferReconciler(KftcTransferStore kftcTransferStore, KftcTokenVaultService kftcTokenVaultService,
+                                  KftcApiService kftcApiService, KftcApiProperties kftcApiProperties) {
+        this.kftcTransferStore = kftcTransferStore;
+        this.kftcTokenVaultService = kftcTokenVaultService;
+        this.kftcApiService = kftcApiService;
+        this.config = kftcApiProperties.getTransferReconcile();
+        this.reconcileScheduler = Schedulers.newBoundedElastic(config.getSchedulerThreads(), config.getSchedulerQueueSize(), "kftc-reconcile");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconcileScheduler.dispose();
+    }
+
+    /**
+     * 조회 시각이 된 미확정 건을 (사용자, 이체구분) 별로 batchSize 씩 묶어 조회합니다.
+     * 이전 주기의 조회가 끝나지 않았으면 건너뜁니다. (스케줄러 스레드는 바로 반환)
+     */
+    @Scheduled(fixedDelayString = "${kftc.transfer-reconcile.interval:30s}")
+    public void reconcileUnknownTransfers() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+
+        Mono.fromCallable(() -> kftcTransferStore.claimReconcilable(config.getBatchSize() * config.getMaxBatchesPerRun(), config.getClaimLease()))
+                .subscribeOn(reconcileScheduler)
+                .flatMapMany(targets -> {
+                    if (!targets.isEmpty()) {
+                        log.info("이체결과 조회 시작: 미확정 {}건", targets.size());
+                    }
+                    return Flux.fromIterable(batches(targets));
+                })
+                .flatMap(this::reconcileBatch, config.getConcurrency())
+                .doFinally(signal -> running.set(false))
+                .subscribe(null, e -> log.error("이체결과 조회 작업 실패: {}", e.getMessage(), e));
+    }
+
+    private List<List<KftcTransfer>> batches(List<KftcTransfer> targets) {
+        Map<String, List<KftcTransfer>> groups = new LinkedHashMap<>();
+        for (KftcTransfer transfer : targets) {
+            groups.computeIfAbsent(transfer.getUsrId() + ":" + transfer.getTransferType(), key -> new ArrayList<>()).add(transfer);
+        }
+
+        List<List<KftcTransfer>> batches = new ArrayList<>();
+        for (List<KftcTransfer> group : groups.values()) {
+            for (int from = 0; from < group.size(); from += config.getBatchSize()) {
+                batches.add(group.subList(from, Math.min(from + config.getBatchSize(), group.size())));
+            }
+        }
+        return batches;
+    }
+
+    private Mono<Void> reconcileBatch(List<KftcTransfer> batch) {
+        KftcTransfer first = batch.get(0);
+        String checkType = first.getTransferType() == KftcTransfer.TransferType.WITHDRAW ? CHECK_TYPE_WITHDRAW : CHECK_TYPE_DEPOSIT;
+
+        List<KftcTransferResultReq> reqList = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            KftcTransfer transfer = batch.get(i);
+            LocalDateTime sentAt = transfer.getClaimedAt() != null ? transfer.getClaimedAt() : transfer.getCreatedAt();
+            reqList.add(KftcTransferResultReq.builder()
+                    .tranNo(String.valueOf(i + 1))
+                    .orgBankTranId(transfer.getBankTranId())
+                    .orgBankTranDate(sentAt.format(DateTimeFormatter.BASIC_ISO_DATE))
+                    .orgTranAmt(transfer.getTranAmt())
+                    .build());
+        }
+
+        return kftcTokenVaultService.getToken(first.getUsrId())
+                .flatMap(token -> kftcApiService.getTransferResults(token.getAccessToken(), checkType, reqList))
+                .publishOn(reconcileScheduler)
+                .doOnNext(response -> applyResults(batch, response))
+                .onErrorResume(e -> {
+                    log.warn("이체결과 조회 실패: usrId={}, {}건, error={}", first.getUsrId(), batch.size(), e.getMessage());
+                    return Mono.fromRunnable(() -> batch.forEach(this::reschedule))
+                            .subscribeOn(reconcileScheduler)
+                            .then(Mono.empty());
+                })
+                .then();
+    }
+
+    private void applyResults(List<KftcTransfer> batch, KftcTransferResultResp response) {
+        Map<String, KftcTransferResultResp.Result> resultsByBankTranId = new HashMap<>();
+        if (response.getResList() != null) {
+            for (KftcTransferResultResp.Result result : response.getResList()) {
+                resultsByBankTranId.put(result.getBankTranId(), result);
+            }
+        }
+
+        for (KftcTransfer transfer : batch) {
+            KftcTransferResultResp.Result result = resultsByBankTranId.get(transfer.getBankTranId());
+            if (result == null || StringUtils.isBlank(result.getBankRspCode())) {
+                // 아직 참가기관 처리 결과가 없음
+                reschedule(transfer);
+                continue;
+            }
+
+            KftcTransfer.Status status;
+            if (BANK_RSP_CODE_SUCCESS.equals(result.getBankRspCode())) {
+                status = KftcTransfer.Status.SUCCEEDED;
+            } else if (config.getFailedBankRspCodes().contains(result.getBankRspCode())) {
+                status = KftcTransfer.Status.FAILED;
+            } else {
+                // 처리 중이거나 결과를 알 수 없는 응답 - 실패로 확정하면 실제 출금된 건을 실패로 안내할 수 있음
+                log.info("이체결과 미확정 응답: transferId={}, bankRspCode={}, bankRspMessage={}",
+                        transfer.getId(), result.getBankRspCode(), result.getBankRspMessage());
+                reschedule(transfer);
+                continue;
+            }
+            try {
+                kftcTransferStore.recordReconciled(transfer.getId(), status, response.getRspCode(), response.getRspMessage(),
+                        result.getBankRspCode(), result.getBankRspMessage(), result.getBankTranDate());
+                log.info("이체결과 확정: transferId={}, bankTranId={}, status={}, bankRspCode={}",
+                        transfer.getId(), transfer.getBankTranId(), status, result.getBankRspCode());
+            } catch (RuntimeException e) {
+                log.warn("이체결과 기록 실패: transferId={}, error={}", transfer.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private void reschedule(KftcTransfer transfer) {
+        Duration backoff = config.getBackoff().multipliedBy(1L << Math.min(transfer.getReconcileAttempts(), 16));
+        if (backoff.compareTo(config.getMaxBackoff()) > 0) {
+            backoff = config.getMaxBackoff();
+        }
+
+        try {
+            int attempts = kftcTransferStore.rescheduleReconcile(transfer.getId(), LocalDateTime.now().plus(backoff));
+            if (attempts >= config.getAlertAfterAttempts()) {
+                log.error("이체결과 미확정 지속 - 수동 확인 필요: transferId={}, bankTranId={}, 조회 {}회",
+                        transfer.getId(), transfer.getBankTranId(), attempts);
+            }
+        } catch (RuntimeException e) {
+            log.warn("이체결과 재조회 예약 실패: transferId={}, error={}", transfer.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.moim.payment.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moim.payment.domain.KftcTransfer;
+import com.moim.payment.dto.kftc.BatchDepositReqDto;
+import com.moim.payment.dto.kftc.TransferReqDto;
+import com.moim.payment.dto.kftc.TransferRespDto;
+import com.moim.payment.exception.KftcApiException;
+import com.moim.payment.repository.KftcAccountSnapshotRepository;
+import com.moim.payment.repository.KftcTransferRepository;
+import com.moim.payment.service.kftc.KftcBankTranIdGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * KFTC 이체 저널 저장소 (JPA, 블로킹 - boundedElastic 에서 호출)
+ * 이체 결과(응답/오류/이체결과 조회)를 기록할 때 같은 트랜잭션에서 사용자의 계좌 정보 스냅샷을 삭제해
+ * 대시보드가 이체 전 잔액을 보여주지 않도록 합니다. (다음 조회는 실시간 조회 후 사전 갱신 작업이 다시 채움)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class KftcTransferStore {
+
+    private final KftcTransferRepository kftcTransferRepository;
+    private final KftcAccountSnapshotRepository kftcAccountSnapshotRepository;
+    private final KftcBankTranIdGenerator kftcBankTranIdGenerator;
+    private final ObjectMapper objectMapper;
+
+    public record Submission(KftcTransfer transfer, boolean created) {
+    }
+
+    public record BatchSubmission(List<KftcTransfer> transfers, boolean created) {
+    }
+
+    /**
+     * 이체 요청을 저널에 기록합니다.
+     * 같은 멱등키로 이미 접수된 요청이 있으면 새로 기록하지 않고 기존 건을 반환하며,
+     * 같은 멱등키에 다른 요청 내용이면 409 로 거절합니다.
+     * (유일 제약 위반을 잡아 기존 건을 다시 조회하므로 트랜잭션 밖에서 실행)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Submission submit(Long usrId, KftcTransfer.TransferType transferType, String idempotencyKey, TransferReqDto request) {
+        String payload = toJson(request);
+        String requestHash = sha256(transferType.name() + ":" + payload);
+
+        Optional<KftcTransfer> existing = kftcTransferRepository.findByUsrIdAndIdempotencyKey(usrId, idempotencyKey);
+        if (existing.isPresent()) {
+            return new Submission(verifySameRequest(existing.get(), requestHash), false);
+        }
+
+        KftcTransfer transfer = KftcTransfer.builder()
+                .usrId(usrId)
+                .idempotencyKey(idempotencyKey)
+                .requestHash(requestHash)
+                .transferType(transferType)
+                .requestPayload(payload)
+                .bankTranId(kftcBankTranIdGenerator.next())
+                .fintechUseNum(request.getFintechUseNum())
+                .tranAmt(request.getTranAmt())
+                .build();
+        try {
+            return new Submission(kftcTransferRepository.saveAndFlush(transfer), true);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 멱등키의 동시 요청이 먼저 기록됨
+            KftcTransfer winner = kftcTransferRepository.findByUsrIdAndIdempotencyKey(usrId, idempotencyKey)
+                    .orElseThrow(() -> e);
+            return new Submission(verifySameRequest(winner, requestHash), false);
+        }
+    }
+
+    /**
+     * 다건 입금이체를 수취인별 입금이체 건으로 저널에 기록합니다. (한 트랜잭션으로 전부 기록하거나 전혀 기록하지 않음)
+     * 각 건의 멱등키는 batchId#순번 이며, 같은 batchId 로 재요청하면 기존 건들을 반환하고
+     * 수취인 수나 내용이 다르면 409 로 거절합니다. 전송과 결과 확정은 디스패처/이체결과 조회가 담당합니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchSubmission submitBatch(Long usrId, String batchId, BatchDepositReqDto request) {
+        List<BatchDepositReqDto.Recipient> recipients = request.getRecipients();
+        List<String> payloads = new ArrayList<>(recipients.size());
+        List<String> requestHashes = new ArrayList<>(recipients.size());
+        for (BatchDepositReqDto.Recipient recipient : recipients) {
+            String payload = toJson(toTransferRequest(request, recipient));
+            payloads.add(payload);
+            requestHashes.add(sha256(KftcTransfer.TransferType.DEPOSIT.name() + ":" + payload));
+        }
+
+        List<KftcTransfer> existing = kftcTransferRepository.findByUsrIdAndBatchIdOrderByBatchSeq(usrId, batchId);
+        if (!existing.isEmpty()) {
+            return new BatchSubmission(verifySameBatch(existing, requestHashes), false);
+        }
+
+        List<KftcTransfer> transfers = new ArrayList<>(recipients.size());
+        for (int i = 0; i < recipients.size(); i++) {
+            BatchDepositReqDto.Recipient recipient = recipients.get(i);
+            transfers.add(KftcTransfer.builder()
+                    .usrId(usrId)
+                    .idempotencyKey(batchId + "#" + (i + 1))
+                    .requestHash(requestHashes.get(i))
+                    .transferType(KftcTransfer.TransferType.DEPOSIT)
+                    .requestPayload(payloads.get(i))
+                    .bankTranId(kftcBankTranIdGenerator.next())
+                    .batchId(batchId)
+                    .batchSeq(i + 1)
+                    .fintechUseNum(recipient.getFintechUseNum())
+                    .tranAmt(recipient.getTranAmt())
+                    .build());
+        }
+        try {
+            return new BatchSubmission(kftcTransferRepository.saveAllAndFlush(transfers), true);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 batchId 의 동시 요청이 먼저 기록됨
+            List<KftcTransfer> winner = kftcTransferRepository.findByUsrIdAndBatchIdOrderByBatchSeq(usrId, batchId);
+            if (winner.isEmpty()) {
+                throw e;
+            }
+            return new BatchSubmission(verifySameBatch(winner, requestHashes), false);
+        }
+    }
+
+    public Optional<KftcTransfer> findTransfer(Long usrId, Long transferId) {
+        return kftcTransferRepository.findByIdAndUsrId(transferId, usrId);
+    }
+
+    public TransferReqDto readRequest(KftcTransfer transfer) {
+        try {
+            return objectMapper.readValue(transfer.getRequestPayload(), TransferReqDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("이체 요청 복원 실패: transferId=" + transfer.getId(), e);
+        }
+    }
+
+    /**
+     * 전송 대기 건을 최대 limit 건까지 선점합니다. (PENDING -> PROCESSING)
+     */
+    @Transactional
+    public List<KftcTransfer> claimDispatchable(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> candidateIds = kftcTransferRepository.findIdsByStatusAndNextAttemptAtBefore(
+                KftcTransfer.Status.PENDING, now, PageRequest.of(0, limit));
+
+        List<Long> claimedIds = new ArrayList<>(candidateIds.size());
+        for (Long id : candidateIds) {
+            if (kftcTransferRepository.claim(id, KftcTransfer.Status.PENDING, KftcTransfer.Status.PROCESSING, now) == 1) {
+                claimedIds.add(id);
+            }
+        }
+        return claimedIds.isEmpty() ? List.of() : kftcTransferRepository.findAllById(claimedIds);
+    }
+
+    /**
+     * KFTC 응답을 기록합니다. 결과 미확정(UNKNOWN) 응답은 nextCheckAt 이후 이체결과 조회 대상이 됩니다.
+     */
+    @Transactional
+    public KftcTransfer recordResponse(Long transferId, KftcTransfer.Status status, TransferRespDto response, LocalDateTime nextCheckAt) {
+        KftcTransfer transfer = kftcTransferRepository.findById(transferId).orElseThrow();
+        kftcAccountSnapshotRepository.deleteByUsrId(transfer.getUsrId());
+        transfer.complete(status, response.getRspCode(), response.getRspMessage(),
+                response.getBankRspCode(), response.getBankRspMessage(), response.getBankTranDate());
+        if (status == KftcTransfer.Status.UNKNOWN) {
+            transfer.awaitReconcile(nextCheckAt, response.getRspCode(), response.getRspMessage());
+        }
+        return transfer;
+    }
+
+    /**
+     * 전송하지 못했거나 결과를 알 수 없는 오류를 기록합니다.
+     * 미전송(PENDING) 건은 재시도 한도 안에서 지수 백오프로 다시 대기열에 넣고,
+     * 결과 미확정(UNKNOWN) 건은 nextAttemptAt 이후 이체결과 조회 대상이 됩니다.
+     */
+    @Transactional
+    public KftcTransfer recordFailure(Long transferId, KftcTransfer.Status status, String errorCode, String message,
+                                      int maxAttempts, LocalDateTime nextAttemptAt) {
+        KftcTransfer transfer = kftcTransferRepository.findById(transferId).orElseThrow();
+        // 미전송 재시도 건은 잔액이 바뀌지 않았으므로 스냅샷 유지
+        if (status != KftcTransfer.Status.PENDING) {
+            kftcAccountSnapshotRepository.deleteByUsrId(transfer.getUsrId());
+        }
+        if (status == KftcTransfer.Status.PENDING && transfer.getAttempts() < maxAttempts) {
+            transfer.retryAt(nextAttemptAt, errorCode, message);
+        } else if (status == KftcTransfer.Status.UNKNOWN) {
+            transfer.awaitReconcile(nextAttemptAt, errorCode, message);
+        } else {
+            transfer.complete(status == KftcTransfer.Status.PENDING ? KftcTransfer.Status.FAILED : status,
+                    errorCode, message, null, null, null);
+        }
+        return transfer;
+    }
+
+    /**
+     * 이체결과 조회 시각이 된 UNKNOWN 건을 최대 limit 건까지 선점합니다. (다음 조회 시각을 lease 만큼 미룸)
+     * 선점한 인스턴스가 결과를 기록하거나 재조회를 예약하지 못하고 중단되면 lease 가 지난 뒤 다시 대상이 됩니다.
+     */
+    @Transactional
+    public List<KftcTransfer> claimReconcilable(int limit, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> candidateIds = kftcTransferRepository.findIdsByStatusAndNextAttemptAtBefore(
+                KftcTransfer.Status.UNKNOWN, now, PageRequest.of(0, limit));
+
+        List<Long> claimedIds = new ArrayList<>(candidateIds.size());
+        for (Long id : candidateIds) {
+            if (kftcTransferRepository.claimReconcile(id, KftcTransfer.Status.UNKNOWN, now, now.plus(lease)) == 1) {
+                claimedIds.add(id);
+            }
+        }
+        return claimedIds.isEmpty() ? List.of() : kftcTransferRepository.findAllById(claimedIds);
+    }
+
+    /**
+     * 이체결과 조회로 확정된 결과를 기록합니다. (그 사이 다른 인스턴스가 확정했으면 무시)
+     */
+    @Transactional
+    public void recordReconciled(Long transferId, KftcTransfer.Status status, String rspCode, String rspMessage,
+                                 String bankRspCode, String bankRspMessage, String bankTranDate) {
+        kftcTransferRepository.findById(transferId)
+                .filter(transfer -> transfer.getStatus() == KftcTransfer.Status.UNKNOWN)
+                .ifPresent(transfer -> {
+                    kftcAccountSnapshotRepository.deleteByUsrId(transfer.getUsrId());
+                    transfer.complete(status, rspCode, rspMessage, bankRspCode, bankRspMessage, bankTranDate);
+                });
+    }
+
+    /**
+     * 아직 결과를 확인하지 못한 건의 다음 조회 시각을 기록합니다.
+     * @return 누적 조회 횟수 (이미 확정된 건이면 0)
+     */
+    @Transactional
+    public int rescheduleReconcile(Long transferId, LocalDateTime nextCheckAt) {
+        return kftcTransferRepository.findById(transferId)
+                .filter(transfer -> transfer.getStatus() == KftcTransfer.Status.UNKNOWN)
+                .map(transfer -> {
+                    transfer.scheduleReconcile(nextCheckAt);
+                    return transfer.getReconcileAttempts();
+                })
+                .orElse(0);
+    }
+
+    @Transactional
+    public int markStaleProcessingUnknown(LocalDateTime before) {
+        return kftcTransferRepository.updateStatusClaimedBefore(KftcTransfer.Status.PROCESSING, KftcTransfer.Status.UNKNOWN,
+                before, LocalDateTime.now());
+    }
+
+    private KftcTransfer verifySameRequest(KftcTransfer transfer, String requestHash) {
+        if (!transfer.getRequestHash().equals(requestHash)) {
+            throw new KftcApiException("IDEMPOTENCY_KEY_REUSED",
+                    "같은 멱등키로 다른 이체 요청이 접수되었습니다.", HttpStatus.CONFLICT, null);
+        }
+        return transfer;
+    }
+
+    private List<KftcTransfer> verifySameBatch(List<KftcTransfer> transfers, List<String> requestHashes) {
+        if (transfers.size() != requestHashes.size()) {
+            throw new KftcApiException("IDEMPOTENCY_KEY_REUSED",
+                    "같은 멱등키로 다른 다건 입금이체 요청이 접수되었습니다.", HttpStatus.CONFLICT, null);
+        }
+        for (int i = 0; i < transfers.size(); i++) {
+            verifySameRequest(transfers.get(i), requestHashes.get(i));
+        }
+        return transfers;
+    }
+
+    /**
+     * 다건 입금이체의 공통부와 수취인 정보를 단건 입금이체 요청으로 합칩니다.
+     */
+    private static TransferReqDto toTransferRequest(BatchDepositReqDto request, BatchDepositReqDto.Recipient recipient) {
+        return TransferReqDto.builder()
+                .cntrAccountType(request.getCntrAccountType())
+                .cntrAccountNum(request.getCntrAccountNum())
+                .dpsWdPassPhrase(request.getDpsWdPassPhrase())
+                .wdPrintContent(request.getWdPrintContent())
+                .nameCheckOption(request.getNameCheckOption())
+                .subFmcName(request.getSubFmcName())
+                .subFmcNum(request.getSubFmcNum())
+                .subFmcBusinessNum(request.getSubFmcBusinessNum())
+                .fintechUseNum(recipient.getFintechUseNum())
+                .dpsPrintContent(recipient.getPrintContent())
+                .tranAmt(recipient.getTranAmt())
+                .reqClientName(recipient.getReqClientName())
+                .reqClientBankCode(recipient.getReqClientBankCode())
+                .reqClientAccountNum(recipient.getReqClientAccountNum())
+                .reqClientFintechUseNum(recipient.getReqClientFintechUseNum())
+                .build();
+    }
+
+    private String toJson(TransferReqDto request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("이체 요청 직렬화 실패", e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
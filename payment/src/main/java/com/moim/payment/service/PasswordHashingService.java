@@ -0,0 +1,199 @@
+package com.moim.payment.service;
+
+import com.moim.payment.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 비밀번호 해시 (BCrypt) 전용 실행기.
+ * 해시 계산은 요청 스레드가 아닌 고정 크기 스레드 풀(기본 CPU 코어 수)에서 수행하고, 대기열이 가득 찼거나
+ * maxWait 안에 끝나지 않으면 PasswordHashingUnavailableException(503)으로 바로 실패시켜 로그인 폭주 시 요청 스레드가 모두 해시 계산에 묶이지 않게 합니다.
+ *
+ * BCrypt cost 는 기동 시 이 서버에서 해시 1회가 targetLatency 에 가깝도록 측정해 정합니다. (password-hashing.cost 로 고정 가능)
+ * 저장된 해시의 cost 가 다르면 로그인 성공 시 새 cost 로 다시 해시합니다. (upgradeEncoding)
+ * PasswordEncoder 빈으로 등록되어 AuthenticationManager(DaoAuthenticationProvider) 경로에도 그대로 적용됩니다.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final int rehashQueueLimit;
+    private final int cost;
+    private final BCryptPasswordEncoder delegate;
+    private final Timer matchesTimer;
+    private final Timer encodeTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejected;
+
+    public PasswordHashingService(MeterRegistry meterRegistry,
+                                  @Value("${password-hashing.threads:0}") int threads,
+                                  @Value("${password-hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${password-hashing.max-wait:2s}") Duration maxWait,
+                                  @Value("${password-hashing.cost:0}") int fixedCost,
+                                  @Value("${password-hashing.target-latency:250ms}") Duration targetLatency,
+                                  @Value("${password-hashing.min-cost:10}") int minCost,
+                                  @Value("${password-hashing.max-cost:14}") int maxCost) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        // 해시 계산은 CPU 작업이므로 가상 스레드 모드에서도 플랫폼 스레드 사용
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.maxWait = maxWait;
+        this.rehashQueueLimit = queueCapacity / 2;
+        this.cost = fixedCost > 0 ? fixedCost : calibrate(targetLatency, minCost, maxCost);
+        this.delegate = new BCryptPasswordEncoder(cost);
+
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.queueWaitTimer = Timer.builder("password.hash.queue.wait")
+                .description("비밀번호 해시 작업이 대기열에서 기다린 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("password.hash.rejected")
+                .description("대기열 초과/대기 시간 초과로 거절된 비밀번호 해시 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.queue.size", executor, e -> e.getQueue().size())
+                .description("대기 중인 비밀번호 해시 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("실행 중인 비밀번호 해시 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.cost", () -> cost)
+                .description("새 해시에 사용하는 BCrypt cost")
+                .register(meterRegistry);
+
+        log.info("비밀번호 해시 실행기: threads={}, queueCapacity={}, maxWait={}, BCrypt cost={}{}",
+                poolSize, queueCapacity, maxWait, cost, fixedCost > 0 ? " (고정)" : " (측정)");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null || encodedPassword.isEmpty()) {
+            // 소셜 로그인 계정 등 비밀번호가 없는 경우 해시 계산 없이 실패
+            return false;
+        }
+        return submit(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 저장된 해시의 cost 가 현재 cost 와 다르면 다시 해시합니다.
+     * 노드마다 측정한 cost 가 한 단계 차이 날 수 있으므로, 더 높은 cost 는 한 단계까지 그대로 둡니다. (노드 간 반복 재해시 방지)
+     * 대기열이 절반 이상 차 있으면 재해시를 다음 로그인으로 미룹니다. (로그인 폭주 중 해시 작업을 두 배로 늘리지 않음)
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int stored = costOf(encodedPassword);
+        return stored > 0 && (stored < cost || stored > cost + 1) && executor.getQueue().size() < rehashQueueLimit;
+    }
+
+    private <T> T submit(Timer timer, Callable<T> task) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingUnavailableException("로그인 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 아직 대기열에 있으면 실행되지 않도록 취소하고 자리를 비움 (실행 중인 해시는 끝까지 수행됨)
+            future.cancel(false);
+            executor.remove((Runnable) future);
+            rejected.increment();
+            throw new PasswordHashingUnavailableException("로그인 처리 시간이 초과되었습니다. 잠시 후 다시 시도해 주세요.");
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("비밀번호 확인이 중단되었습니다.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("비밀번호 해시 실패", e.getCause());
+        }
+    }
+
+    /**
+     * minCost 로 몇 번 해시해 가장 빠른 시간을 재고, cost 가 1 오를 때마다 2배가 되는 것을 이용해
+     * targetLatency 를 넘지 않는 가장 높은 cost 를 고릅니다. (높은 cost 를 직접 재면 기동이 길어짐)
+     */
+    private static int calibrate(Duration targetLatency, int minCost, int maxCost) {
+        String salt = BCrypt.gensalt(minCost);
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("password-hashing-calibration", salt);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        int steps = (int) Math.floor(Math.log((double) targetLatency.toNanos() / fastest) / Math.log(2));
+        int calibrated = Math.max(minCost, Math.min(maxCost, minCost + steps));
+        log.info("BCrypt cost 측정: cost {} = {}ms, 목표 {}ms -> cost {}",
+                minCost, TimeUnit.NANOSECONDS.toMillis(fastest), targetLatency.toMillis(), calibrated);
+        return calibrated;
+    }
+
+    private static int costOf(String encodedPassword) {
+        if (encodedPassword == null) {
+            return 0;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password.hash.duration")
+                .tag("operation", operation)
+                .description("BCrypt 해시 계산 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+}
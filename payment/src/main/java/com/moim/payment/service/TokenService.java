@@ -1,27 +1,35 @@
 package com.moim.payment.service;
 
 import com.moim.payment.config.auth.JwtTokenProvider;
-import com.moim.payment.domain.RefreshToken;
 import com.moim.payment.domain.Usr.Usr;
 import com.moim.payment.dto.usr.LoginRespDto;
 import com.moim.payment.dto.usr.TokenDTO;
 import com.moim.payment.handler.exception.CustomApiException;
-import com.moim.payment.repository.RefreshTokenRepository;
+import com.moim.payment.repository.RefreshTokenStore;
 import com.moim.payment.repository.UsrRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TokenService {
 
     private final JwtTokenProvider tokenProvider;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
     private final UsrRepository usrRepository;
 
+    @Value("${jwt.refresh-token.sweep-batch-size:1000}")
+    private int sweepBatchSize;
+
+    @Value("${jwt.refresh-token.sweep-max-batches:100}")
+    private int sweepMaxBatches;
+
     public TokenDTO createToken(LoginRespDto loginRespDto) {
         Usr usr = usrRepository.findByUsrname(loginRespDto.getUsrname())
                 .orElseThrow(() -> new RuntimeException("Wrong Access (user does not exist)"));
@@ -36,19 +44,9 @@ public class TokenService {
         LoginRespDto loginRespDto = new LoginRespDto(usr);
         TokenDTO tokenDTO = tokenProvider.createTokenReqDto(loginRespDto);
 
-        Optional<RefreshToken> existingRefreshToken = refreshTokenRepository.findByUsr(usr);
-
-        if (existingRefreshToken.isPresent()) {
-            RefreshToken refreshToken = existingRefreshToken.get();
-            refreshToken.updateValue(tokenDTO.getRefreshToken());
-            refreshTokenRepository.save(refreshToken);
-        } else {
-            RefreshToken refreshToken = RefreshToken.builder()
-                    .usr(usr)
-                    .token(tokenDTO.getRefreshToken())
-                    .build();
-            refreshTokenRepository.save(refreshToken);
-        }
+        // 기존 토큰 조회 없이 한 번의 upsert 로 저장 (원문 대신 다이제스트만 저장)
+        refreshTokenStore.save(usr.getId(), JwtTokenProvider.digest(tokenDTO.getRefreshToken()),
+                LocalDateTime.now().plus(tokenProvider.getRefreshTokenValidity()));
 
         return tokenDTO;
     }
@@ -59,33 +57,71 @@ public class TokenService {
             throw new CustomApiException("Refresh Token이 유효하지 않습니다.");
         }
 
-        // 2. Access Token에서 사용자명(principal) 추출
-        Authentication authentication = tokenProvider.getAuthentication(tokenDTO.getAccessToken());
-        String username = authentication.getName();
+        // 2. Access Token에서 사용자 ID 추출
+        // (재발급은 보통 Access Token 만료 후 요청되므로 서명만 맞으면 만료된 토큰도 허용, 인증 객체는 만들지 않음)
+        Long usrId = tokenProvider.getUsrIdAllowExpired(tokenDTO.getAccessToken());
+        if (usrId == null) {
+            throw new CustomApiException("사용자 정보가 존재하지 않습니다.");
+        }
 
-        // 3. DB에서 사용자 정보와 리프레시 토큰 조회
-        Usr usr = usrRepository.findByUsrname(username)
+        // 3. 새 토큰에 담을 사용자 정보 조회 (기본키 조회)
+        Usr usr = usrRepository.findById(usrId)
                 .orElseThrow(() -> new CustomApiException("사용자 정보가 존재하지 않습니다."));
 
-        RefreshToken refreshToken = refreshTokenRepository.findByUsr(usr)
-                .orElseThrow(() -> new CustomApiException("로그아웃 된 사용자입니다."));
+        // 4. 새로운 Access Token과 Refresh Token 발급
+        TokenDTO newTokenDto = tokenProvider.createTokenReqDto(new LoginRespDto(usr));
 
-        // 4. 요청의 Refresh Token과 DB에 저장된 토큰이 일치하는지 확인
-        if (!refreshToken.getToken().equals(tokenDTO.getRefreshToken())) {
-            // 토큰이 일치하지 않는 경우, 탈취로 간주하고 DB의 리프레시 토큰을 삭제
-            refreshTokenRepository.delete(refreshToken);
+        // 5. 저장된 Refresh Token 이 요청의 토큰과 같을 때만 새 토큰으로 교체 (한 번의 조건부 UPDATE)
+        LocalDateTime now = LocalDateTime.now();
+        boolean rotated = refreshTokenStore.rotate(usrId,
+                JwtTokenProvider.digest(tokenDTO.getRefreshToken()),
+                JwtTokenProvider.digest(newTokenDto.getRefreshToken()),
+                now.plus(tokenProvider.getRefreshTokenValidity()), now);
+
+        if (!rotated) {
+            // 토큰이 일치하지 않거나(이미 사용된 토큰 재사용) 로그아웃된 경우, 탈취로 간주하고 저장된 토큰을 삭제하고 Access Token 도 폐기
+            refreshTokenStore.delete(usrId);
+            tokenProvider.revokeAccessToken(tokenDTO.getAccessToken());
             throw new CustomApiException("Refresh Token이 일치하지 않습니다. (재로그인 필요)");
         }
 
-        LoginRespDto loginRespDto = new LoginRespDto(usr);
+        // 6. 기존 Access Token 은 만료 전이라도 더 이상 사용할 수 없도록 폐기
+        tokenProvider.revokeAccessToken(tokenDTO.getAccessToken());
 
-        // 5. 새로운 Access Token과 Refresh Token 발급
-        TokenDTO newTokenDto = tokenProvider.createTokenReqDto(loginRespDto);
+        return newTokenDto;
+    }
 
-        // 6. DB에 저장된 기존 Refresh Token을 새로운 토큰으로 업데이트하고 저장
-        refreshToken.updateValue(newTokenDto.getRefreshToken());
-        refreshTokenRepository.save(refreshToken);
+    /**
+     * 로그아웃: Refresh Token 을 삭제하고 현재 Access Token 을 만료 시각까지 폐기
+     */
+    public void logout(String accessToken) {
+        Long usrId = tokenProvider.getUsrIdAllowExpired(accessToken);
+        tokenProvider.revokeAccessToken(accessToken);
+        if (usrId != null) {
+            refreshTokenStore.delete(usrId);
+        }
+    }
 
-        return newTokenDto;
+    /**
+     * 만료된 Refresh Token 을 sweepBatchSize 건씩 삭제 (한 주기 최대 sweepMaxBatches 회, 남은 건은 다음 주기에)
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh-token.sweep-interval:10m}")
+    public void sweepExpiredRefreshTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        try {
+            for (int batch = 0; batch < sweepMaxBatches; batch++) {
+                int deleted = refreshTokenStore.deleteExpired(now, sweepBatchSize);
+                total += deleted;
+                if (deleted < sweepBatchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("만료된 Refresh Token 삭제 실패: {}", e.getMessage());
+        }
+        if (total > 0) {
+            log.debug("만료된 Refresh Token 삭제: {}건", total);
+        }
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,7 @@ import com.moim.payment.domain.Usr.UserRole;
 import com.moim.payment.domain.Usr.Usr;
 import com.moim.payment.dto.usr.*;
 import com.moim.payment.exception.CustomApiException;
+import com.moim.payment.exception.PasswordHashingUnavailableException;
 import com.moim.payment.exception.ResourceNotFoundException;
 import com.moim.payment.repository.UsrRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -17,7 +18,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,10 +27,10 @@ import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
-public class UsrService implements UserDetailsService {
+public class UsrService implements UserDetailsService, UserDetailsPasswordService {
     private final Logger log = LoggerFactory.getLogger(getClass());
     private final UsrRepository usrRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;   // PasswordHashingService (전용 실행기, 포화 시 503)
     private final TokenService tokenService;
 
     //서비스는 DTO로 요청받고 DTO로 응답한다.
@@ -60,6 +62,7 @@ public class UsrService implements UserDetailsService {
         if(!passwordEncoder.matches(loginReqDto.getPassword(), usr.getPassword())) {
             throw new CustomApiException("비밀번호가 일치하지 않습니다");
         }
+        rehashIfNeeded(usr, loginReqDto.getPassword());
 
         //JWT 생성
         LoginUsr loginUsr = new LoginUsr(usr);
@@ -107,6 +110,32 @@ public class UsrService implements UserDetailsService {
         return null;
     }
 
+    /**
+     * 저장된 해시의 cost 가 현재 cost 와 다르면 로그인 비밀번호로 다시 해시해 저장 (실패해도 로그인은 진행)
+     */
+    private void rehashIfNeeded(Usr usr, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(usr.getPassword())) {
+            return;
+        }
+        try {
+            usr.updatePassword(passwordEncoder.encode(rawPassword));
+            usrRepository.save(usr);
+        } catch (PasswordHashingUnavailableException e) {
+            log.debug("비밀번호 재해시 보류 (해시 실행기 포화): usrname={}", usr.getUsrname());
+        }
+    }
+
+    /**
+     * AuthenticationManager(DaoAuthenticationProvider) 경로의 로그인 성공 시 재해시된 비밀번호 저장
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Usr usr = usrRepository.findByUsrname(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("userName: " + user.getUsername() + "를 찾을 수 없습니다."));
+        usr.updatePassword(newPassword);
+        return new LoginUsr(usrRepository.save(usr));
+    }
+
     @Override
     public UserDetails loadUserByUsername(String usrName) throws UsernameNotFoundException {
         log.debug("사용자 로드 시도 : "+usrName);
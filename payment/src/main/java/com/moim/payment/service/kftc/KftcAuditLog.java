@@ -0,0 +1,254 @@
+package com.moim.payment.service.kftc;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moim.payment.config.KftcApiProperties;
+import com.moim.payment.util.MaskingUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * KFTC 요청/응답 감사 로그.
+ * WebClient 필터가 요청/응답 본문(최대 maxBodyLength)을 모아 링 버퍼에 넣기만 하고,
+ * 마스킹(계좌번호/핀테크이용번호/CI/토큰)과 JSON 직렬화, 파일 기록은 전용 기록 스레드에서 수행합니다.
+ * 기록은 KFTC_AUDIT 로거로 남기며, 파일 롤링/압축은 logback-spring.xml 에서 설정합니다.
+ *
+ * 버퍼 사용률이 degradeRatio 이상이면 본문 없이 요약만 기록하고, 가득 차면 기록을 버립니다.
+ * (요청 스레드는 감사 로그 때문에 대기하지 않음 - kftc.audit.records{result=dropped} 로 확인)
+ */
+@Slf4j
+@Component
+public class KftcAuditLog {
+
+    private static final Logger AUDIT = LoggerFactory.getLogger("KFTC_AUDIT");
+    private static final int DRAIN_BATCH = 256;
+
+    private record Entry(Instant timestamp, String endpoint, String method, String path, String query,
+                         String status, long durationMs, boolean formBody, BodyCapture requestBody, BodyCapture responseBody,
+                         boolean degraded, String error) {
+    }
+
+    private final KftcApiProperties.Audit config;
+    private final KftcClientMetrics kftcClientMetrics;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<Entry> buffer;
+    private final int degradeThreshold;
+    private final Counter written;
+    private final Counter degraded;
+    private final Counter dropped;
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public KftcAuditLog(KftcApiProperties kftcApiProperties, KftcClientMetrics kftcClientMetrics,
+                        ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.config = kftcApiProperties.getAudit();
+        this.kftcClientMetrics = kftcClientMetrics;
+        this.objectMapper = objectMapper;
+        this.buffer = new ArrayBlockingQueue<>(config.getBufferSize());
+        this.degradeThreshold = (int) (config.getBufferSize() * config.getDegradeRatio());
+        this.written = auditCounter(meterRegistry, "written");
+        this.degraded = auditCounter(meterRegistry, "degraded");
+        this.dropped = auditCounter(meterRegistry, "dropped");
+        Gauge.builder("kftc.audit.buffer.size", buffer, BlockingQueue::size)
+                .description("기록 대기 중인 KFTC 감사 로그 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        writer = new Thread(this::drainLoop, "kftc-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> {
+            if (!config.isEnabled()) {
+                return next.exchange(request);
+            }
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                // 버퍼가 밀려 있으면 본문을 모으지 않음 (요약만 기록)
+                boolean capture = buffer.size() < degradeThreshold;
+                BodyCapture requestBody = new BodyCapture(capture ? config.getMaxBodyLength() : 0);
+                AtomicBoolean recorded = new AtomicBoolean();
+
+                return next.exchange(capture ? captureRequestBody(request, requestBody) : request)
+                        .doOnError(e -> {
+                            if (recorded.compareAndSet(false, true)) {
+                                offer(request, "IO_ERROR", start, requestBody, null, !capture, e.toString());
+                            }
+                        })
+                        .doOnCancel(() -> {
+                            if (recorded.compareAndSet(false, true)) {
+                                offer(request, "CANCELLED", start, requestBody, null, !capture, null);
+                            }
+                        })
+                        .map(response -> {
+                            BodyCapture responseBody = new BodyCapture(capture ? config.getMaxBodyLength() : 0);
+                            String status = String.valueOf(response.statusCode().value());
+                            return response.mutate()
+                                    .body(body -> body
+                                            .doOnNext(responseBody::append)
+                                            .doFinally(signal -> {
+                                                if (recorded.compareAndSet(false, true)) {
+                                                    offer(request, status, start, requestBody, responseBody, !capture, null);
+                                                }
+                                            }))
+                                    .build();
+                        });
+            });
+        };
+    }
+
+    private ClientRequest captureRequestBody(ClientRequest request, BodyCapture capture) {
+        return ClientRequest.from(request)
+                .body((outputMessage, context) -> request.body().insert(new ClientHttpRequestDecorator(outputMessage) {
+                    @Override
+                    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                        return super.writeWith(Flux.from(body).doOnNext(capture::append));
+                    }
+                }, context))
+                .build();
+    }
+
+    private void offer(ClientRequest request, String status, long start, BodyCapture requestBody,
+                       BodyCapture responseBody, boolean degradedEntry, String error) {
+        MediaType contentType = request.headers().getContentType();
+        Entry entry = new Entry(Instant.now(), kftcClientMetrics.endpointOf(request), request.method().name(),
+                request.url().getPath(), request.url().getRawQuery(), status,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                MediaType.APPLICATION_FORM_URLENCODED.isCompatibleWith(contentType),
+                requestBody, responseBody, degradedEntry, error);
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+        } else if (degradedEntry) {
+            degraded.increment();
+        }
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(DRAIN_BATCH);
+        while (running || !buffer.isEmpty()) {
+            try {
+                Entry first = buffer.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, DRAIN_BATCH - 1);
+            } catch (InterruptedException e) {
+                // 종료 시에는 남은 기록을 모두 쓰고 끝냄
+                buffer.drainTo(batch);
+            }
+            for (Entry entry : batch) {
+                write(entry);
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(Entry entry) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("ts", entry.timestamp().toString());
+        record.put("endpoint", entry.endpoint());
+        record.put("method", entry.method());
+        record.put("path", entry.path());
+        record.put("query", MaskingUtil.form(entry.query()));
+        record.put("status", entry.status());
+        record.put("duration_ms", entry.durationMs());
+        String requestBody = entry.requestBody().text();
+        record.put("request", entry.formBody() ? MaskingUtil.form(requestBody) : MaskingUtil.json(requestBody));
+        record.put("response", entry.responseBody() != null ? MaskingUtil.json(entry.responseBody().text()) : null);
+        record.put("degraded", entry.degraded());
+        record.put("error", MaskingUtil.form(entry.error()));
+        try {
+            AUDIT.info(objectMapper.writeValueAsString(record));
+            written.increment();
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("KFTC 감사 로그 기록 실패: endpoint={}, error={}", entry.endpoint(), e.getMessage());
+        }
+    }
+
+    private static Counter auditCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("kftc.audit.records")
+                .tag("result", result)
+                .description("KFTC 감사 로그 기록 결과별 건수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 본문을 최대 limit 자까지만 모읍니다. (버퍼 내용을 소비하지 않고 복사, 한 요청/응답의 신호는 순차적으로 전달됨)
+     */
+    static final class BodyCapture {
+
+        private final int limit;
+        private final StringBuilder text = new StringBuilder();
+        private boolean truncated;
+
+        BodyCapture(int limit) {
+            this.limit = limit;
+        }
+
+        void append(DataBuffer dataBuffer) {
+            int remaining = limit - text.length();
+            if (remaining <= 0) {
+                truncated |= limit > 0 && dataBuffer.readableByteCount() > 0;
+                return;
+            }
+            int length = Math.min(remaining, dataBuffer.readableByteCount());
+            text.append(dataBuffer.toString(dataBuffer.readPosition(), length, StandardCharsets.UTF_8));
+            truncated |= length < dataBuffer.readableByteCount();
+        }
+
+        String text() {
+            if (limit == 0) {
+                return null;
+            }
+            if (!truncated) {
+                return text.toString();
+            }
+            // 잘린 마지막 필드는 값이 온전하지 않아 마스킹 패턴에 걸리지 않으므로 직전 필드까지만 남김
+            int lastField = Math.max(text.lastIndexOf(",\""), text.lastIndexOf("&"));
+            return (lastField > 0 ? text.substring(0, lastField) : "") + "...(truncated)";
+        }
+    }
+}
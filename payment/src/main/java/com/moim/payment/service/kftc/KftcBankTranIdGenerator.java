@@ -0,0 +1,134 @@
+package com.moim.payment.service.kftc;
+
+import com.moim.payment.config.KftcApiProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 금융결제원 거래고유번호(bank_tran_id / tran_id) 생성기.
+ * 형식: 이용기관코드(10자리) + "U" + 이용기관 부여번호(9자리, 0-9A-Z)
+ *
+ * 부여번호 9자리는 46비트 값을 36진수로 표기한 것입니다.
+ * [노드 ID 10비트][당일 경과 밀리초 27비트][밀리초 내 순번 9비트]
+ * - 노드 ID 가 인스턴스마다 다르면 하루 동안 전 인스턴스에서 중복되지 않습니다.
+ * - 순번은 시계보다 1ms 이상 앞서지 않도록 제한하므로 재시작 후에도 같은 날 값이 겹치지 않습니다.
+ * - 날짜(KST)가 바뀌면 순번이 다시 시작됩니다.
+ */
+@Slf4j
+@Component
+public class KftcBankTranIdGenerator {
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 9;
+    static final int TIME_SEQUENCE_BITS = 27 + SEQUENCE_BITS;
+    static final long TIME_SEQUENCE_MASK = (1L << TIME_SEQUENCE_BITS) - 1;
+    static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final String LOCAL_PROFILE = "local";
+    private static final int ID_LENGTH = 9;
+    private static final char[] DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+    // 시계가 크게 뒤로 간 경우에는 기다리지 않고 순번을 계속 증가
+    private static final long MAX_WAIT_AHEAD = TimeUnit.SECONDS.toMillis(1) << SEQUENCE_BITS;
+
+    private final char[] prefix;
+    private final long nodeBits;
+    private final Clock clock;
+    private final long zoneOffsetMillis;
+    // [KST 기준 epoch day][당일 경과 밀리초][순번]
+    private final AtomicLong state = new AtomicLong();
+    private final ThreadLocal<char[]> buffers;
+
+    @Autowired
+    public KftcBankTranIdGenerator(KftcApiProperties kftcApiProperties, Environment environment) {
+        this(kftcApiProperties.getClientUseCode(),
+                resolveNodeId(kftcApiProperties.getBankTranId().getNodeId(), environment.acceptsProfiles(Profiles.of(LOCAL_PROFILE))),
+                Clock.system(ZoneId.of("Asia/Seoul")));
+    }
+
+    KftcBankTranIdGenerator(String clientUseCode, int nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId 는 0~" + MAX_NODE_ID + " 범위여야 합니다: " + nodeId);
+        }
+        this.prefix = ((clientUseCode != null ? clientUseCode : "") + "U").toCharArray();
+        this.nodeBits = (long) nodeId << TIME_SEQUENCE_BITS;
+        this.clock = clock;
+        this.zoneOffsetMillis = TimeUnit.SECONDS.toMillis(clock.getZone().getRules().getOffset(clock.instant()).getTotalSeconds());
+        this.buffers = ThreadLocal.withInitial(() -> {
+            char[] buffer = new char[prefix.length + ID_LENGTH];
+            System.arraycopy(prefix, 0, buffer, 0, prefix.length);
+            return buffer;
+        });
+        log.info("KFTC 거래고유번호 생성기 초기화: nodeId={}", nodeId);
+    }
+
+    /**
+     * 새 거래고유번호를 발급합니다. (이용기관코드 + "U" + 9자리)
+     */
+    public String next() {
+        long value = nextValue();
+        char[] buffer = buffers.get();
+        for (int i = buffer.length - 1; i >= prefix.length; i--) {
+            buffer[i] = DIGITS[(int) (value % 36)];
+            value /= 36;
+        }
+        return new String(buffer);
+    }
+
+    /**
+     * 9자리 부여번호에 해당하는 46비트 값을 발급합니다.
+     */
+    long nextValue() {
+        while (true) {
+            long epochMillis = clock.millis() + zoneOffsetMillis;
+            long day = Math.floorDiv(epochMillis, MILLIS_PER_DAY);
+            long millisOfDay = Math.floorMod(epochMillis, MILLIS_PER_DAY);
+            long timeState = (day << TIME_SEQUENCE_BITS) | (millisOfDay << SEQUENCE_BITS);
+
+            long prev = state.get();
+            long candidate = Math.max(prev + 1, timeState);
+            long ahead = candidate - timeState;
+            // 밀리초당 순번(512개)을 다 쓴 경우 다음 밀리초까지 대기
+            if (ahead >= (1L << SEQUENCE_BITS) && ahead < MAX_WAIT_AHEAD) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+                continue;
+            }
+            if (state.compareAndSet(prev, candidate)) {
+                return nodeBits | (candidate & TIME_SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * kftc.bank-tran-id.node-id 를 사용합니다. 다중 인스턴스에서 거래고유번호가 겹치지 않도록 인스턴스마다 고유한 값이어야 하며,
+     * local 프로파일이 아니면 미설정 시 기동에 실패합니다. (local 에서는 호스트명과 PID 로 정함)
+     */
+    static int resolveNodeId(int configured, boolean local) {
+        if (configured >= 0) {
+            return configured;
+        }
+        if (!local) {
+            throw new IllegalStateException("kftc.bank-tran-id.node-id 가 설정되지 않았습니다. (인스턴스마다 0~" + MAX_NODE_ID + " 고유값 필요)");
+        }
+        String seed;
+        try {
+            seed = InetAddress.getLocalHost().getHostName() + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        } catch (Exception e) {
+            seed = ManagementFactory.getRuntimeMXBean().getName();
+        }
+        int nodeId = (seed.hashCode() & Integer.MAX_VALUE) % (MAX_NODE_ID + 1);
+        log.warn("kftc.bank-tran-id.node-id 미설정 - 호스트 정보로 노드 ID 결정: {} (인스턴스별 고유값 설정 권장)", nodeId);
+        return nodeId;
+    }
+}
@@ -0,0 +1,193 @@
+package com.moim.payment.service.kftc;
+
+import com.moim.payment.config.KftcApiProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.beans.PropertyDescriptor;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * KFTC 엔드포인트별 HTTP 호출 메트릭.
+ * - kftc.client.requests (timer, percentile histogram): endpoint / method / status / outcome
+ * - kftc.client.in-flight (gauge): 응답 대기 중인 요청 수
+ * - kftc.client.request.size / kftc.client.response.size (distribution summary, bytes)
+ * - kftc.client.rsp-codes (counter): 응답 본문의 rsp_code (KftcResilience 에서 기록)
+ *
+ * 처리율 제한 대기 이후의 실제 전송 구간만 측정하도록 KftcRateLimiter 필터 안쪽에 등록합니다.
+ * 엔드포인트 이름은 KftcApiProperties.Endpoints 의 필드명이며, 설정된 URL 경로로 매칭합니다.
+ */
+@Component
+public class KftcClientMetrics {
+
+    private static final String UNKNOWN_ENDPOINT = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, String> endpointsByPath;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary[]> payloadSummaries = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rspCodeCounters = new ConcurrentHashMap<>();
+
+    public KftcClientMetrics(KftcApiProperties kftcApiProperties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.endpointsByPath = endpointsByPath(kftcApiProperties.getEndpoints());
+    }
+
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> {
+            String endpoint = endpointOf(request);
+            DistributionSummary[] payload = payloadSummaries(endpoint);
+
+            return Mono.defer(() -> {
+                AtomicInteger active = inFlight(endpoint);
+                AtomicBoolean done = new AtomicBoolean();
+                active.incrementAndGet();
+                long start = System.nanoTime();
+
+                return next.exchange(countRequestBytes(request, payload[0]))
+                        .doOnSuccess(response -> {
+                            if (done.compareAndSet(false, true)) {
+                                active.decrementAndGet();
+                                record(endpoint, request, String.valueOf(response.statusCode().value()),
+                                        response.statusCode().isError() ? "ERROR" : "SUCCESS", start);
+                            }
+                        })
+                        .doOnError(e -> {
+                            if (done.compareAndSet(false, true)) {
+                                active.decrementAndGet();
+                                record(endpoint, request, "IO_ERROR", "ERROR", start);
+                            }
+                        })
+                        .doOnCancel(() -> {
+                            // hedge 패배/타임아웃으로 취소된 요청
+                            if (done.compareAndSet(false, true)) {
+                                active.decrementAndGet();
+                                record(endpoint, request, "CANCELLED", "CANCELLED", start);
+                            }
+                        })
+                        .map(response -> countResponseBytes(response, payload[1]));
+            });
+        };
+    }
+
+    /**
+     * 응답 본문의 rsp_code 를 집계합니다. (업무 오류는 HTTP 200 으로 내려오므로 상태코드와 별도 집계)
+     */
+    public void recordRspCode(String endpoint, String rspCode) {
+        String code = rspCode == null || rspCode.isBlank() ? "NONE" : rspCode;
+        rspCodeCounters.computeIfAbsent(endpoint + ":" + code, key -> Counter.builder("kftc.client.rsp-codes")
+                        .tag("endpoint", endpoint)
+                        .tag("rsp_code", code)
+                        .description("KFTC 응답 rsp_code 별 건수")
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private void record(String endpoint, ClientRequest request, String status, String outcome, long start) {
+        Timer.builder("kftc.client.requests")
+                .tag("endpoint", endpoint)
+                .tag("method", request.method().name())
+                .tag("status", status)
+                .tag("outcome", outcome)
+                .description("KFTC HTTP 호출 지연 시간 (응답 헤더 수신까지)")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(5))
+                .maximumExpectedValue(Duration.ofSeconds(60))
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private ClientRequest countRequestBytes(ClientRequest request, DistributionSummary summary) {
+        return ClientRequest.from(request)
+                .body((outputMessage, context) -> request.body().insert(new ClientHttpRequestDecorator(outputMessage) {
+                    @Override
+                    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                        AtomicLong bytes = new AtomicLong();
+                        return super.writeWith(Flux.from(body).doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount())))
+                                .doOnSuccess(v -> summary.record(bytes.get()));
+                    }
+
+                    @Override
+                    public Mono<Void> setComplete() {
+                        summary.record(0);
+                        return super.setComplete();
+                    }
+                }, context))
+                .build();
+    }
+
+    private ClientResponse countResponseBytes(ClientResponse response, DistributionSummary summary) {
+        AtomicLong bytes = new AtomicLong();
+        return response.mutate()
+                .body(body -> body
+                        .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))
+                        .doOnComplete(() -> summary.record(bytes.get())))
+                .build();
+    }
+
+    /**
+     * 요청 URL 경로에 해당하는 엔드포인트 이름 (KftcApiProperties.Endpoints 필드명)
+     */
+    public String endpointOf(ClientRequest request) {
+        return endpointsByPath.getOrDefault(request.url().getPath(), UNKNOWN_ENDPOINT);
+    }
+
+    private AtomicInteger inFlight(String endpoint) {
+        return inFlight.computeIfAbsent(endpoint, name -> {
+            AtomicInteger gauge = new AtomicInteger();
+            Gauge.builder("kftc.client.in-flight", gauge, AtomicInteger::get)
+                    .tag("endpoint", name)
+                    .description("응답 대기 중인 KFTC 요청 수")
+                    .register(meterRegistry);
+            return gauge;
+        });
+    }
+
+    private DistributionSummary[] payloadSummaries(String endpoint) {
+        return payloadSummaries.computeIfAbsent(endpoint, name -> new DistributionSummary[]{
+                payloadSummary("kftc.client.request.size", name),
+                payloadSummary("kftc.client.response.size", name)
+        });
+    }
+
+    private DistributionSummary payloadSummary(String metric, String endpoint) {
+        return DistributionSummary.builder(metric)
+                .tag("endpoint", endpoint)
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(1024d * 1024)
+                .register(meterRegistry);
+    }
+
+    private static Map<String, String> endpointsByPath(KftcApiProperties.Endpoints endpoints) {
+        Map<String, String> byPath = new HashMap<>();
+        BeanWrapperImpl wrapper = new BeanWrapperImpl(endpoints);
+        for (PropertyDescriptor descriptor : wrapper.getPropertyDescriptors()) {
+            if (descriptor.getPropertyType() == String.class && wrapper.getPropertyValue(descriptor.getName()) instanceof String url) {
+                byPath.put(UriComponentsBuilder.fromUriString(url).build().getPath(), descriptor.getName());
+            }
+        }
+        return byPath;
+    }
+}
@@ -0,0 +1,84 @@
+package com.moim.payment.service.kftc;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 금융결제원 요청에 쓰는 초 단위 시각 문자열 캐시.
+ * 같은 초 안의 요청은 포맷 결과를 재사용하여 요청마다 LocalDateTime/DateTimeFormatter 를 만들지 않습니다.
+ */
+@Component
+public class KftcClock {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HHmmss");
+
+    private final Clock clock;
+    private volatile Snapshot snapshot;
+
+    public KftcClock() {
+        this(Clock.system(ZoneId.of("Asia/Seoul")));
+    }
+
+    KftcClock(Clock clock) {
+        this.clock = clock;
+        this.snapshot = Snapshot.of(clock, clock.millis() / 1000);
+    }
+
+    /**
+     * 현재 초의 시각 문자열 (yyyyMMdd / HHmmss / yyyyMMddHHmmss)
+     */
+    public Snapshot now() {
+        long epochSecond = clock.millis() / 1000;
+        Snapshot current = snapshot;
+        if (current.epochSecond != epochSecond) {
+            // 초가 바뀐 경우에만 다시 포맷 (경합 시 중복 계산되어도 결과는 같음)
+            current = Snapshot.of(clock, epochSecond);
+            snapshot = current;
+        }
+        return current;
+    }
+
+    /**
+     * tran_dtime (yyyyMMddHHmmss)
+     */
+    public String tranDtime() {
+        return now().tranDtime;
+    }
+
+    public static final class Snapshot {
+        private final long epochSecond;
+        private final String tranDate;
+        private final String tranTime;
+        private final String tranDtime;
+
+        private Snapshot(long epochSecond, String tranDate, String tranTime) {
+            this.epochSecond = epochSecond;
+            this.tranDate = tranDate;
+            this.tranTime = tranTime;
+            this.tranDtime = tranDate + tranTime;
+        }
+
+        private static Snapshot of(Clock clock, long epochSecond) {
+            LocalDateTime now = LocalDateTime.ofEpochSecond(epochSecond, 0,
+                    clock.getZone().getRules().getOffset(clock.instant()));
+            return new Snapshot(epochSecond, now.format(DATE), now.format(TIME));
+        }
+
+        public String getTranDate() {
+            return tranDate;
+        }
+
+        public String getTranTime() {
+            return tranTime;
+        }
+
+        public String getTranDtime() {
+            return tranDtime;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.moim.payment.service.kftc;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.moim.payment.config.KftcApiProperties;
+import com.moim.payment.dto.kftc.KftcAccountListResp;
+import com.moim.payment.dto.kftc.KftcBalanceResp;
+import com.moim.payment.util.DigestUtil;
+import com.moim.payment.util.MaskingUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 금융결제원 잔액(fintechUseNum) / 등록계좌 목록(userSeqNo) 조회 결과 캐시.
+ * TTL과 최대 크기로 제한되며, 이체가 발생한 계좌의 잔액은 즉시 제거됩니다.
+ * 캐시 통계는 cache.gets / cache.evictions 등으로 Micrometer에 노출됩니다.
+ *
+ * 항목은 조회에 사용한 KFTC Access Token 의 다이제스트(owner)별로 나뉘며, 다른 토큰으로 조회한 결과는 공유하지 않습니다.
+ * (/api/kftc/** 는 요청 본문의 토큰을 그대로 쓰므로, fintechUseNum 만으로 찾으면 남의 잔액이 응답될 수 있음)
+ */
+@Slf4j
+@Component
+public class KftcInquiryCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private record Key(String owner, String id) {
+    }
+
+    private final boolean enabled;
+    private final AsyncCache<Key, KftcBalanceResp> balanceCache;
+    private final AsyncCache<Key, KftcAccountListResp> accountListCache;
+    // 계좌별 제거 세대 (해시 스트라이프, 충돌 시 불필요한 무효화만 생기고 누락은 없음)
+    private final AtomicLongArray balanceGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLongArray accountListGenerations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public KftcInquiryCache(KftcApiProperties kftcApiProperties, MeterRegistry meterRegistry) {
+        KftcApiProperties.Cache cache = kftcApiProperties.getCache();
+        this.enabled = cache.isEnabled();
+
+        this.balanceCache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .expireAfterWrite(cache.getBalanceTtl())
+                .maximumSize(cache.getMaximumSize())
+                .recordStats()
+                .<Key, KftcBalanceResp>buildAsync(), "kftc.balance");
+
+        this.accountListCache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .expireAfterWrite(cache.getAccountListTtl())
+                .maximumSize(cache.getMaximumSize())
+                .recordStats()
+                .<Key, KftcAccountListResp>buildAsync(), "kftc.account-list");
+    }
+
+    /**
+     * 캐시/요청 병합 키에 쓰는 호출자 식별값 (KFTC Access Token 의 SHA-256, 원문은 보관하지 않음)
+     */
+    public static String ownerOf(String accessToken) {
+        return accessToken == null ? "" : DigestUtil.sha256Hex(accessToken);
+    }
+
+    public Mono<KftcBalanceResp> getBalance(String owner, String fintechUseNum, boolean bypass, Supplier<Mono<KftcBalanceResp>> loader) {
+        return lookup(balanceCache, balanceGenerations, owner, fintechUseNum, bypass, loader);
+    }
+
+    public Mono<KftcAccountListResp> getAccountList(String owner, String userSeqNo, boolean bypass, Supplier<Mono<KftcAccountListResp>> loader) {
+        return lookup(accountListCache, accountListGenerations, owner, userSeqNo, bypass, loader);
+    }
+
+    /**
+     * 현재 잔액 세대. 제거 이전에 시작된 원격 조회에 합류하지 않도록 요청 병합 키에 포함합니다.
+     */
+    public long balanceGeneration(String fintechUseNum) {
+        return fintechUseNum == null ? 0 : balanceGenerations.get(stripe(fintechUseNum));
+    }
+
+    public long accountListGeneration(String userSeqNo) {
+        return userSeqNo == null ? 0 : accountListGenerations.get(stripe(userSeqNo));
+    }
+
+    /**
+     * 이체 등으로 잔액이 변경된 계좌의 캐시를 제거합니다. (모든 owner 의 항목)
+     * 진행 중인 조회는 세대가 바뀌었으므로 완료되어도 캐시에 남지 않습니다.
+     */
+    public void evictBalance(String fintechUseNum) {
+        if (fintechUseNum != null) {
+            evict(balanceCache, balanceGenerations, fintechUseNum);
+            log.debug("잔액 캐시 제거: fintechUseNum={}", MaskingUtil.fintechUseNum(fintechUseNum));
+        }
+    }
+
+    public void evictAccountList(String userSeqNo) {
+        if (userSeqNo != null) {
+            evict(accountListCache, accountListGenerations, userSeqNo);
+        }
+    }
+
+    private <T> void evict(AsyncCache<Key, T> cache, AtomicLongArray generations, String id) {
+        // 세대를 먼저 올려 이후 완료되는 이전 조회가 캐시에 남지 않게 한 뒤 기존 항목 제거
+        generations.incrementAndGet(stripe(id));
+        cache.asMap().keySet().removeIf(key -> key.id().equals(id));
+    }
+
+    private <T> Mono<T> lookup(AsyncCache<Key, T> cache, AtomicLongArray generations, String owner, String id,
+                               boolean bypass, Supplier<Mono<T>> loader) {
+        if (!enabled || id == null || owner == null) {
+            return loader.get();
+        }
+
+        return Mono.defer(() -> {
+            Key key = new Key(owner, id);
+            int stripe = stripe(id);
+            long generation = generations.get(stripe);
+            CompletableFuture<T> future;
+            if (bypass) {
+                // 최신 데이터가 필요한 호출: 원격 조회 후 결과로 캐시를 갱신
+                future = loader.get().toFuture();
+                cache.put(key, future);
+            } else {
+                // 실패한 future는 Caffeine이 자동으로 제거하므로 오류는 캐시되지 않습니다.
+                future = cache.get(key, (k, executor) -> loader.get().toFuture());
+            }
+            CompletableFuture<T> loaded = future;
+            loaded.whenComplete((value, error) -> {
+                // 조회 도중 제거(이체)된 계좌면 이전 잔액이 캐시에 남지 않도록 제거
+                if (generations.get(stripe) != generation) {
+                    cache.asMap().remove(key, loaded);
+                }
+            });
+            // 다른 구독자가 같은 future를 기다릴 수 있으므로 취소를 전파하지 않습니다.
+            return Mono.fromFuture(loaded, true);
+        });
+    }
+
+    private static int stripe(String id) {
+        return (id.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+}
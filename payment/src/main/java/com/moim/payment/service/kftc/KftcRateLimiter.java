@@ -0,0 +1,235 @@
+package com.moim.payment.service.kftc;
+
+import com.moim.payment.config.KftcApiProperties;
+import com.moim.payment.exception.KftcApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 금융결제원 호출용 클라이언트 측 처리율 제한기 (token bucket).
+ * - 기관(orgCode) 전체 한도 + 조회/이체 별도 한도를 모두 만족해야 호출됩니다.
+ * - 토큰이 없으면 최대 maxQueueSize 만큼 대기열에 넣고 maxWait 안에 허가되지 않으면 429로 거절합니다.
+ * - 기관 전체 한도가 부족할 때는 대기 중인 이체가 조회보다 먼저 허가됩니다.
+ *
+ * 허가/거절 판단만 락 안에서 하고, 대기 중인 요청의 완료(이후 연산자 실행)는 락을 놓은 뒤에 합니다.
+ *
+ * 메트릭: kftc.rate-limiter.queue.depth{category}, kftc.rate-limiter.rejected{category, reason}
+ */
+@Slf4j
+@Component
+public final class KftcRateLimiter {
+
+    public enum Category { TRANSFER, INQUIRY }
+
+    private final KftcApiProperties.RateLimit config;
+    private final TokenBucket orgBucket;
+    private final Map<Category, TokenBucket> buckets = new EnumMap<>(Category.class);
+    private final Map<Category, Deque<Waiter>> queues = new EnumMap<>(Category.class);
+    private final Map<Category, Counter> queueFullCounters = new EnumMap<>(Category.class);
+    private final Map<Category, Counter> timeoutCounters = new EnumMap<>(Category.class);
+    private final Scheduler scheduler;
+    private final Disposable drainTask;
+
+    public KftcRateLimiter(KftcApiProperties kftcApiProperties, MeterRegistry meterRegistry) {
+        this.config = kftcApiProperties.getRateLimit();
+        this.orgBucket = new TokenBucket(config.getOrgPerSecond(), config.getOrgBurst());
+        buckets.put(Category.TRANSFER, new TokenBucket(config.getTransferPerSecond(), config.getTransferBurst()));
+        buckets.put(Category.INQUIRY, new TokenBucket(config.getInquiryPerSecond(), config.getInquiryBurst()));
+
+        for (Category category : Category.values()) {
+            Deque<Waiter> queue = new ArrayDeque<>();
+            queues.put(category, queue);
+            String tag = category.name().toLowerCase();
+            Gauge.builder("kftc.rate-limiter.queue.depth", this, limiter -> limiter.queueDepth(category))
+                    .tag("category", tag)
+                    .description("KFTC 호출 허가를 기다리는 요청 수")
+                    .register(meterRegistry);
+            queueFullCounters.put(category, Counter.builder("kftc.rate-limiter.rejected")
+                    .tag("category", tag).tag("reason", "queue_full").register(meterRegistry));
+            timeoutCounters.put(category, Counter.builder("kftc.rate-limiter.rejected")
+                    .tag("category", tag).tag("reason", "timeout").register(meterRegistry));
+        }
+
+        this.scheduler = Schedulers.newSingle("kftc-rate-limiter", true);
+        long tickMillis = config.getDrainInterval().toMillis();
+        this.drainTask = scheduler.schedulePeriodically(this::drain, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 요청 URL로 이체/조회를 구분하여 허가를 받은 뒤에 실제 요청을 보내는 WebClient 필터
+     */
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> {
+            String path = request.url().getPath();
+            // 이체결과 조회는 경로가 /transfer/ 아래지만 조회 한도를 사용 (재조회 폭주가 이체를 밀어내지 않도록)
+            Category category = path.contains("/transfer/") && !path.endsWith("/transfer/result") ? Category.TRANSFER : Category.INQUIRY;
+            return acquire(category).then(Mono.defer(() -> next.exchange(request)));
+        };
+    }
+
+    /**
+     * 호출 허가를 받습니다. 허가되면 완료, 대기열이 가득 찼거나 대기 시간이 지나면 429 오류로 종료됩니다.
+     */
+    public Mono<Void> acquire(Category category) {
+        if (!config.isEnabled()) {
+            return Mono.empty();
+        }
+
+        return Mono.create(sink -> {
+            Deque<Waiter> queue = queues.get(category);
+            Waiter waiter = null;
+            boolean granted = false;
+            synchronized (this) {
+                // 대기 중인 요청이 없을 때만 즉시 허가 (순서 보장)
+                if (queue.isEmpty() && !higherPriorityWaiting(category) && tryConsume(category)) {
+                    granted = true;
+                } else if (queueDepth() < config.getMaxQueueSize()) {
+                    waiter = new Waiter(sink, System.nanoTime() + config.getMaxWait().toNanos());
+                    queue.addLast(waiter);
+                }
+            }
+
+            if (granted) {
+                sink.success();
+            } else if (waiter == null) {
+                queueFullCounters.get(category).increment();
+                sink.error(rejected("KFTC 호출 대기열이 가득 찼습니다."));
+            } else {
+                Waiter queued = waiter;
+                sink.onCancel(() -> {
+                    synchronized (this) {
+                        queue.remove(queued);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * 대기열을 우선순위(이체 → 조회) 순서로 비우고, 대기 시간이 지난 요청은 거절합니다.
+     */
+    void drain() {
+        List<Waiter> expired = new ArrayList<>();
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            for (Category category : Category.values()) {
+                Iterator<Waiter> iterator = queues.get(category).iterator();
+                while (iterator.hasNext()) {
+                    Waiter waiter = iterator.next();
+                    if (waiter.deadline - now <= 0) {
+                        iterator.remove();
+                        timeoutCounters.get(category).increment();
+                        expired.add(waiter);
+                    }
+                }
+            }
+
+            for (Category category : Category.values()) {
+                Deque<Waiter> queue = queues.get(category);
+                while (!queue.isEmpty() && tryConsume(category)) {
+                    granted.add(queue.pollFirst());
+                }
+                // 기관 전체 한도가 바닥나 이체가 대기 중이면 조회에 남은 토큰을 넘기지 않음
+                if (!queue.isEmpty() && !orgBucket.hasToken(now)) {
+                    break;
+                }
+            }
+        }
+
+        // 허가된 요청의 다운스트림(실제 KFTC 요청 구독)이 락을 잡은 채 실행되지 않도록 락 밖에서 완료
+        for (Waiter waiter : expired) {
+            waiter.sink.error(rejected("KFTC 호출 허가 대기 시간이 초과되었습니다."));
+        }
+        for (Waiter waiter : granted) {
+            waiter.sink.success();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drainTask.dispose();
+        scheduler.dispose();
+    }
+
+    private boolean higherPriorityWaiting(Category category) {
+        return category == Category.INQUIRY && !queues.get(Category.TRANSFER).isEmpty();
+    }
+
+    private boolean tryConsume(Category category) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(category);
+        if (orgBucket.hasToken(now) && bucket.hasToken(now)) {
+            orgBucket.consume();
+            bucket.consume();
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized int queueDepth(Category category) {
+        return queues.get(category).size();
+    }
+
+    private int queueDepth() {
+        int depth = 0;
+        for (Deque<Waiter> queue : queues.values()) {
+            depth += queue.size();
+        }
+        return depth;
+    }
+
+    private KftcApiException rejected(String message) {
+        return new KftcApiException("KFTC_RATE_LIMITED", message, HttpStatus.TOO_MANY_REQUESTS, null);
+    }
+
+    private record Waiter(MonoSink<Void> sink, long deadline) {
+    }
+
+    /**
+     * 초당 permitsPerSecond 개씩 충전되고 최대 burst 개까지 쌓이는 토큰 버킷 (KftcRateLimiter 락 안에서만 사용)
+     */
+    private static final class TokenBucket {
+        private final double permitsPerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(double permitsPerSecond, int burst) {
+            this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1, burst);
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        boolean hasToken(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * permitsPerNano);
+            lastRefill = now;
+            return tokens >= 1.0;
+        }
+
+        void consume() {
+            tokens -= 1.0;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.moim.payment.service.kftc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.moim.payment.util.MaskingUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 동일한 금융결제원 조회 요청의 single-flight 병합.
+ * 같은 키의 요청이 진행 중이면 새 호출을 만들지 않고 진행 중인 결과(또는 오류)를 함께 받습니다.
+ * 완료된 결과는 보관하지 않습니다. (캐시는 KftcInquiryCache 담당)
+ *
+ * 메트릭: kftc.coalescer.requests{api, result=leader|joined}, kftc.coalescer.in-flight
+ */
+@Slf4j
+@Component
+public class KftcRequestCoalescer {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter[]> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public KftcRequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("kftc.coalescer.in-flight", inFlight, ConcurrentMap::size)
+                .description("진행 중인 KFTC 조회 요청 수 (병합 기준 키)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param api  메트릭 태그용 API 이름 (예: balance)
+     * @param key  병합 기준 키 (같은 키는 같은 결과를 공유 - 호출자 토큰 등 권한 구분값을 반드시 포함)
+     * @param call 실제 원격 호출
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String api, String key, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            String flightKey = api + ":" + key;
+            CompletableFuture<Object> created = new CompletableFuture<>();
+            CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, created);
+
+            if (existing != null) {
+                counters(api)[1].increment();
+                log.debug("진행 중인 KFTC 요청에 합류: api={}, key={}", api, maskKey(key));
+                return Mono.fromFuture((CompletableFuture<T>) existing, true);
+            }
+
+            counters(api)[0].increment();
+            // 호출 생성 중 예외(동기 throw)도 오류 신호로 받아 키를 제거하고 대기 중인 요청에 전달
+            Mono.defer(call).toFuture().whenComplete((result, error) -> {
+                // 완료 즉시 제거하여 이후 요청은 새로 호출하도록 함 (결과 보관 안 함)
+                inFlight.remove(flightKey, created);
+                if (error != null) {
+                    created.completeExceptionally(error);
+                } else {
+                    created.complete(result);
+                }
+            });
+            // 합류한 요청이 있을 수 있으므로 첫 요청자의 취소를 원격 호출로 전파하지 않습니다.
+            return Mono.fromFuture((CompletableFuture<T>) created, true);
+        });
+    }
+
+    /**
+     * 병합 키의 구성값(핀테크이용번호 등)을 로그에 그대로 남기지 않도록 구간별로 마스킹합니다.
+     */
+    static String maskKey(String key) {
+        return Stream.of(key.split(":")).map(MaskingUtil::fintechUseNum).collect(Collectors.joining(":"));
+    }
+
+    private Counter[] counters(String api) {
+        return counters.computeIfAbsent(api, a -> new Counter[]{
+                Counter.builder("kftc.coalescer.requests").tag("api", a).tag("result", "leader")
+                        .description("원격 호출을 시작한 요청 수").register(meterRegistry),
+                Counter.builder("kftc.coalescer.requests").tag("api", a).tag("result", "joined")
+                        .description("진행 중인 호출에 합류한 요청 수").register(meterRegistry)
+        });
+    }
+}
@@ -0,0 +1,106 @@
+package com.moim.payment.service.kftc;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.moim.payment.config.KftcApiProperties;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserter;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 공통부(req_common)가 있는 KFTC 요청 본문 작성기.
+ * 설정에서 오는 고정 필드(org_code, client_use_code 등)는 기동 시 한 번만 직렬화해 두고,
+ * 요청마다 tran_date / tran_time / tran_id 만 채워 전송 버퍼에 바로 기록합니다.
+ *
+ * 결과: {"req_common":{"tran_date":..,"tran_time":..,"tran_id":..,<고정 필드>},"req_info":<reqInfo>}
+ */
+@Component
+public class KftcRequestEnvelope {
+
+    private static final byte[] REQ_COMMON_OPEN = "{\"req_common\":{\"tran_date\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRAN_TIME = "\",\"tran_time\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRAN_ID = "\",\"tran_id\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] REQ_INFO = "},\"req_info\":".getBytes(StandardCharsets.US_ASCII);
+    private static final int INITIAL_CAPACITY_MARGIN = 256;
+
+    private final KftcClock kftcClock;
+    private final KftcBankTranIdGenerator kftcBankTranIdGenerator;
+    private final ObjectWriter reqInfoWriter;
+    // "\",<고정 필드들>" - tran_id 값을 닫는 따옴표부터 req_common 의 마지막 필드까지
+    private final byte[] staticFragment;
+
+    public KftcRequestEnvelope(KftcApiProperties kftcApiProperties, KftcClock kftcClock,
+                               KftcBankTranIdGenerator kftcBankTranIdGenerator, ObjectMapper objectMapper) {
+        this.kftcClock = kftcClock;
+        this.kftcBankTranIdGenerator = kftcBankTranIdGenerator;
+        this.reqInfoWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.staticFragment = serializeStaticFields(kftcApiProperties, objectMapper);
+    }
+
+    /**
+     * req_common + req_info 본문을 전송 버퍼에 직접 쓰는 BodyInserter.
+     * tran_date / tran_time / tran_id 는 실제 전송(재시도 포함) 시점에 채워집니다.
+     */
+    public BodyInserter<Object, ReactiveHttpOutputMessage> body(Object reqInfo) {
+        return (outputMessage, context) -> Mono.defer(() -> {
+            DataBuffer buffer = outputMessage.bufferFactory().allocateBuffer(staticFragment.length + INITIAL_CAPACITY_MARGIN);
+            try (OutputStream out = buffer.asOutputStream()) {
+                write(out, reqInfo);
+            } catch (IOException | RuntimeException e) {
+                DataBufferUtils.release(buffer);
+                return Mono.error(e);
+            }
+            outputMessage.getHeaders().setContentLength(buffer.readableByteCount());
+            return outputMessage.writeWith(Mono.just(buffer));
+        });
+    }
+
+    void write(OutputStream out, Object reqInfo) throws IOException {
+        KftcClock.Snapshot now = kftcClock.now();
+        out.write(REQ_COMMON_OPEN);
+        writeAscii(out, now.getTranDate());
+        out.write(TRAN_TIME);
+        writeAscii(out, now.getTranTime());
+        out.write(TRAN_ID);
+        writeAscii(out, kftcBankTranIdGenerator.next());
+        out.write(staticFragment);
+        out.write(REQ_INFO);
+        reqInfoWriter.writeValue(out, reqInfo);
+        out.write('}');
+    }
+
+    private static void writeAscii(OutputStream out, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            out.write(value.charAt(i));
+        }
+    }
+
+    private static byte[] serializeStaticFields(KftcApiProperties properties, ObjectMapper objectMapper) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("org_code", properties.getOrgCode());
+        fields.put("client_use_code", properties.getClientUseCode());
+        fields.put("client_use_name", properties.getClientUseName());
+        fields.put("main_bank_code", properties.getMainBankCode());
+        fields.put("preference_yn", "N");
+        fields.put("acting_fee", "0");
+
+        try {
+            // {"org_code":..} 에서 중괄호를 떼고 앞에 tran_id 를 닫는 따옴표와 구분자를 붙임
+            String json = objectMapper.writeValueAsString(fields);
+            return ("\"," + json.substring(1, json.length() - 1)).getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("KFTC 공통부 직렬화 실패", e);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.moim.payment.service.kftc;
+
+import com.moim.payment.config.KftcApiProperties;
+import com.moim.payment.dto.kftc.KftcBaseResp;
+import com.moim.payment.exception.KftcApiException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 금융결제원 엔드포인트별 장애 격리 계층.
+ * - 모든 호출: 엔드포인트별 서킷브레이커 + 세마포어 벌크헤드 (느린 거래내역 조회가 잔액 조회를 막지 않도록)
+ * - GET 조회: 지수 백오프 + 지터 재시도 (네트워크 오류 / 5xx / 타임아웃만)
+ * - 잔액 조회: 최근 p95 를 넘기면 두 번째 요청을 보내고 먼저 온 응답 사용 (hedged request)
+ * - 이체/토큰 발급: 재시도하지 않음 (중복 이체 방지)
+ *
+ * 엔드포인트 이름은 KftcApiProperties.Endpoints 의 필드명을 사용합니다.
+ */
+@Slf4j
+@Component
+public class KftcResilience {
+
+    public static final String TOKEN = "token";
+    public static final String USER_REGISTER = "userRegister";
+    public static final String ACCOUNT_LIST = "accountList";
+    public static final String BALANCE = "balanceFinNum";
+    public static final String TRANSACTION_LIST = "transactionListFinNum";
+    public static final String WITHDRAW = "withdrawFinNum";
+    public static final String DEPOSIT = "depositFinNum";
+    public static final String TRANSFER_RESULT = "transferResult";
+
+    private final KftcApiProperties.Resilience config;
+    private final MeterRegistry meterRegistry;
+    private final KftcClientMetrics kftcClientMetrics;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final Map<String, Timer> latencyTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> hedgeCounters = new ConcurrentHashMap<>();
+
+    public KftcResilience(KftcApiProperties kftcApiProperties, MeterRegistry meterRegistry, KftcClientMetrics kftcClientMetrics) {
+        this.config = kftcApiProperties.getResilience();
+        this.meterRegistry = meterRegistry;
+        this.kftcClientMetrics = kftcClientMetrics;
+        this.circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        this.bulkheadRegistry = BulkheadRegistry.ofDefaults();
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+    }
+
+    /**
+     * 재시도 없이 서킷브레이커/벌크헤드만 적용합니다. (이체, 토큰 발급 등 멱등하지 않은 호출)
+     */
+    public <T> Mono<T> call(String endpoint, Supplier<Mono<T>> call) {
+        return guarded(endpoint, call);
+    }
+
+    /**
+     * 멱등한 GET 조회: 서킷브레이커/벌크헤드 + 지터 재시도
+     */
+    public <T> Mono<T> inquiry(String endpoint, Supplier<Mono<T>> call) {
+        return guarded(endpoint, call).retryWhen(retrySpec(endpoint));
+    }
+
+    /**
+     * 멱등한 GET 조회 + hedged request.
+     * 첫 요청이 최근 p95 안에 끝나지 않으면 두 번째 요청을 보내고 먼저 성공한 응답을 사용합니다.
+     */
+    public <T> Mono<T> hedgedInquiry(String endpoint, Supplier<Mono<T>> call) {
+        KftcApiProperties.ResiliencePolicy policy = config.policyOf(endpoint);
+        if (!policy.isHedgeEnabled()) {
+            return inquiry(endpoint, call);
+        }
+
+        return Mono.defer(() -> {
+            Duration hedgeDelay = hedgeDelay(endpoint, policy);
+            AtomicBoolean hedgeFired = new AtomicBoolean();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+
+            Mono<T> primary = guarded(endpoint, call)
+                    .onErrorResume(e -> {
+                        // hedge 발송 전 실패는 즉시 전달 (대기 중인 hedge 는 취소됨)
+                        if (!hedgeFired.get()) {
+                            return Mono.error(e);
+                        }
+                        failure.compareAndSet(null, e);
+                        return Mono.empty();
+                    });
+            Mono<T> hedge = Mono.delay(hedgeDelay)
+                    .doOnNext(tick -> {
+                        hedgeFired.set(true);
+                        hedgeCounter(endpoint).increment();
+                        log.debug("KFTC hedge 요청 발송: endpoint={}, delay={}ms", endpoint, hedgeDelay.toMillis());
+                    })
+                    .then(guarded(endpoint, call))
+                    .onErrorResume(e -> {
+                        failure.compareAndSet(null, e);
+                        return Mono.empty();
+                    });
+
+            // 먼저 도착한 성공 응답을 사용하고 나머지 요청은 취소
+            return Flux.merge(primary, hedge)
+                    .next()
+                    .switchIfEmpty(Mono.error(failure::get));
+        }).retryWhen(retrySpec(endpoint));
+    }
+
+    private <T> Mono<T> guarded(String endpoint, Supplier<Mono<T>> call) {
+        CircuitBreaker circuitBreaker = circuitBreaker(endpoint);
+        Bulkhead bulkhead = bulkhead(endpoint);
+        Timer latency = latencyTimer(endpoint);
+
+        return Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return call.get()
+                            .doOnSuccess(result -> {
+                                latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                                recordRspCode(endpoint, result);
+                            });
+                })
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .onErrorMap(CallNotPermittedException.class, e -> new KftcApiException("KFTC_CIRCUIT_OPEN",
+                        "KFTC " + endpoint + " 호출이 일시 차단되었습니다. 잠시 후 다시 시도해 주세요.", HttpStatus.SERVICE_UNAVAILABLE, null))
+                .onErrorMap(BulkheadFullException.class, e -> new KftcApiException("KFTC_BULKHEAD_FULL",
+                        "KFTC " + endpoint + " 동시 호출 한도를 초과했습니다.", HttpStatus.SERVICE_UNAVAILABLE, null));
+    }
+
+    private void recordRspCode(String endpoint, Object result) {
+        if (result instanceof KftcBaseResp response) {
+            kftcClientMetrics.recordRspCode(endpoint, response.getRspCode());
+        } else if (result instanceof Map<?, ?> response && response.get("rsp_code") instanceof String rspCode) {
+            kftcClientMetrics.recordRspCode(endpoint, rspCode);
+        }
+    }
+
+    private Retry retrySpec(String endpoint) {
+        KftcApiProperties.ResiliencePolicy policy = config.policyOf(endpoint);
+        return Retry.backoff(policy.getMaxRetries(), policy.getRetryBackoff())
+                .maxBackoff(policy.getRetryMaxBackoff())
+                .jitter(policy.getRetryJitter())
+                .filter(KftcResilience::isServerSideFailure)
+                .doBeforeRetry(signal -> log.warn("KFTC 조회 재시도: endpoint={}, attempt={}, error={}",
+                        endpoint, signal.totalRetries() + 1, signal.failure().toString()))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    /**
+     * 재시도 및 서킷브레이커 실패 집계 대상: 네트워크 오류, 타임아웃, KFTC 5xx 응답.
+     * 4xx / 업무 오류(rsp_code) / 처리율 제한 거절은 대상이 아닙니다.
+     */
+    static boolean isServerSideFailure(Throwable e) {
+        if (e instanceof WebClientRequestException || e instanceof TimeoutException) {
+            return true;
+        }
+        return e instanceof KftcApiException kftcApiException
+                && kftcApiException.getErrorCode().startsWith("KFTC_HTTP_")
+                && kftcApiException.getHttpStatus().is5xxServerError();
+    }
+
+    private Duration hedgeDelay(String endpoint, KftcApiProperties.ResiliencePolicy policy) {
+        Timer timer = latencyTimer(endpoint);
+        if (timer.count() < policy.getHedgeMinSamples()) {
+            return policy.getHedgeFallbackDelay();
+        }
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            if (percentile.percentile() == 0.95) {
+                Duration p95 = Duration.ofNanos((long) percentile.value(TimeUnit.NANOSECONDS));
+                return p95.compareTo(policy.getHedgeMinDelay()) > 0 ? p95 : policy.getHedgeMinDelay();
+            }
+        }
+        return policy.getHedgeFallbackDelay();
+    }
+
+    private CircuitBreaker circuitBreaker(String endpoint) {
+        return circuitBreakerRegistry.circuitBreaker("kftc-" + endpoint, () -> {
+            KftcApiProperties.ResiliencePolicy policy = config.policyOf(endpoint);
+            return CircuitBreakerConfig.custom()
+                    .failureRateThreshold(policy.getFailureRateThreshold())
+                    .slowCallRateThreshold(policy.getSlowCallRateThreshold())
+                    .slowCallDurationThreshold(policy.getSlowCallDurationThreshold())
+                    .slidingWindowSize(policy.getSlidingWindowSize())
+                    .minimumNumberOfCalls(policy.getMinimumNumberOfCalls())
+                    .waitDurationInOpenState(policy.getWaitDurationInOpenState())
+                    .permittedNumberOfCallsInHalfOpenState(policy.getPermittedCallsInHalfOpenState())
+                    .recordException(KftcResilience::isServerSideFailure)
+                    .build();
+        });
+    }
+
+    private Bulkhead bulkhead(String endpoint) {
+        return bulkheadRegistry.bulkhead("kftc-" + endpoint, () -> BulkheadConfig.custom()
+                .maxConcurrentCalls(config.policyOf(endpoint).getMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+    }
+
+    private Timer latencyTimer(String endpoint) {
+        return latencyTimers.computeIfAbsent(endpoint, name -> Timer.builder("kftc.resilience.latency")
+                .tag("endpoint", name)
+                .description("hedge 대기 시간 산출용 KFTC 성공 호출 지연 시간")
+                .publishPercentiles(0.95)
+                .register(meterRegistry));
+    }
+
+    private Counter hedgeCounter(String endpoint) {
+        return hedgeCounters.computeIfAbsent(endpoint, name -> Counter.builder("kftc.resilience.hedged")
+                .tag("endpoint", name)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,180 @@
+package com.moim.payment.simulator;
+
+import com.moim.payment.service.KftcApiService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 내장 시뮬레이터를 대상으로 KftcApiService 의 처리량/지연 시간을 측정합니다.
+ * 실행: --spring.profiles.active=local,kftc-bench (kftc-sim 프로파일이 함께 활성화됨)
+ * 시뮬레이터 난수 시드가 고정되어 있어 같은 설정이면 같은 지연/오류 분포로 반복 측정할 수 있습니다.
+ */
+@Slf4j
+@Component
+@Profile("kftc-bench")
+@RequiredArgsConstructor
+public class KftcLoadBenchmark implements ApplicationRunner {
+
+    private static final String ACCESS_TOKEN = "SIM-BENCHMARK";
+    private static final String USER_SEQ_NO = "1100000001";
+    private static final String THREAD_MODEL_SCENARIO = "thread-model";
+
+    private final KftcApiService kftcApiService;
+    private final KftcSimulatorProperties properties;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        KftcSimulatorProperties.Benchmark benchmark = properties.getBenchmark();
+        log.info("KFTC 부하 측정 시작: scenario={}, requests={}, concurrency={}",
+                benchmark.getScenario(), benchmark.getRequests(), benchmark.getConcurrency());
+
+        String fintechUseNum = kftcApiService.getRegisteredAccountList(ACCESS_TOKEN, USER_SEQ_NO, true)
+                .map(resp -> resp.getResList().get(0).getFintechUseNum())
+                .block();
+
+        if (THREAD_MODEL_SCENARIO.equals(benchmark.getScenario())) {
+            compareThreadModels(fintechUseNum, benchmark);
+        } else {
+            // 워밍업 (JIT, 커넥션 풀)
+            execute(benchmark.getScenario(), fintechUseNum, benchmark.getWarmupRequests(), benchmark.getConcurrency());
+
+            Result result = execute(benchmark.getScenario(), fintechUseNum, benchmark.getRequests(), benchmark.getConcurrency());
+            result.report(benchmark.getScenario(), benchmark.getConcurrency());
+        }
+
+        if (benchmark.isExitOnFinish()) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private Result execute(String scenario, String fintechUseNum, int requests, int concurrency) {
+        long[] latencies = new long[requests];
+        AtomicInteger index = new AtomicInteger();
+        LongAdder failures = new LongAdder();
+        Map<String, LongAdder> failureTypes = new ConcurrentHashMap<>();
+
+        long start = System.nanoTime();
+        Flux.range(0, requests)
+                .flatMap(i -> {
+                    long begin = System.nanoTime();
+                    return call(scenario, fintechUseNum)
+                            .doOnSuccess(v -> latencies[index.getAndIncrement()] = System.nanoTime() - begin)
+                            .onErrorResume(e -> {
+                                failures.increment();
+                                failureTypes.computeIfAbsent(e.getClass().getSimpleName(), k -> new LongAdder()).increment();
+                                return Mono.empty();
+                            });
+                }, concurrency)
+                .blockLast();
+        long elapsed = System.nanoTime() - start;
+
+        return new Result(Arrays.copyOf(latencies, index.get()), failures.sum(), failureTypes, elapsed);
+    }
+
+    /**
+     * 요청 스레드에서 KFTC 응답을 기다리는(블로킹) 처리 방식을 스레드 모델별로 비교합니다.
+     * 플랫폼 스레드: Tomcat 기본 최대 스레드 수와 같은 고정 풀, 가상 스레드: 요청당 가상 스레드.
+     * 같은 동시 요청 수(concurrency)를 유지하며 잔액 조회를 block() 으로 기다립니다.
+     */
+    private void compareThreadModels(String fintechUseNum, KftcSimulatorProperties.Benchmark benchmark) {
+        int platformThreads = benchmark.getPlatformThreads();
+        try (ExecutorService warmup = Executors.newVirtualThreadPerTaskExecutor()) {
+            executeBlocking(warmup, fintechUseNum, benchmark.getWarmupRequests(), benchmark.getConcurrency());
+        }
+
+        try (ExecutorService platform = Executors.newFixedThreadPool(platformThreads)) {
+            executeBlocking(platform, fintechUseNum, benchmark.getRequests(), benchmark.getConcurrency())
+                    .report("thread-model/platform(" + platformThreads + ")", benchmark.getConcurrency());
+        }
+        try (ExecutorService virtual = Executors.newVirtualThreadPerTaskExecutor()) {
+            executeBlocking(virtual, fintechUseNum, benchmark.getRequests(), benchmark.getConcurrency())
+                    .report("thread-model/virtual", benchmark.getConcurrency());
+        }
+    }
+
+    private Result executeBlocking(ExecutorService executor, String fintechUseNum, int requests, int concurrency) {
+        long[] latencies = new long[requests];
+        AtomicInteger index = new AtomicInteger();
+        LongAdder failures = new LongAdder();
+        Map<String, LongAdder> failureTypes = new ConcurrentHashMap<>();
+        Semaphore outstanding = new Semaphore(concurrency);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            outstanding.acquireUninterruptibly();
+            // 요청 도착 시점부터 측정 (스레드 풀 대기 시간 포함)
+            long begin = System.nanoTime();
+            executor.execute(() -> {
+                try {
+                    kftcApiService.getAccountBalance(ACCESS_TOKEN, fintechUseNum, true).block();
+                    latencies[index.getAndIncrement()] = System.nanoTime() - begin;
+                } catch (RuntimeException e) {
+                    failures.increment();
+                    failureTypes.computeIfAbsent(e.getClass().getSimpleName(), k -> new LongAdder()).increment();
+                } finally {
+                    outstanding.release();
+                }
+            });
+        }
+        // 모든 허가를 되돌려 받으면 남은 요청이 모두 끝난 것
+        outstanding.acquireUninterruptibly(concurrency);
+        long elapsed = System.nanoTime() - start;
+
+        return new Result(Arrays.copyOf(latencies, index.get()), failures.sum(), failureTypes, elapsed);
+    }
+
+    private Mono<?> call(String scenario, String fintechUseNum) {
+        return switch (scenario) {
+            case "transactions" -> kftcApiService.streamTransactionHistory(ACCESS_TOKEN, fintechUseNum,
+                    LocalDate.now().minusMonths(3).format(DateTimeFormatter.BASIC_ISO_DATE),
+                    LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE)).count();
+            case "account-info" -> kftcApiService.getComprehensiveAccountInfo(ACCESS_TOKEN, USER_SEQ_NO, true);
+            default -> kftcApiService.getAccountBalance(ACCESS_TOKEN, fintechUseNum, true);
+        };
+    }
+
+    private record Result(long[] latencies, long failures, Map<String, LongAdder> failureTypes, long elapsedNanos) {
+
+        void report(String scenario, int concurrency) {
+            Arrays.sort(latencies);
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            log.info("KFTC 부하 측정 결과: scenario={}, concurrency={}, 성공={}, 실패={} {}, 처리량={} req/s",
+                    scenario, concurrency, latencies.length, failures, failureTypes,
+                    String.format("%.1f", (latencies.length + failures) / seconds));
+            log.info("지연 시간(ms): p50={}, p95={}, p99={}, max={}",
+                    millis(percentile(0.50)), millis(percentile(0.95)), millis(percentile(0.99)),
+                    millis(latencies.length > 0 ? latencies[latencies.length - 1] : 0));
+        }
+
+        private long percentile(double p) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            return latencies[Math.min(latencies.length - 1, (int) Math.ceil(p * latencies.length) - 1)];
+        }
+
+        private static String millis(long nanos) {
+            return String.format("%.1f", nanos / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package com.moim.payment.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 오프라인 부하 테스트용 내장 금융결제원(오픈뱅킹) 시뮬레이터.
+ * kftc-sim 프로파일에서 Reactor Netty HTTP 서버로 기동되며, 토큰/사용자등록/계좌목록/잔액/거래내역/출금/입금 API 를
+ * 실제와 같은 형태의 응답으로 흉내 냅니다. 엔드포인트별로 지연 분포, 오류율, 초당 처리 한도(429)를 설정할 수 있습니다.
+ */
+@Slf4j
+@Component
+@Profile("kftc-sim")
+@RequiredArgsConstructor
+public class KftcSimulator implements SmartLifecycle {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter DTM = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+    private static final double Z_99 = 2.326;
+
+    private final KftcSimulatorProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<String, SimpleRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    private Random random;
+    private volatile DisposableServer server;
+
+    @Override
+    public void start() {
+        this.random = new Random(properties.getSeed());
+        this.server = HttpServer.create()
+                .host(properties.getHost())
+                .port(properties.getPort())
+                .route(routes -> routes
+                        .post("/oauth/2.0/token", (req, res) -> handle("token", req, res, body -> token()))
+                        .post("/v2.0/user/register", (req, res) -> handle("userRegister", req, res, body -> userRegister()))
+                        .get("/v2.0/account/list", (req, res) -> handle("accountList", req, res, body -> accountList(req)))
+                        .get("/v2.0/account/balance/fin_num", (req, res) -> handle("balanceFinNum", req, res, body -> balance(req)))
+                        .get("/v2.0/account/transaction_list/fin_num", (req, res) -> handle("transactionListFinNum", req, res, body -> transactionList(req)))
+                        .post("/v2.0/transfer/withdraw/fin_num", (req, res) -> handle("withdrawFinNum", req, res, this::withdraw))
+                        .post("/v2.0/transfer/deposit/fin_num", (req, res) -> handle("depositFinNum", req, res, this::deposit))
+                        .post("/v2.0/transfer/result", (req, res) -> handle("transferResult", req, res, this::transferResult)))
+                .bindNow();
+        log.info("KFTC 시뮬레이터 기동: http://{}:{}", properties.getHost(), server.port());
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.disposeNow(Duration.ofSeconds(5));
+            server = null;
+            log.info("KFTC 시뮬레이터 종료");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    @Override
+    public int getPhase() {
+        // 애플리케이션 웹 서버/스케줄러보다 먼저 기동하고 나중에 종료
+        return Integer.MIN_VALUE + 1000;
+    }
+
+    private Mono<Void> handle(String endpoint, HttpServerRequest request, HttpServerResponse response,
+                              Function<JsonNode, Map<String, Object>> bodyFactory) {
+        KftcSimulatorProperties.Fault fault = properties.faultOf(endpoint);
+
+        return request.receive().aggregate().asString(StandardCharsets.UTF_8)
+                .defaultIfEmpty("")
+                .flatMap(raw -> {
+                    if (!rateLimiter(endpoint, fault).tryAcquire()) {
+                        return send(response, 429, error("O0007", "초당 처리 한도를 초과했습니다."));
+                    }
+
+                    double dice;
+                    Duration latency;
+                    synchronized (random) {
+                        dice = random.nextDouble();
+                        latency = sampleLatency(fault);
+                    }
+
+                    Map<String, Object> body;
+                    int status;
+                    if (dice < fault.getErrorRate()) {
+                        status = 500;
+                        body = error("O0001", "시뮬레이터 장애 응답");
+                    } else if (dice < fault.getErrorRate() + fault.getBusinessErrorRate()) {
+                        status = 200;
+                        body = error("A0002", "참가기관 에러 (시뮬레이터)");
+                    } else {
+                        status = 200;
+                        body = bodyFactory.apply(readJson(raw));
+                    }
+                    return Mono.delay(latency).then(send(response, status, body));
+                });
+    }
+
+    private Mono<Void> send(HttpServerResponse response, int status, Map<String, Object> body) {
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(body);
+        } catch (Exception e) {
+            return Mono.error(e);
+        }
+        return response.status(status)
+                .header("Content-Type", "application/json; charset=UTF-8")
+                .header("Content-Length", String.valueOf(bytes.length))
+                .sendByteArray(Mono.just(bytes))
+                .then();
+    }
+
+    // --- 응답 본문 ---
+
+    private Map<String, Object> token() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("access_token", "SIM-AT-" + Long.toHexString(nextLong()));
+        body.put("token_type", "Bearer");
+        body.put("expires_in", 7776000);
+        body.put("refresh_token", "SIM-RT-" + Long.toHexString(nextLong()));
+        body.put("scope", "login inquiry transfer");
+        body.put("user_seq_no", String.format("11%08d", Math.floorMod(nextLong(), 100_000_000L)));
+        return body;
+    }
+
+    private Map<String, Object> userRegister() {
+        Map<String, Object> body = success();
+        body.put("user_seq_no", String.format("11%08d", Math.floorMod(nextLong(), 100_000_000L)));
+        return body;
+    }
+
+    private Map<String, Object> accountList(HttpServerRequest request) {
+        String userSeqNo = queryParam(request, "user_seq_no");
+        List<Map<String, Object>> accounts = new ArrayList<>();
+        for (int i = 0; i < properties.getAccountsPerUser(); i++) {
+            String fintechUseNum = fintechUseNum(userSeqNo, i);
+            Map<String, Object> account = new LinkedHashMap<>();
+            account.put("fintech_use_num", fintechUseNum);
+            account.put("account_alias", "시뮬레이터 계좌 " + (i + 1));
+            account.put("bank_code_std", "097");
+            account.put("bank_name", "오픈은행");
+            account.put("account_num_masked", "000-1234-" + String.format("%04d", i) + "***");
+            account.put("account_holder_name", "홍길동");
+            account.put("account_type", "1");
+            account.put("inquiry_agree_yn", "Y");
+            account.put("transfer_agree_yn", "Y");
+            account.put("account_state", "01");
+            account.put("product_name", "자유입출금");
+            account.put("account_issue_date", "20200101");
+            account.put("last_tran_date", LocalDate.now().format(DATE));
+            accounts.add(account);
+        }
+
+        Map<String, Object> body = success();
+        body.put("user_name", "홍길동");
+        body.put("res_cnt", accounts.size());
+        body.put("res_list", accounts);
+        return body;
+    }
+
+    private Map<String, Object> balance(HttpServerRequest request) {
+        String fintechUseNum = queryParam(request, "fintech_use_num");
+        long balance = balanceOf(fintechUseNum);
+
+        Map<String, Object> body = bankSuccess(queryParam(request, "bank_tran_id"));
+        body.put("bank_name", "오픈은행");
+        body.put("fintech_use_num", fintechUseNum);
+        body.put("balance_amt", balance);
+        body.put("available_amt", balance);
+        body.put("account_type", "1");
+        body.put("product_name", "자유입출금");
+        return body;
+    }
+
+    private Map<String, Object> transactionList(HttpServerRequest request) {
+        String fintechUseNum = queryParam(request, "fintech_use_num");
+        String cursor = queryParam(request, "befor_inquiry_trace_info");
+        int page = cursor == null ? 0 : Integer.parseInt(cursor.substring(cursor.indexOf('-') + 1));
+        int pageSize = properties.getTransactionPageSize();
+        boolean hasNext = page + 1 < properties.getTransactionPages();
+
+        // 페이지/순번 기반으로 결정적인 거래내역 생성 (최신순)
+        long afterBalance = balanceOf(fintechUseNum);
+        LocalDateTime base = LocalDate.now().atTime(23, 59, 0);
+        List<Map<String, Object>> rows = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            int seq = page * pageSize + i;
+            LocalDateTime tranAt = base.minusMinutes(seq * 37L);
+            long amount = 1_000L * (1 + seq % 50);
+            boolean deposit = seq % 3 == 0;
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("tran_date", tranAt.format(DATE));
+            row.put("tran_time", tranAt.format(DateTimeFormatter.ofPattern("HHmmss")));
+            row.put("inout_type", deposit ? "입금" : "출금");
+            row.put("tran_type", "현금");
+            row.put("print_content", deposit ? "모임 회비" : "모임 지출 " + seq);
+            row.put("tran_amt", amount);
+            row.put("after_balance_amt", afterBalance - seq * 100L);
+            row.put("branch_name", "시뮬레이터지점");
+            rows.add(row);
+        }
+
+        Map<String, Object> body = bankSuccess(queryParam(request, "bank_tran_id"));
+        body.put("bank_name", "오픈은행");
+        body.put("fintech_use_num", fintechUseNum);
+        body.put("balance_amt", afterBalance);
+        body.put("page_record_cnt", rows.size());
+        body.put("next_page_yn", hasNext ? "Y" : "N");
+        body.put("befor_inquiry_trace_info", hasNext ? "SIM-" + (page + 1) : "");
+        body.put("res_list", rows);
+        return body;
+    }
+
+    private Map<String, Object> withdraw(JsonNode request) {
+        Map<String, Object> body = bankSuccess(text(request, "bank_tran_id"));
+        body.put("fintech_use_num", text(request, "fintech_use_num"));
+        body.put("account_num", "000-1234-0000***");
+        body.put("print_content", text(request, "wd_print_content"));
+        body.put("tran_amt", text(request, "tran_amt"));
+        body.put("wd_limit_remain_amt", "5000000");
+        return body;
+    }
+
+    private Map<String, Object> deposit(JsonNode request) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        JsonNode reqList = request != null ? request.path("req_list") : null;
+        if (reqList != null && reqList.isArray()) {
+            for (JsonNode item : reqList) {
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("tran_no", text(item, "tran_no"));
+                result.put("bank_tran_id", text(item, "bank_tran_id"));
+                result.put("bank_tran_date", LocalDate.now().format(DATE));
+                result.put("bank_code_tran", "097");
+                result.put("bank_rsp_code", "000");
+                result.put("bank_rsp_message", "");
+                result.put("fintech_use_num", text(item, "fintech_use_num"));
+                result.put("account_num", "000-1234-0000***");
+                result.put("print_content", text(item, "print_content"));
+                result.put("tran_amt", text(item, "tran_amt"));
+                results.add(result);
+            }
+        }
+
+        Map<String, Object> body = success();
+        body.put("wd_bank_code_std", "097");
+        body.put("wd_bank_name", "오픈은행");
+        body.put("wd_account_num_masked", "000-9999-0000***");
+        body.put("wd_print_content", text(request, "wd_print_content"));
+        body.put("res_cnt", String.valueOf(results.size()));
+        body.put("res_list", results);
+        return body;
+    }
+
+    private Map<String, Object> transferResult(JsonNode request) {
+        // 시뮬레이터는 원거래를 보관하지 않으므로 조회된 모든 거래를 정상 처리로 응답
+        List<Map<String, Object>> results = new ArrayList<>();
+        JsonNode reqList = request != null ? request.path("req_info").path("req_list") : null;
+        if (reqList != null && reqList.isArray()) {
+            for (JsonNode item : reqList) {
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("tran_no", text(item, "tran_no"));
+                result.put("bank_tran_id", text(item, "org_bank_tran_id"));
+                result.put("bank_tran_date", text(item, "org_bank_tran_date"));
+                result.put("bank_code_tran", "097");
+                result.put("bank_rsp_code", "000");
+                result.put("bank_rsp_message", "");
+                result.put("tran_amt", text(item, "org_tran_amt"));
+                results.add(result);
+            }
+        }
+
+        Map<String, Object> body = success();
+        body.put("res_cnt", String.valueOf(results.size()));
+        body.put("res_list", results);
+        return body;
+    }
+
+    // --- 공통 ---
+
+    private Map<String, Object> success() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("api_tran_id", "SIM" + Long.toHexString(nextLong()).toUpperCase());
+        body.put("api_tran_dtm", LocalDateTime.now().format(DTM));
+        body.put("rsp_code", "A0000");
+        body.put("rsp_message", "");
+        return body;
+    }
+
+    private Map<String, Object> bankSuccess(String bankTranId) {
+        Map<String, Object> body = success();
+        body.put("bank_tran_id", bankTranId);
+        body.put("bank_tran_date", LocalDate.now().format(DATE));
+        body.put("bank_code_tran", "097");
+        body.put("bank_rsp_code", "000");
+        body.put("bank_rsp_message", "");
+        return body;
+    }
+
+    private Map<String, Object> error(String rspCode, String message) {
+        Map<String, Object> body = success();
+        body.put("rsp_code", rspCode);
+        body.put("rsp_message", message);
+        return body;
+    }
+
+    /**
+     * 중앙값과 p99 로 정한 로그정규분포에서 지연 시간을 뽑습니다. (random 락 안에서 호출)
+     */
+    private Duration sampleLatency(KftcSimulatorProperties.Fault fault) {
+        double median = Math.max(1, fault.getLatencyMedian().toMillis());
+        double p99 = Math.max(median, fault.getLatencyP99().toMillis());
+        double sigma = Math.log(p99 / median) / Z_99;
+        double millis = median * Math.exp(sigma * random.nextGaussian());
+        return Duration.ofMillis(Math.round(millis));
+    }
+
+    private SimpleRateLimiter rateLimiter(String endpoint, KftcSimulatorProperties.Fault fault) {
+        return rateLimiters.computeIfAbsent(endpoint, name -> new SimpleRateLimiter(fault.getRateLimitPerSecond()));
+    }
+
+    private long nextLong() {
+        synchronized (random) {
+            return random.nextLong();
+        }
+    }
+
+    private String fintechUseNum(String userSeqNo, int index) {
+        String seed = userSeqNo != null ? userSeqNo : "0";
+        return String.format("1200%011d%09d", Math.floorMod(seed.hashCode(), 100_000_000_000L), index);
+    }
+
+    private long balanceOf(String fintechUseNum) {
+        return 100_000L + Math.floorMod(fintechUseNum != null ? fintechUseNum.hashCode() : 0, 9_900_000);
+    }
+
+    private JsonNode readJson(String raw) {
+        if (raw == null || raw.isBlank() || raw.charAt(0) != '{') {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(raw);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        return node != null && node.hasNonNull(field) ? node.get(field).asText() : null;
+    }
+
+    private static String queryParam(HttpServerRequest request, String name) {
+        String uri = request.uri();
+        int queryStart = uri.indexOf('?');
+        if (queryStart < 0) {
+            return null;
+        }
+        for (String pair : uri.substring(queryStart + 1).split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 초 단위 고정 창 처리율 제한 (시뮬레이터용 단순 구현)
+     */
+    private static final class SimpleRateLimiter {
+        private final double limitPerSecond;
+        private long windowSecond;
+        private int count;
+
+        SimpleRateLimiter(double limitPerSecond) {
+            this.limitPerSecond = limitPerSecond;
+        }
+
+        synchronized boolean tryAcquire() {
+            if (limitPerSecond <= 0) {
+                return true;
+            }
+            long nowSecond = System.currentTimeMillis() / 1000;
+            if (nowSecond != windowSecond) {
+                windowSecond = nowSecond;
+                count = 0;
+            }
+            return ++count <= limitPerSecond;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.moim.payment.simulator;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 내장 KFTC 시뮬레이터 설정 (kftc-sim 프로파일)
+ */
+@Data
+@Configuration
+@Profile("kftc-sim")
+@ConfigurationProperties(prefix = "kftc.simulator")
+public class KftcSimulatorProperties {
+    private String host = "127.0.0.1";
+    private int port = 18443;
+    private long seed = 42L;                                           // 지연/오류 난수 시드 (재현 가능한 벤치마크)
+    private int accountsPerUser = 3;
+    private int transactionPageSize = 25;                              // 거래내역 한 페이지 건수
+    private int transactionPages = 4;                                  // 기간과 무관하게 내려줄 페이지 수
+    private Fault defaults = new Fault();
+    private Map<String, Fault> endpoints = new HashMap<>();            // 키: token, userRegister, accountList, balanceFinNum ...
+    private Benchmark benchmark = new Benchmark();
+
+    public Fault faultOf(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaults);
+    }
+
+    /**
+     * 엔드포인트별 응답 지연/오류 주입 설정
+     */
+    @Data
+    public static class Fault {
+        private Duration latencyMedian = Duration.ofMillis(80);        // 로그정규분포 지연 시간 중앙값
+        private Duration latencyP99 = Duration.ofMillis(400);          // 로그정규분포 지연 시간 p99
+        private double errorRate = 0.0;                                // HTTP 500 응답 비율 (0~1)
+        private double businessErrorRate = 0.0;                        // HTTP 200 + rsp_code 오류 비율 (0~1)
+        private double rateLimitPerSecond = 0;                         // 초과 시 HTTP 429 (0: 제한 없음)
+    }
+
+    /**
+     * 시뮬레이터 대상 KftcApiService 부하 측정 설정 (kftc-bench 프로파일)
+     */
+    @Data
+    public static class Benchmark {
+        private String scenario = "balance";                           // balance | transactions | account-info | thread-model
+        private int warmupRequests = 500;
+        private int requests = 10_000;
+        private int concurrency = 64;
+        private int platformThreads = 200;                             // thread-model: 플랫폼 스레드 풀 크기 (Tomcat 기본 max-threads)
+        private boolean exitOnFinish = true;
+    }
+}
@@ -0,0 +1,24 @@
+package com.moim.payment.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 토큰 등 비밀값을 원문 대신 키로 쓰기 위한 다이제스트
+ */
+public class DigestUtil {
+
+    /**
+     * SHA-256 다이제스트 (hex)
+     */
+    public static String sha256Hex(String value) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.moim.payment.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 로그/감사 기록용 개인정보 마스킹.
+ * - 계좌번호: 끝 4자리만 노출 (****1234)
+ * - 핀테크이용번호: 앞 3자리, 끝 4자리만 노출
+ * - CI / 토큰 / 인증코드 / 비밀값: 전체 마스킹
+ */
+public class MaskingUtil {
+
+    private static final String MASK = "****";
+
+    // *_account_num (account_num_masked 는 이미 마스킹된 값이므로 제외)
+    private static final String ACCOUNT_KEYS = "[a-z_]*account_num(?:ber)?";
+    private static final String FINTECH_KEYS = "fintech_use_num";
+    private static final String SECRET_KEYS = "user_ci|ci|[a-z_]*token|code|client_secret|wd_pass_phrase|password";
+
+    private static final Pattern ACCOUNT_KEY = Pattern.compile(ACCOUNT_KEYS);
+    private static final Pattern JSON_FIELD = Pattern.compile(
+            "\"(" + ACCOUNT_KEYS + "|" + FINTECH_KEYS + "|" + SECRET_KEYS + ")\"\\s*:\\s*\"([^\"]*)\"",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern FORM_FIELD = Pattern.compile(
+            "(?<=^|[?&])(" + ACCOUNT_KEYS + "|" + FINTECH_KEYS + "|" + SECRET_KEYS + ")=([^&]*)",
+            Pattern.CASE_INSENSITIVE);
+
+    public static String accountNum(String accountNum) {
+        if (accountNum == null || accountNum.isEmpty()) {
+            return accountNum;
+        }
+        return accountNum.length() <= 4 ? MASK : MASK + accountNum.substring(accountNum.length() - 4);
+    }
+
+    public static String fintechUseNum(String fintechUseNum) {
+        if (fintechUseNum == null || fintechUseNum.isEmpty()) {
+            return fintechUseNum;
+        }
+        return fintechUseNum.length() <= 7 ? MASK
+                : fintechUseNum.substring(0, 3) + MASK + fintechUseNum.substring(fintechUseNum.length() - 4);
+    }
+
+    /**
+     * JSON 문자열의 민감 필드 값을 마스킹합니다. (파싱 없이 필드 단위 치환)
+     */
+    public static String json(String json) {
+        return json == null || json.isEmpty() ? json : replace(JSON_FIELD.matcher(json), true);
+    }
+
+    /**
+     * x-www-form-urlencoded 본문 / 쿼리 문자열의 민감 파라미터 값을 마스킹합니다.
+     */
+    public static String form(String form) {
+        return form == null || form.isEmpty() ? form : replace(FORM_FIELD.matcher(form), false);
+    }
+
+    private static String replace(Matcher matcher, boolean json) {
+        StringBuilder masked = new StringBuilder();
+        while (matcher.find()) {
+            String key = matcher.group(1);
+            String value = mask(key.toLowerCase(), matcher.group(2));
+            String replacement = json ? "\"" + key + "\":\"" + value + "\"" : key + "=" + value;
+            matcher.appendReplacement(masked, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(masked);
+        return masked.toString();
+    }
+
+    private static String mask(String key, String value) {
+        if (key.equals(FINTECH_KEYS)) {
+            return fintechUseNum(value);
+        }
+        if (ACCOUNT_KEY.matcher(key).matches()) {
+            return accountNum(value);
+        }
+        return value.isEmpty() ? value : MASK;
+    }
+}
@@ -0,0 +1,101 @@
+package com.moim.payment.config.auth;
+
+import com.moim.payment.domain.RevokedAccessToken;
+import com.moim.payment.repository.RevokedAccessTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Access Token 폐기 목록 (Bloom 필터 + 정확한 집합, 노드 간 동기화, 만료 처리)
+ */
+class AccessTokenRevocationListTest {
+
+    private static final Long USR_ID = 1L;
+
+    private RevokedAccessTokenRepository revokedAccessTokenRepository;
+    private AccessTokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        revokedAccessTokenRepository = mock(RevokedAccessTokenRepository.class);
+        revocationList = new AccessTokenRevocationList(revokedAccessTokenRepository, new SimpleMeterRegistry(), 4, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void 폐기한_토큰만_폐기로_판단한다() {
+        revocationList.revoke("jti-revoked", USR_ID, LocalDateTime.now().plusMinutes(30));
+
+        assertTrue(revocationList.isRevoked("jti-revoked"));
+        assertFalse(revocationList.isRevoked("jti-unknown"));
+        assertFalse(revocationList.isRevoked(null));
+        verify(revokedAccessTokenRepository).save(any(RevokedAccessToken.class));
+    }
+
+    @Test
+    void 예상보다_많이_폐기되어도_모든_폐기_토큰을_찾고_오탐은_없다() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(30);
+        for (int i = 0; i < 500; i++) {
+            revocationList.revoke("jti-" + i, USR_ID, expiresAt);
+        }
+
+        for (int i = 0; i < 500; i++) {
+            assertTrue(revocationList.isRevoked("jti-" + i), "jti-" + i);
+        }
+        for (int i = 0; i < 5000; i++) {
+            assertFalse(revocationList.isRevoked("other-" + i), "other-" + i);
+        }
+    }
+
+    @Test
+    void 다른_노드가_폐기한_토큰을_동기화로_반영한다() {
+        LocalDateTime now = LocalDateTime.now();
+        when(revokedAccessTokenRepository.findByExpiresAtAfter(any()))
+                .thenReturn(List.of(new RevokedAccessToken("jti-remote", 2L, now.plusMinutes(30), now)));
+        assertFalse(revocationList.isRevoked("jti-remote"));
+
+        revocationList.sync();
+
+        assertTrue(revocationList.isRevoked("jti-remote"));
+
+        // 두 번째 동기화부터는 마지막 폐기 시각 - syncOverlap 이후만 조회
+        revocationList.sync();
+        verify(revokedAccessTokenRepository).findByRevokedAtAfterAndExpiresAtAfter(eq(now.minusMinutes(1)), any());
+    }
+
+    @Test
+    void 만료된_폐기_기록은_폐기로_판단하지_않는다() {
+        LocalDateTime now = LocalDateTime.now();
+        revocationList.revoke("jti-expired", USR_ID, now.minusSeconds(1));
+        when(revokedAccessTokenRepository.findByExpiresAtAfter(any()))
+                .thenReturn(List.of(new RevokedAccessToken("jti-synced-expired", 2L, now.minusSeconds(1), now.minusMinutes(5))));
+        revocationList.sync();
+
+        assertFalse(revocationList.isRevoked("jti-expired"));
+        assertFalse(revocationList.isRevoked("jti-synced-expired"));
+        verify(revokedAccessTokenRepository, never()).save(any());
+
+        revocationList.prune();
+        assertFalse(revocationList.isRevoked("jti-synced-expired"));
+        verify(revokedAccessTokenRepository).deleteExpired(any());
+    }
+
+    @Test
+    void 이미_저장된_폐기_기록이어도_이_노드에는_반영한다() {
+        when(revokedAccessTokenRepository.save(any(RevokedAccessToken.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        revocationList.revoke("jti-duplicate", USR_ID, LocalDateTime.now().plusMinutes(30));
+
+        assertTrue(revocationList.isRevoked("jti-duplicate"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.moim.payment.config.auth;
+
+import com.moim.payment.exception.PasswordHashingUnavailableException;
+import com.moim.payment.service.TokenService;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * /api/login 실패 응답 (비밀번호 해시 실행기 포화는 503, 인증 실패는 기존대로 401)
+ */
+class JwtAuthenticationFilterTest {
+
+    @Test
+    void 비밀번호_해시_실행기가_포화되면_503으로_응답한다() throws Exception {
+        AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+        when(authenticationManager.authenticate(any()))
+                .thenThrow(new PasswordHashingUnavailableException("로그인 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."));
+
+        MockHttpServletResponse response = login(authenticationManager);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void 비밀번호가_틀리면_503이_아니다() throws Exception {
+        AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("bad credentials"));
+
+        MockHttpServletResponse response = login(authenticationManager);
+
+        assertNotEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    private MockHttpServletResponse login(AuthenticationManager authenticationManager) throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(authenticationManager, mock(TokenService.class));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/login");
+        request.setServletPath("/api/login");
+        request.setContentType("application/json");
+        request.setContent("{\"usrname\":\"moim01\",\"password\":\"password1\"}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, mock(FilterChain.class));
+        return response;
+    }
+}
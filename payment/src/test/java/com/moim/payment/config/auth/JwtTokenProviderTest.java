@@ -0,0 +1,116 @@
+package com.moim.payment.config.auth;
+
+import com.moim.payment.repository.RevokedAccessTokenRepository;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 검증된 Access Token 인증 정보 캐시 (exp 만료, 캐시 적중 시 폐기 확인, exp 없는 토큰, 요청별 인증 객체)
+ */
+class JwtTokenProviderTest {
+
+    private static final Long USR_ID = 1L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AccessTokenRevocationList revocationList;
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new AccessTokenRevocationList(mock(RevokedAccessTokenRepository.class), meterRegistry, 4, Duration.ofMinutes(1));
+        jwtTokenProvider = new JwtTokenProvider(meterRegistry, revocationList);
+        jwtTokenProvider.init();
+    }
+
+    @Test
+    void 캐시된_토큰도_exp_가_지나면_인증되지_않는다() throws InterruptedException {
+        // exp 는 초 단위이므로 다음 초 경계 이후로 설정
+        Instant expiresAt = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(2);
+        String token = token("jti-1", expiresAt);
+
+        assertNotNull(jwtTokenProvider.getAuthentication(token));
+        assertNotNull(jwtTokenProvider.getAuthentication(token));
+        assertEquals(1.0, cacheHits());
+
+        Thread.sleep(Math.max(0, Duration.between(Instant.now(), expiresAt).toMillis()) + 100);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtTokenProvider.getAuthentication(token));
+        assertFalse(jwtTokenProvider.validateToken(token));
+    }
+
+    @Test
+    void 캐시_적중이어도_폐기된_토큰은_거절한다() {
+        String token = token("jti-2", Instant.now().plus(Duration.ofMinutes(30)));
+        jwtTokenProvider.getAuthentication(token);
+
+        // 다른 노드에서 폐기되어 동기화된 경우 (이 노드의 캐시는 그대로 남아 있음)
+        revocationList.revoke("jti-2", USR_ID, LocalDateTime.now().plusMinutes(30));
+
+        assertThrows(JwtException.class, () -> jwtTokenProvider.getAuthentication(token));
+        assertFalse(jwtTokenProvider.validateToken(token));
+        assertEquals(2.0, cacheHits());
+    }
+
+    @Test
+    void exp_가_없는_토큰은_캐시하지_않는다() {
+        String token = Jwts.builder()
+                .id("jti-3")
+                .subject("moim01")
+                .claim("id", USR_ID)
+                .claim("roles", "USER")
+                .signWith(Keys.hmacShaKeyFor(JwtVO.SECRET.getBytes()))
+                .compact();
+
+        jwtTokenProvider.getAuthentication(token);
+        jwtTokenProvider.getAuthentication(token);
+
+        assertEquals(0.0, cacheHits());
+    }
+
+    @Test
+    void 요청마다_새_인증_객체를_반환한다() {
+        String token = token("jti-4", Instant.now().plus(Duration.ofMinutes(30)));
+
+        Authentication first = jwtTokenProvider.getAuthentication(token);
+        Authentication second = jwtTokenProvider.getAuthentication(token);
+
+        assertNotSame(first, second);
+        assertEquals(first.getName(), second.getName());
+        assertEquals(USR_ID, second.getDetails());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+        // 한 요청에서 바꾼 값이 다른 요청의 인증 객체에 남지 않음
+        first.setAuthenticated(false);
+        assertTrue(jwtTokenProvider.getAuthentication(token).isAuthenticated());
+    }
+
+    private double cacheHits() {
+        return meterRegistry.get("cache.gets").tag("cache", "jwt.authentication").tag("result", "hit")
+                .functionCounter().count();
+    }
+
+    private static String token(String jti, Instant expiresAt) {
+        return Jwts.builder()
+                .id(jti)
+                .subject("moim01")
+                .claim("id", USR_ID)
+                .claim("roles", "USER")
+                .expiration(Date.from(expiresAt))
+                .signWith(Keys.hmacShaKeyFor(JwtVO.SECRET.getBytes()))
+                .compact();
+    }
+}
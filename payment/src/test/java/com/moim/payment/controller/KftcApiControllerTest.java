@@ -0,0 +1,108 @@
+package com.moim.payment.controller;
+
+import com.moim.payment.config.KftcApiProperties;
+import com.moim.payment.domain.KftcTransfer;
+import com.moim.payment.dto.kftc.AccountInfoDto;
+import com.moim.payment.dto.kftc.TransferReqDto;
+import com.moim.payment.exception.KftcApiException;
+import com.moim.payment.service.KftcAccountSnapshotService;
+import com.moim.payment.service.KftcApiService;
+import com.moim.payment.service.KftcTokenVaultService;
+import com.moim.payment.service.KftcTransactionSyncService;
+import com.moim.payment.service.KftcTransferStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 계좌 정보 조회의 스냅샷 미스 경로가 로그인 사용자의 토큰 보관소로 이어지는지 확인
+ */
+class KftcApiControllerTest {
+
+    private static final Long USR_ID = 42L;
+
+    private KftcApiService kftcApiService;
+    private KftcTokenVaultService kftcTokenVaultService;
+    private KftcAccountSnapshotService kftcAccountSnapshotService;
+    private KftcTransferStore kftcTransferStore;
+    private KftcApiController kftcApiController;
+
+    @BeforeEach
+    void setUp() {
+        kftcApiService = mock(KftcApiService.class);
+        kftcTokenVaultService = mock(KftcTokenVaultService.class);
+        kftcAccountSnapshotService = mock(KftcAccountSnapshotService.class);
+        kftcTransferStore = mock(KftcTransferStore.class);
+        kftcApiController = new KftcApiController(kftcApiService, kftcTokenVaultService, mock(KftcTransactionSyncService.class),
+                new KftcApiProperties(), kftcTransferStore, kftcAccountSnapshotService);
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken("user", null, List.of());
+        authentication.setDetails(USR_ID);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void 스냅샷이_없으면_요청_스레드의_사용자로_보관소_토큰을_조회한다() {
+        // 실제 스냅샷 조회처럼 boundedElastic 에서 빈 결과로 완료 (이 스레드에는 SecurityContext 가 없음)
+        when(kftcAccountSnapshotService.findFresh(USR_ID))
+                .thenReturn(Mono.<AccountInfoDto>empty().subscribeOn(Schedulers.boundedElastic()));
+        when(kftcTokenVaultService.getToken(USR_ID)).thenReturn(Mono.just(
+                new KftcTokenVaultService.VaultToken("vault-token", "refresh", "1100000001", LocalDateTime.now().plusDays(1))));
+        AccountInfoDto accountInfo = AccountInfoDto.builder().bankName("테스트은행").build();
+        when(kftcApiService.getComprehensiveAccountInfo("vault-token", "1100000001", false)).thenReturn(Mono.just(accountInfo));
+
+        ResponseEntity<?> response = kftcApiController.getAccountInfo(Map.of()).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(accountInfo, response.getBody());
+        verify(kftcTokenVaultService).getToken(USR_ID);
+    }
+
+    @Test
+    void 스냅샷이_유효하면_KFTC_를_호출하지_않는다() {
+        AccountInfoDto snapshot = AccountInfoDto.builder().bankName("테스트은행").build();
+        when(kftcAccountSnapshotService.findFresh(USR_ID)).thenReturn(Mono.just(snapshot));
+
+        ResponseEntity<?> response = kftcApiController.getAccountInfo(Map.of()).block();
+
+        assertSame(snapshot, response.getBody());
+        verifyNoInteractions(kftcTokenVaultService);
+        verify(kftcApiService, never()).getComprehensiveAccountInfo(any(), any(), anyBoolean());
+    }
+
+    @Test
+    void 같은_멱등키로_다른_이체를_요청하면_409_로_응답한다() {
+        when(kftcTokenVaultService.getToken(USR_ID)).thenReturn(Mono.just(
+                new KftcTokenVaultService.VaultToken("vault-token", "refresh", "1100000001", LocalDateTime.now().plusDays(1))));
+        when(kftcTransferStore.submit(eq(USR_ID), eq(KftcTransfer.TransferType.WITHDRAW), eq("key-1"), any()))
+                .thenThrow(new KftcApiException("IDEMPOTENCY_KEY_REUSED", "같은 멱등키로 다른 이체 요청이 접수되었습니다.",
+                        HttpStatus.CONFLICT, null));
+
+        ResponseEntity<?> response = kftcApiController.withdrawTransfer("key-1",
+                TransferReqDto.builder().fintechUseNum("199159919057870978715901").tranAmt("99000").build()).block();
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("IDEMPOTENCY_KEY_REUSED", ((Map<?, ?>) response.getBody()).get("error"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.moim.payment.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Refresh Token 메모리 저장소의 재발급(rotate) 규칙 (1회 사용, 만료, 동시 재발급)
+ */
+class InMemoryRefreshTokenStoreTest {
+
+    private static final Long USR_ID = 1L;
+
+    private final InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore();
+
+    @Test
+    void 현재_토큰으로_한_번만_재발급된다() {
+        LocalDateTime now = LocalDateTime.now();
+        store.save(USR_ID, "hash-1", now.plusDays(14));
+
+        assertTrue(store.rotate(USR_ID, "hash-1", "hash-2", now.plusDays(14), now));
+        // 이미 사용된(교체된) 토큰은 재사용 불가
+        assertFalse(store.rotate(USR_ID, "hash-1", "hash-3", now.plusDays(14), now));
+        assertTrue(store.rotate(USR_ID, "hash-2", "hash-3", now.plusDays(14), now));
+    }
+
+    @Test
+    void 만료되었거나_없는_토큰은_재발급되지_않는다() {
+        LocalDateTime now = LocalDateTime.now();
+        store.save(USR_ID, "hash-1", now.minusSeconds(1));
+
+        assertFalse(store.rotate(USR_ID, "hash-1", "hash-2", now.plusDays(14), now));
+        assertFalse(store.rotate(2L, "hash-1", "hash-2", now.plusDays(14), now));
+
+        store.save(USR_ID, "hash-1", now.plusDays(14));
+        store.delete(USR_ID);
+        assertFalse(store.rotate(USR_ID, "hash-1", "hash-2", now.plusDays(14), now));
+    }
+
+    @Test
+    void 같은_토큰으로_동시에_재발급하면_한_요청만_성공한다() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 50; round++) {
+                store.save(USR_ID, "hash-" + round, now.plusDays(14));
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    String newHash = "hash-" + round + "-" + i;
+                    String currentHash = "hash-" + round;
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return store.rotate(USR_ID, currentHash, newHash, now.plusDays(14), now);
+                    }));
+                }
+                start.countDown();
+
+                int succeeded = 0;
+                for (Future<Boolean> result : results) {
+                    if (result.get()) {
+                        succeeded++;
+                    }
+                }
+                assertEquals(1, succeeded, "round " + round);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void 만료된_토큰만_삭제한다() {
+        LocalDateTime now = LocalDateTime.now();
+        store.save(1L, "hash-1", now.minusMinutes(1));
+        store.save(2L, "hash-2", now.minusMinutes(1));
+        store.save(3L, "hash-3", now.plusDays(14));
+
+        assertEquals(2, store.deleteExpired(now, 100));
+
+        assertFalse(store.rotate(1L, "hash-1", "new", now.plusDays(14), now.minusMinutes(2)));
+        assertTrue(store.rotate(3L, "hash-3", "new", now.plusDays(14), now));
+    }
+
+    @Test
+    void 만료_삭제는_batchSize_만큼만_지운다() {
+        LocalDateTime now = LocalDateTime.now();
+        for (long usrId = 1; usrId <= 5; usrId++) {
+            store.save(usrId, "hash-" + usrId, now.minusMinutes(1));
+        }
+
+        assertEquals(2, store.deleteExpired(now, 2));
+        assertEquals(3, store.deleteExpired(now, 100));
+        assertEquals(0, store.deleteExpired(now, 100));
+    }
+}
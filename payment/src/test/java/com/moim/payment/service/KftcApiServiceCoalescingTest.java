@@ -0,0 +1,119 @@
+package com.moim.payment.service;
+
+import com.moim.payment.config.KftcApiProperties;
+import com.moim.payment.dto.kftc.KftcBalanceResp;
+import com.moim.payment.service.kftc.KftcBankTranIdGenerator;
+import com.moim.payment.service.kftc.KftcClock;
+import com.moim.payment.service.kftc.KftcInquiryCache;
+import com.moim.payment.service.kftc.KftcRequestCoalescer;
+import com.moim.payment.service.kftc.KftcRequestEnvelope;
+import com.moim.payment.service.kftc.KftcResilience;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 잔액 조회의 요청 병합(single-flight)과 캐시가 호출자 토큰/이체 제거를 구분하는지 확인
+ */
+class KftcApiServiceCoalescingTest {
+
+    private static final String FINTECH_USE_NUM = "199159919057870978715901";
+
+    // KFTC 로 나간 요청의 Authorization 헤더와, 각 요청의 응답을 보낼 시점을 제어하는 sink
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+    private final List<Sinks.One<Long>> responses = new CopyOnWriteArrayList<>();
+    private KftcInquiryCache kftcInquiryCache;
+    private KftcApiService kftcApiService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        KftcApiProperties properties = new KftcApiProperties();
+        properties.getEndpoints().setBalanceFinNum("http://kftc.test/v2.0/account/balance/fin_num");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    authorizations.add(request.headers().getFirst(HttpHeaders.AUTHORIZATION));
+                    Sinks.One<Long> balance = Sinks.one();
+                    responses.add(balance);
+                    return balance.asMono().map(amount -> ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body("{\"rsp_code\":\"A0000\",\"balance_amt\":" + amount + "}")
+                            .build());
+                })
+                .build();
+
+        KftcResilience kftcResilience = mock(KftcResilience.class);
+        when(kftcResilience.hedgedInquiry(anyString(), any(Supplier.class)))
+                .thenAnswer(invocation -> ((Supplier<Mono<?>>) invocation.getArgument(1)).get());
+        KftcBankTranIdGenerator kftcBankTranIdGenerator = mock(KftcBankTranIdGenerator.class);
+        when(kftcBankTranIdGenerator.next()).thenReturn("M202501486U000000001");
+
+        kftcInquiryCache = new KftcInquiryCache(properties, meterRegistry);
+        kftcApiService = new KftcApiService(webClient, properties, kftcInquiryCache,
+                new KftcRequestCoalescer(meterRegistry), kftcResilience, kftcBankTranIdGenerator,
+                new KftcClock(), mock(KftcRequestEnvelope.class));
+    }
+
+    @Test
+    void 다른_토큰의_동시_조회는_진행중인_호출에_합류하지_않는다() {
+        CompletableFuture<KftcBalanceResp> victim = kftcApiService.getAccountBalance("victim-token", FINTECH_USE_NUM).toFuture();
+        CompletableFuture<KftcBalanceResp> attacker = kftcApiService.getAccountBalance("x", FINTECH_USE_NUM).toFuture();
+
+        assertEquals(List.of("Bearer victim-token", "Bearer x"), authorizations);
+        responses.get(0).tryEmitValue(1_000_000L);
+        responses.get(1).tryEmitValue(0L);
+
+        assertEquals(1_000_000, victim.join().getBalanceAmt());
+        assertEquals(0, attacker.join().getBalanceAmt());
+    }
+
+    @Test
+    void 같은_토큰의_동시_조회는_한번만_호출한다() {
+        CompletableFuture<KftcBalanceResp> first = kftcApiService.getAccountBalance("token", FINTECH_USE_NUM).toFuture();
+        CompletableFuture<KftcBalanceResp> second = kftcApiService.getAccountBalance("token", FINTECH_USE_NUM, true).toFuture();
+
+        assertEquals(1, authorizations.size());
+        responses.get(0).tryEmitValue(500L);
+
+        assertEquals(500, first.join().getBalanceAmt());
+        assertEquals(500, second.join().getBalanceAmt());
+    }
+
+    @Test
+    void 이체로_제거되기_전에_시작된_조회는_합류되지도_캐시되지도_않는다() {
+        CompletableFuture<KftcBalanceResp> beforeTransfer = kftcApiService.getAccountBalance("token", FINTECH_USE_NUM).toFuture();
+
+        kftcInquiryCache.evictBalance(FINTECH_USE_NUM);
+        CompletableFuture<KftcBalanceResp> afterTransfer = kftcApiService.getAccountBalance("token", FINTECH_USE_NUM).toFuture();
+
+        assertEquals(2, authorizations.size(), "이체 후 조회는 이전 호출에 합류하지 않아야 함");
+        responses.get(1).tryEmitValue(700L);
+        responses.get(0).tryEmitValue(1_000L);
+        assertEquals(1_000, beforeTransfer.join().getBalanceAmt());
+        assertEquals(700, afterTransfer.join().getBalanceAmt());
+
+        // 이체 이전 잔액(1,000)이 나중에 완료되었어도 캐시에는 이체 후 잔액이 남음
+        assertEquals(700, kftcApiService.getAccountBalance("token", FINTECH_USE_NUM).block().getBalanceAmt());
+        assertEquals(2, authorizations.size());
+    }
+}
@@ -0,0 +1,109 @@
+package com.moim.payment.service;
+
+import com.moim.payment.config.KftcApiProperties;
+import com.moim.payment.dto.kftc.TransferReqDto;
+import com.moim.payment.dto.kftc.TransferRespDto;
+import com.moim.payment.service.kftc.KftcBankTranIdGenerator;
+import com.moim.payment.service.kftc.KftcClock;
+import com.moim.payment.service.kftc.KftcInquiryCache;
+import com.moim.payment.service.kftc.KftcRequestCoalescer;
+import com.moim.payment.service.kftc.KftcRequestEnvelope;
+import com.moim.payment.service.kftc.KftcResilience;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 이체 응답의 결과부(참가기관 응답코드)가 rsp_code 와 관계없이 건별로 매핑되는지 확인
+ */
+class KftcApiServiceTransferTest {
+
+    private static final String BANK_TRAN_ID = "M202501486U000000001";
+
+    private String responseBody;
+    private KftcApiService kftcApiService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        KftcApiProperties properties = new KftcApiProperties();
+        properties.getEndpoints().setWithdrawFinNum("http://kftc.test/v2.0/transfer/withdraw/fin_num");
+        properties.getEndpoints().setDepositFinNum("http://kftc.test/v2.0/transfer/deposit/fin_num");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(responseBody)
+                        .build()))
+                .build();
+
+        KftcResilience kftcResilience = mock(KftcResilience.class);
+        when(kftcResilience.call(anyString(), any(Supplier.class)))
+                .thenAnswer(invocation -> ((Supplier<Mono<?>>) invocation.getArgument(1)).get());
+
+        kftcApiService = new KftcApiService(webClient, properties, new KftcInquiryCache(properties, meterRegistry),
+                new KftcRequestCoalescer(meterRegistry), kftcResilience, mock(KftcBankTranIdGenerator.class),
+                new KftcClock(), mock(KftcRequestEnvelope.class));
+    }
+
+    @Test
+    void 출금이체_처리중_응답도_참가기관_응답코드를_매핑한다() {
+        responseBody = "{\"rsp_code\":\"A0007\",\"rsp_message\":\"처리중\",\"bank_tran_id\":\"" + BANK_TRAN_ID + "\","
+                + "\"bank_rsp_code\":\"400\",\"bank_rsp_message\":\"처리중\"}";
+
+        TransferRespDto response = kftcApiService.processWithdrawTransfer("access-token", request(), BANK_TRAN_ID).block();
+
+        assertEquals("A0007", response.getRspCode());
+        assertEquals(BANK_TRAN_ID, response.getBankTranId());
+        assertEquals("400", response.getBankRspCode());
+    }
+
+    @Test
+    void 입금이체_오류_응답도_건별_결과를_매핑한다() {
+        responseBody = "{\"rsp_code\":\"A0003\",\"res_cnt\":1,\"res_list\":[{\"tran_no\":\"1\",\"bank_tran_id\":\"" + BANK_TRAN_ID + "\","
+                + "\"bank_rsp_code\":\"551\",\"bank_rsp_message\":\"수취계좌 오류\"}]}";
+
+        TransferRespDto response = kftcApiService.processDepositTransfer("access-token", request(), BANK_TRAN_ID).block();
+
+        assertEquals("A0003", response.getRspCode());
+        assertEquals("551", response.getBankRspCode());
+    }
+
+    @Test
+    void 다건_입금이체는_tran_no_로_건별_결과를_맞추고_결과가_없는_건은_참가기관_응답코드를_비운다() {
+        responseBody = "{\"rsp_code\":\"A0000\",\"res_cnt\":1,\"res_list\":[{\"tran_no\":\"2\",\"bank_tran_id\":\"M202501486U000000002\","
+                + "\"bank_rsp_code\":\"000\",\"bank_rsp_message\":\"\"}]}";
+
+        List<TransferRespDto> responses = kftcApiService.processDepositTransfers("access-token", List.of(request(), request()),
+                List.of(BANK_TRAN_ID, "M202501486U000000002")).block();
+
+        assertEquals(2, responses.size());
+        assertEquals("A0000", responses.get(0).getRspCode());
+        assertNull(responses.get(0).getBankRspCode());
+        assertEquals("000", responses.get(1).getBankRspCode());
+        assertEquals("M202501486U000000002", responses.get(1).getBankTranId());
+    }
+
+    private static TransferReqDto request() {
+        return TransferReqDto.builder()
+                .fintechUseNum("199159919057870978715901")
+                .tranAmt("10000")
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.moim.payment.service;
+
+import com.moim.payment.config.KftcApiProperties;
+import com.moim.payment.domain.KftcUserToken;
+import com.moim.payment.dto.kftc.KftcTokenResp;
+import com.moim.payment.exception.KftcApiException;
+import com.moim.payment.repository.KftcUserTokenRepository;
+import com.moim.payment.service.kftc.KftcRequestCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 토큰 보관소의 응답 검증, 노드 간 사전 갱신 선점, 메모리 보관 만료를 확인
+ */
+class KftcTokenVaultServiceTest {
+
+    private KftcUserTokenRepository kftcUserTokenRepository;
+    private KftcApiService kftcApiService;
+    private KftcTokenVaultService kftcTokenVaultService;
+
+    @BeforeEach
+    void setUp() {
+        kftcUserTokenRepository = mock(KftcUserTokenRepository.class);
+        kftcApiService = mock(KftcApiService.class);
+        KftcApiProperties properties = new KftcApiProperties();
+        properties.getTokenVault().setHotTierTtl(Duration.ofMillis(100));
+        kftcTokenVaultService = new KftcTokenVaultService(kftcUserTokenRepository, kftcApiService,
+                new KftcRequestCoalescer(new SimpleMeterRegistry()), properties);
+        when(kftcUserTokenRepository.save(any(KftcUserToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void 오류_응답은_보관소에_저장하지_않는다() {
+        KftcTokenResp errorResp = new KftcTokenResp();
+        errorResp.setRspCode("O0001");
+        errorResp.setRspMessage("인증요청 거부");
+
+        KftcApiException e = assertThrows(KftcApiException.class, () -> kftcTokenVaultService.save(1L, errorResp).block());
+
+        assertEquals("O0001", e.getErrorCode());
+        verify(kftcUserTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void 액세스_토큰이_없는_응답은_보관소에_저장하지_않는다() {
+        assertThrows(KftcApiException.class, () -> kftcTokenVaultService.save(1L, new KftcTokenResp()).block());
+        verify(kftcUserTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void 사전_갱신은_선점에_성공한_토큰만_갱신한다() {
+        KftcUserToken claimedByThisNode = token(1L, "access-1", 60);
+        KftcUserToken claimedByOtherNode = token(2L, "access-2", 60);
+        when(kftcUserTokenRepository.findByExpiresAtBeforeAndRefreshTokenIsNotNull(any()))
+                .thenReturn(List.of(claimedByThisNode, claimedByOtherNode));
+        when(kftcUserTokenRepository.claimRefresh(eq(1L), any(), any(), any())).thenReturn(1);
+        when(kftcUserTokenRepository.claimRefresh(eq(2L), any(), any(), any())).thenReturn(0);
+        when(kftcUserTokenRepository.findByUsrId(1L)).thenReturn(Optional.of(claimedByThisNode));
+        when(kftcApiService.refreshUserAccessToken("refresh-1")).thenReturn(Mono.just(tokenResp("access-1-new")));
+
+        kftcTokenVaultService.refreshExpiringTokens();
+
+        verify(kftcApiService).refreshUserAccessToken("refresh-1");
+        verify(kftcApiService, never()).refreshUserAccessToken("refresh-2");
+    }
+
+    @Test
+    void 다른_노드가_갱신한_토큰은_메모리_보관_시간이_지나면_반영된다() throws InterruptedException {
+        when(kftcUserTokenRepository.findByUsrId(1L))
+                .thenReturn(Optional.of(token(1L, "access-old", 3600)))
+                .thenReturn(Optional.of(token(1L, "access-new", 3600)));
+
+        assertEquals("access-old", kftcTokenVaultService.getToken(1L).block().getAccessToken());
+        assertEquals("access-old", kftcTokenVaultService.getToken(1L).block().getAccessToken());
+
+        Thread.sleep(200);
+        assertEquals("access-new", kftcTokenVaultService.getToken(1L).block().getAccessToken());
+    }
+
+    private static KftcUserToken token(Long usrId, String accessToken, long expiresInMinutes) {
+        return KftcUserToken.builder()
+                .usrId(usrId)
+                .userSeqNo("110000000" + usrId)
+                .accessToken(accessToken)
+                .refreshToken("refresh-" + usrId)
+                .expiresAt(LocalDateTime.now().plusMinutes(expiresInMinutes))
+                .build();
+    }
+
+    private static KftcTokenResp tokenResp(String accessToken) {
+        KftcTokenResp tokenResp = new KftcTokenResp();
+        tokenResp.setAccessToken(accessToken);
+        tokenResp.setRefreshToken("refresh-renewed");
+        tokenResp.setExpiresIn(7_776_000);
+        return tokenResp;
+    }
+}
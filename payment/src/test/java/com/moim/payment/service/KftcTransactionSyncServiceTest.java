@@ -0,0 +1,86 @@
+package com.moim.payment.service;
+
+import com.moim.payment.config.KftcApiProperties;
+import com.moim.payment.domain.KftcTransaction;
+import com.moim.payment.domain.KftcTransactionSyncState;
+import com.moim.payment.dto.kftc.AccountInfoDto;
+import com.moim.payment.dto.kftc.KftcTransactionListResp;
+import com.moim.payment.exception.KftcApiException;
+import com.moim.payment.service.kftc.KftcRequestCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 최근 동기화된 계좌의 로컬 거래내역을 소유자에게만 KFTC 호출 없이 응답하는지 확인
+ */
+class KftcTransactionSyncServiceTest {
+
+    private static final String FINTECH_USE_NUM = "199159919057870978715901";
+    private static final String OWNER_USER_SEQ_NO = "1100000001";
+
+    private KftcApiService kftcApiService;
+    private KftcTransactionStore kftcTransactionStore;
+    private KftcTransactionSyncService kftcTransactionSyncService;
+
+    @BeforeEach
+    void setUp() {
+        kftcApiService = mock(KftcApiService.class);
+        kftcTransactionStore = mock(KftcTransactionStore.class);
+        kftcTransactionSyncService = new KftcTransactionSyncService(kftcApiService, kftcTransactionStore,
+                new KftcRequestCoalescer(new SimpleMeterRegistry()), new KftcApiProperties());
+
+        // 방금 소유자의 보관소 토큰으로 동기화된 계좌
+        LocalDate today = LocalDate.now();
+        KftcTransactionSyncState state = new KftcTransactionSyncState(FINTECH_USE_NUM, today.minusMonths(3), today, LocalDateTime.now());
+        state.confirmOwner(OWNER_USER_SEQ_NO);
+        when(kftcTransactionStore.findState(FINTECH_USE_NUM)).thenReturn(Optional.of(state));
+        when(kftcTransactionStore.findTransactions(eq(FINTECH_USE_NUM), any(), any())).thenReturn(List.of(
+                KftcTransaction.builder().fintechUseNum(FINTECH_USE_NUM).tranDate("20250101").tranTime("120000")
+                        .inoutType("입금").tranAmt(10_000L).afterBalanceAmt(1_000_000L).build()));
+    }
+
+    @Test
+    void 소유자는_최소_간격_안에서_로컬_거래내역으로_응답받는다() {
+        List<AccountInfoDto.TransactionDTO> transactions = kftcTransactionSyncService.getTransactions("owner-token", OWNER_USER_SEQ_NO,
+                FINTECH_USE_NUM, LocalDate.now().minusMonths(1), LocalDate.now(), false).block();
+
+        assertEquals(1, transactions.size());
+        verify(kftcApiService, never()).getTransactionHistoryPages(anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void 본문_토큰_호출자는_최근_동기화된_계좌라도_KFTC_권한_확인에_실패하면_로컬_거래내역을_받지_않는다() {
+        when(kftcApiService.getTransactionHistoryPages(eq("other-token"), eq(FINTECH_USE_NUM), anyString(), anyString()))
+                .thenReturn(Flux.error(new KftcApiException("A0324", "핀테크이용번호 권한 없음", HttpStatus.FORBIDDEN, null)));
+
+        assertThrows(KftcApiException.class, () -> kftcTransactionSyncService.getTransactions("other-token", null,
+                FINTECH_USE_NUM, LocalDate.now().minusMonths(1), LocalDate.now(), false).block());
+        verify(kftcTransactionStore, never()).findTransactions(anyString(), any(), any());
+    }
+
+    @Test
+    void 다른_사용자의_보관소_토큰은_소유자로_기록된_동기화_상태를_쓰지_않는다() {
+        when(kftcApiService.getTransactionHistoryPages(eq("other-token"), eq(FINTECH_USE_NUM), anyString(), anyString()))
+                .thenReturn(Flux.just(new KftcTransactionListResp()));
+
+        kftcTransactionSyncService.getTransactions("other-token", "1100000002",
+                FINTECH_USE_NUM, LocalDate.now().minusMonths(1), LocalDate.now(), false).block();
+
+        verify(kftcApiService).getTransactionHistoryPages(eq("other-token"), eq(FINTECH_USE_NUM), anyString(), anyString());
+        verify(kftcTransactionStore).advanceWatermark(eq(FINTECH_USE_NUM), eq("1100000002"), any(), any());
+    }
+}
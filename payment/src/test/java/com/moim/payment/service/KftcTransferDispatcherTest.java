@@ -0,0 +1,168 @@
+package com.moim.payment.service;
+
+import com.moim.payment.config.KftcApiProperties;
+import com.moim.payment.domain.KftcTransfer;
+import com.moim.payment.dto.kftc.TransferReqDto;
+import com.moim.payment.dto.kftc.TransferRespDto;
+import com.moim.payment.exception.KftcApiException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 전송 전 단계의 오류가 결과 미확정(UNKNOWN)으로 분류되지 않고,
+ * KFTC 응답은 성공/실패 확정 코드일 때만 확정되는지 확인 (다건 입금이체는 묶어서 전송)
+ */
+class KftcTransferDispatcherTest {
+
+    private KftcTransferStore kftcTransferStore;
+    private KftcTokenVaultService kftcTokenVaultService;
+    private KftcApiService kftcApiService;
+    private KftcTransferDispatcher kftcTransferDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        kftcTransferStore = mock(KftcTransferStore.class);
+        kftcTokenVaultService = mock(KftcTokenVaultService.class);
+        kftcApiService = mock(KftcApiService.class);
+        KftcApiProperties properties = new KftcApiProperties();
+        properties.getTransferReconcile().setFailedBankRspCodes(Set.of("551"));
+        properties.getTransferReconcile().setFailedRspCodes(Set.of("A0002"));
+        kftcTransferDispatcher = new KftcTransferDispatcher(kftcTransferStore, kftcTokenVaultService, kftcApiService, properties);
+    }
+
+    @Test
+    void 연동_토큰이_없거나_만료되면_전송하지_않고_실패로_확정한다() {
+        assertEquals(KftcTransfer.Status.FAILED, kftcTransferDispatcher.classifyFailure(
+                new KftcTransferDispatcher.NotSentException(error("KFTC_TOKEN_NOT_FOUND", HttpStatus.UNAUTHORIZED))));
+        assertEquals(KftcTransfer.Status.FAILED, kftcTransferDispatcher.classifyFailure(
+                new KftcTransferDispatcher.NotSentException(error("KFTC_TOKEN_EXPIRED", HttpStatus.UNAUTHORIZED))));
+        assertEquals(KftcTransfer.Status.FAILED, kftcTransferDispatcher.classifyFailure(
+                new KftcTransferDispatcher.NotSentException(error("TRANSFER_REQUEST_INVALID", HttpStatus.BAD_REQUEST))));
+    }
+
+    @Test
+    void 전송_전_일시_오류는_재시도하고_전송_후_5xx_만_결과_미확정이다() {
+        assertEquals(KftcTransfer.Status.PENDING, kftcTransferDispatcher.classifyFailure(
+                new KftcTransferDispatcher.NotSentException(error("KFTC_HTTP_503", HttpStatus.SERVICE_UNAVAILABLE))));
+        assertEquals(KftcTransfer.Status.UNKNOWN, kftcTransferDispatcher.classifyFailure(
+                error("KFTC_HTTP_503", HttpStatus.SERVICE_UNAVAILABLE)));
+        assertEquals(KftcTransfer.Status.PENDING, kftcTransferDispatcher.classifyFailure(
+                error("KFTC_RATE_LIMITED", HttpStatus.TOO_MANY_REQUESTS)));
+    }
+
+    @Test
+    void 토큰_갱신_중_5xx_는_재전송_대기로_기록한다() {
+        KftcTransfer transfer = mock(KftcTransfer.class);
+        when(transfer.getId()).thenReturn(11L);
+        when(transfer.getUsrId()).thenReturn(1L);
+        when(transfer.getTransferType()).thenReturn(KftcTransfer.TransferType.WITHDRAW);
+        when(kftcTransferStore.claimDispatchable(anyInt())).thenReturn(List.of(transfer));
+        when(kftcTransferStore.readRequest(transfer)).thenReturn(new TransferReqDto());
+        when(kftcTokenVaultService.getToken(1L)).thenReturn(Mono.error(error("KFTC_HTTP_503", HttpStatus.SERVICE_UNAVAILABLE)));
+
+        kftcTransferDispatcher.dispatchPending();
+
+        verify(kftcTransferStore, timeout(2000)).recordFailure(eq(11L), eq(KftcTransfer.Status.PENDING), eq("KFTC_HTTP_503"),
+                anyString(), anyInt(), any());
+    }
+
+    @Test
+    void 응답은_성공_또는_실패_확정_코드일_때만_확정하고_그_외는_결과_미확정이다() {
+        assertEquals(KftcTransfer.Status.SUCCEEDED, kftcTransferDispatcher.classifyResponse(response("A0000", "000")));
+        assertEquals(KftcTransfer.Status.FAILED, kftcTransferDispatcher.classifyResponse(response("A0000", "551")));
+        assertEquals(KftcTransfer.Status.FAILED, kftcTransferDispatcher.classifyResponse(response("A0002", null)));
+        // 처리중(A0007)이나 목록에 없는 참가기관 코드는 이체결과 조회로 확정
+        assertEquals(KftcTransfer.Status.UNKNOWN, kftcTransferDispatcher.classifyResponse(response("A0007", null)));
+        assertEquals(KftcTransfer.Status.UNKNOWN, kftcTransferDispatcher.classifyResponse(response("A0007", "400")));
+        assertEquals(KftcTransfer.Status.UNKNOWN, kftcTransferDispatcher.classifyResponse(response("A0000", "400")));
+    }
+
+    @Test
+    void 처리중_응답은_실패가_아닌_결과_미확정으로_기록한다() {
+        KftcTransfer transfer = mock(KftcTransfer.class);
+        when(transfer.getId()).thenReturn(12L);
+        when(transfer.getUsrId()).thenReturn(1L);
+        when(transfer.getBankTranId()).thenReturn("M202501486U000000001");
+        when(transfer.getTransferType()).thenReturn(KftcTransfer.TransferType.WITHDRAW);
+        when(kftcTransferStore.claimDispatchable(anyInt())).thenReturn(List.of(transfer));
+        TransferReqDto request = new TransferReqDto();
+        when(kftcTransferStore.readRequest(transfer)).thenReturn(request);
+        when(kftcTokenVaultService.getToken(1L)).thenReturn(Mono.just(
+                new KftcTokenVaultService.VaultToken("access-token", "refresh-token", "1100000001", null)));
+        TransferRespDto response = response("A0007", null);
+        when(kftcApiService.processWithdrawTransfer("access-token", request, "M202501486U000000001")).thenReturn(Mono.just(response));
+
+        kftcTransferDispatcher.dispatchPending();
+
+        verify(kftcTransferStore, timeout(2000)).recordResponse(eq(12L), eq(KftcTransfer.Status.UNKNOWN), eq(response), any());
+    }
+
+    @Test
+    void 같은_다건_입금이체_건은_한_번에_전송하고_건별로_기록한다() {
+        KftcTransfer first = batchTransfer(21L, 1, "M202501486U000000001");
+        KftcTransfer second = batchTransfer(22L, 2, "M202501486U000000002");
+        when(kftcTransferStore.claimDispatchable(anyInt())).thenReturn(List.of(first, second));
+        TransferReqDto firstRequest = TransferReqDto.builder().tranAmt("10000").build();
+        TransferReqDto secondRequest = TransferReqDto.builder().tranAmt("20000").build();
+        when(kftcTransferStore.readRequest(first)).thenReturn(firstRequest);
+        when(kftcTransferStore.readRequest(second)).thenReturn(secondRequest);
+        when(kftcTokenVaultService.getToken(1L)).thenReturn(Mono.just(
+                new KftcTokenVaultService.VaultToken("access-token", "refresh-token", "1100000001", null)));
+        // 두 번째 건은 res_list 에 결과가 없음
+        TransferRespDto succeeded = response("A0000", "000");
+        TransferRespDto missing = response("A0000", null);
+        when(kftcApiService.processDepositTransfers("access-token", List.of(firstRequest, secondRequest),
+                List.of("M202501486U000000001", "M202501486U000000002"))).thenReturn(Mono.just(List.of(succeeded, missing)));
+
+        kftcTransferDispatcher.dispatchPending();
+
+        verify(kftcTransferStore, timeout(2000)).recordResponse(eq(21L), eq(KftcTransfer.Status.SUCCEEDED), eq(succeeded), any());
+        verify(kftcTransferStore, timeout(2000)).recordResponse(eq(22L), eq(KftcTransfer.Status.UNKNOWN), eq(missing), any());
+        verify(kftcApiService, never()).processDepositTransfer(anyString(), any(), anyString());
+    }
+
+    @Test
+    void 다건_입금이체는_요청당_최대_건수로_나누고_단건은_따로_전송한다() {
+        KftcTransfer single = mock(KftcTransfer.class);
+        when(single.getTransferType()).thenReturn(KftcTransfer.TransferType.DEPOSIT);
+        List<KftcTransfer> batch = List.of(batchTransfer(31L, 1, "b1"), batchTransfer(32L, 2, "b2"), batchTransfer(33L, 3, "b3"));
+        KftcApiProperties properties = new KftcApiProperties();
+        properties.getBatchDeposit().setMaxItemsPerRequest(2);
+        KftcTransferDispatcher dispatcher = new KftcTransferDispatcher(kftcTransferStore, kftcTokenVaultService, kftcApiService, properties);
+
+        List<List<KftcTransfer>> groups = dispatcher.groups(List.of(batch.get(0), single, batch.get(1), batch.get(2)));
+
+        assertEquals(List.of(List.of(single), batch.subList(0, 2), batch.subList(2, 3)), groups);
+    }
+
+    private KftcTransfer batchTransfer(Long id, int batchSeq, String bankTranId) {
+        KftcTransfer transfer = mock(KftcTransfer.class);
+        when(transfer.getId()).thenReturn(id);
+        when(transfer.getUsrId()).thenReturn(1L);
+        when(transfer.getBatchId()).thenReturn("batch-1");
+        when(transfer.getBatchSeq()).thenReturn(batchSeq);
+        when(transfer.getBankTranId()).thenReturn(bankTranId);
+        when(transfer.getTransferType()).thenReturn(KftcTransfer.TransferType.DEPOSIT);
+        return transfer;
+    }
+
+    private static TransferRespDto response(String rspCode, String bankRspCode) {
+        return TransferRespDto.builder().rspCode(rspCode).bankRspCode(bankRspCode).build();
+    }
+
+    private static KftcApiException error(String errorCode, HttpStatus status) {
+        return new KftcApiException(errorCode, errorCode, status, null);
+    }
+}
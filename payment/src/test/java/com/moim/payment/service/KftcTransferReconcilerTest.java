@@ -0,0 +1,100 @@
+package com.moim.payment.service;
+
+import com.moim.payment.config.KftcApiProperties;
+import com.moim.payment.domain.KftcTransfer;
+import com.moim.payment.dto.kftc.KftcTransferResultResp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 이체결과 조회에서 참가기관 응답코드별로 저널 상태를 확정/재조회하는지 확인
+ */
+class KftcTransferReconcilerTest {
+
+    private static final Long TRANSFER_ID = 7L;
+    private static final String BANK_TRAN_ID = "M202501486U000000007";
+
+    private KftcTransferStore kftcTransferStore;
+    private KftcApiService kftcApiService;
+    private KftcTransferReconciler kftcTransferReconciler;
+
+    @BeforeEach
+    void setUp() {
+        kftcTransferStore = mock(KftcTransferStore.class);
+        kftcApiService = mock(KftcApiService.class);
+        KftcTokenVaultService kftcTokenVaultService = mock(KftcTokenVaultService.class);
+        when(kftcTokenVaultService.getToken(1L)).thenReturn(Mono.just(
+                new KftcTokenVaultService.VaultToken("token", null, "1100000001", LocalDateTime.now().plusDays(1))));
+
+        KftcApiProperties properties = new KftcApiProperties();
+        properties.getTransferReconcile().setFailedBankRspCodes(Set.of("551"));
+        kftcTransferReconciler = new KftcTransferReconciler(kftcTransferStore, kftcTokenVaultService, kftcApiService, properties);
+
+        KftcTransfer transfer = mock(KftcTransfer.class);
+        when(transfer.getId()).thenReturn(TRANSFER_ID);
+        when(transfer.getUsrId()).thenReturn(1L);
+        when(transfer.getTransferType()).thenReturn(KftcTransfer.TransferType.WITHDRAW);
+        when(transfer.getBankTranId()).thenReturn(BANK_TRAN_ID);
+        when(transfer.getCreatedAt()).thenReturn(LocalDateTime.now());
+        when(kftcTransferStore.claimReconcilable(anyInt(), any())).thenReturn(List.of(transfer));
+    }
+
+    @AfterEach
+    void tearDown() {
+        kftcTransferReconciler.shutdown();
+    }
+
+    @Test
+    void 정상_응답코드는_성공으로_확정한다() {
+        respondWith("000");
+
+        kftcTransferReconciler.reconcileUnknownTransfers();
+
+        verify(kftcTransferStore, timeout(2000)).recordReconciled(eq(TRANSFER_ID), eq(KftcTransfer.Status.SUCCEEDED),
+                any(), any(), eq("000"), any(), any());
+    }
+
+    @Test
+    void 실패_확정_목록의_응답코드만_실패로_확정한다() {
+        respondWith("551");
+
+        kftcTransferReconciler.reconcileUnknownTransfers();
+
+        verify(kftcTransferStore, timeout(2000)).recordReconciled(eq(TRANSFER_ID), eq(KftcTransfer.Status.FAILED),
+                any(), any(), eq("551"), any(), any());
+        verify(kftcTransferStore, never()).rescheduleReconcile(any(), any());
+    }
+
+    @Test
+    void 처리중이거나_알_수_없는_응답코드는_다시_조회한다() {
+        respondWith("400");
+
+        kftcTransferReconciler.reconcileUnknownTransfers();
+
+        verify(kftcTransferStore, timeout(2000)).rescheduleReconcile(eq(TRANSFER_ID), any());
+        verify(kftcTransferStore, never()).recordReconciled(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    private void respondWith(String bankRspCode) {
+        KftcTransferResultResp.Result result = new KftcTransferResultResp.Result();
+        result.setBankTranId(BANK_TRAN_ID);
+        result.setBankRspCode(bankRspCode);
+        KftcTransferResultResp response = new KftcTransferResultResp();
+        response.setRspCode("A0000");
+        response.setResList(List.of(result));
+        when(kftcApiService.getTransferResults(anyString(), anyString(), anyList())).thenReturn(Mono.just(response));
+    }
+}
@@ -0,0 +1,198 @@
+package com.moim.payment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moim.payment.domain.KftcTransfer;
+import com.moim.payment.dto.kftc.BatchDepositReqDto;
+import com.moim.payment.dto.kftc.TransferReqDto;
+import com.moim.payment.dto.kftc.TransferRespDto;
+import com.moim.payment.exception.KftcApiException;
+import com.moim.payment.repository.KftcAccountSnapshotRepository;
+import com.moim.payment.repository.KftcTransferRepository;
+import com.moim.payment.service.kftc.KftcBankTranIdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * 이체/다건 입금이체 접수의 멱등키 처리 (재요청, 다른 요청 내용, 동시 요청의 유일 제약 충돌)와
+ * 결과 기록 시 계좌 정보 스냅샷 무효화
+ */
+class KftcTransferStoreTest {
+
+    private static final Long USR_ID = 1L;
+    private static final String IDEMPOTENCY_KEY = "f1c1a7d4-2f5e-4c55-9d1e-0c6b9a3b7e21";
+
+    private KftcTransferRepository kftcTransferRepository;
+    private KftcAccountSnapshotRepository kftcAccountSnapshotRepository;
+    private KftcTransferStore kftcTransferStore;
+
+    @BeforeEach
+    void setUp() {
+        kftcTransferRepository = mock(KftcTransferRepository.class);
+        kftcAccountSnapshotRepository = mock(KftcAccountSnapshotRepository.class);
+        KftcBankTranIdGenerator kftcBankTranIdGenerator = mock(KftcBankTranIdGenerator.class);
+        when(kftcBankTranIdGenerator.next()).thenReturn("M202501486U000000001", "M202501486U000000002");
+        kftcTransferStore = new KftcTransferStore(kftcTransferRepository, kftcAccountSnapshotRepository, kftcBankTranIdGenerator, new ObjectMapper());
+        when(kftcTransferRepository.saveAndFlush(any(KftcTransfer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void 같은_멱등키_재요청은_기존_이체를_반환한다() {
+        KftcTransfer first = submitFirst(request("10000"));
+        when(kftcTransferRepository.findByUsrIdAndIdempotencyKey(USR_ID, IDEMPOTENCY_KEY)).thenReturn(Optional.of(first));
+
+        KftcTransferStore.Submission replay = kftcTransferStore.submit(USR_ID, KftcTransfer.TransferType.WITHDRAW, IDEMPOTENCY_KEY, request("10000"));
+
+        assertFalse(replay.created());
+        assertSame(first, replay.transfer());
+        verify(kftcTransferRepository, times(1)).saveAndFlush(any());
+    }
+
+    @Test
+    void 같은_멱등키에_다른_요청_내용이면_409로_거절한다() {
+        KftcTransfer first = submitFirst(request("10000"));
+        when(kftcTransferRepository.findByUsrIdAndIdempotencyKey(USR_ID, IDEMPOTENCY_KEY)).thenReturn(Optional.of(first));
+
+        KftcApiException e = assertThrows(KftcApiException.class, () ->
+                kftcTransferStore.submit(USR_ID, KftcTransfer.TransferType.WITHDRAW, IDEMPOTENCY_KEY, request("99000")));
+
+        assertEquals(HttpStatus.CONFLICT, e.getHttpStatus());
+        assertEquals("IDEMPOTENCY_KEY_REUSED", e.getErrorCode());
+    }
+
+    @Test
+    void 동시_요청이_유일_제약에_걸리면_먼저_기록된_이체를_반환한다() {
+        KftcTransfer winner = submitFirst(request("10000"));
+        // 조회 시점에는 없었지만 저장 직전에 다른 요청이 먼저 기록함
+        when(kftcTransferRepository.findByUsrIdAndIdempotencyKey(USR_ID, IDEMPOTENCY_KEY))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(winner));
+        when(kftcTransferRepository.saveAndFlush(any(KftcTransfer.class)))
+                .thenThrow(new DataIntegrityViolationException("UK_KFTC_TRANSFER_IDEMPOTENCY"));
+
+        KftcTransferStore.Submission duplicate = kftcTransferStore.submit(USR_ID, KftcTransfer.TransferType.WITHDRAW, IDEMPOTENCY_KEY, request("10000"));
+
+        assertFalse(duplicate.created());
+        assertSame(winner, duplicate.transfer());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 다건_입금이체는_수취인별로_저널에_기록한다() {
+        when(kftcTransferRepository.findByUsrIdAndBatchIdOrderByBatchSeq(USR_ID, IDEMPOTENCY_KEY)).thenReturn(List.of());
+        when(kftcTransferRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        KftcTransferStore.BatchSubmission submission = kftcTransferStore.submitBatch(USR_ID, IDEMPOTENCY_KEY, batchRequest("10000", "20000"));
+
+        assertTrue(submission.created());
+        List<KftcTransfer> transfers = submission.transfers();
+        assertEquals(2, transfers.size());
+        for (int i = 0; i < transfers.size(); i++) {
+            KftcTransfer transfer = transfers.get(i);
+            assertEquals(KftcTransfer.TransferType.DEPOSIT, transfer.getTransferType());
+            assertEquals(KftcTransfer.Status.PENDING, transfer.getStatus());
+            assertEquals(IDEMPOTENCY_KEY, transfer.getBatchId());
+            assertEquals(i + 1, transfer.getBatchSeq());
+            assertEquals(IDEMPOTENCY_KEY + "#" + (i + 1), transfer.getIdempotencyKey());
+        }
+        assertEquals("M202501486U000000001", transfers.get(0).getBankTranId());
+        assertEquals("M202501486U000000002", transfers.get(1).getBankTranId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 같은_멱등키_다건_재요청은_기존_건을_반환하고_다른_내용이면_409로_거절한다() {
+        when(kftcTransferRepository.findByUsrIdAndBatchIdOrderByBatchSeq(USR_ID, IDEMPOTENCY_KEY)).thenReturn(List.of());
+        when(kftcTransferRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<KftcTransfer> first = kftcTransferStore.submitBatch(USR_ID, IDEMPOTENCY_KEY, batchRequest("10000", "20000")).transfers();
+        when(kftcTransferRepository.findByUsrIdAndBatchIdOrderByBatchSeq(USR_ID, IDEMPOTENCY_KEY)).thenReturn(first);
+
+        KftcTransferStore.BatchSubmission replay = kftcTransferStore.submitBatch(USR_ID, IDEMPOTENCY_KEY, batchRequest("10000", "20000"));
+
+        assertFalse(replay.created());
+        assertEquals(first, replay.transfers());
+        verify(kftcTransferRepository, times(1)).saveAllAndFlush(anyList());
+
+        KftcApiException changed = assertThrows(KftcApiException.class, () ->
+                kftcTransferStore.submitBatch(USR_ID, IDEMPOTENCY_KEY, batchRequest("10000", "99000")));
+        assertEquals(HttpStatus.CONFLICT, changed.getHttpStatus());
+        KftcApiException added = assertThrows(KftcApiException.class, () ->
+                kftcTransferStore.submitBatch(USR_ID, IDEMPOTENCY_KEY, batchRequest("10000", "20000", "30000")));
+        assertEquals("IDEMPOTENCY_KEY_REUSED", added.getErrorCode());
+    }
+
+    @Test
+    void 이체_결과를_기록하면_계좌_정보_스냅샷을_삭제한다() {
+        KftcTransfer transfer = submitFirst(request("10000"));
+        when(kftcTransferRepository.findById(11L)).thenReturn(Optional.of(transfer));
+
+        kftcTransferStore.recordResponse(11L, KftcTransfer.Status.UNKNOWN,
+                TransferRespDto.builder().rspCode("A0007").build(), LocalDateTime.now());
+        verify(kftcAccountSnapshotRepository, times(1)).deleteByUsrId(USR_ID);
+
+        kftcTransferStore.recordReconciled(11L, KftcTransfer.Status.SUCCEEDED, "A0000", null, "000", null, "20250101");
+        verify(kftcAccountSnapshotRepository, times(2)).deleteByUsrId(USR_ID);
+        assertEquals(KftcTransfer.Status.SUCCEEDED, transfer.getStatus());
+
+        kftcTransferStore.recordFailure(11L, KftcTransfer.Status.UNKNOWN, "KFTC_HTTP_503", "503", 3, LocalDateTime.now());
+        verify(kftcAccountSnapshotRepository, times(3)).deleteByUsrId(USR_ID);
+    }
+
+    @Test
+    void 전송하지_못한_재시도_건은_스냅샷을_유지한다() {
+        KftcTransfer transfer = submitFirst(request("10000"));
+        when(kftcTransferRepository.findById(11L)).thenReturn(Optional.of(transfer));
+
+        kftcTransferStore.recordFailure(11L, KftcTransfer.Status.PENDING, "KFTC_RATE_LIMITED", "429", 3, LocalDateTime.now());
+
+        assertEquals(KftcTransfer.Status.PENDING, transfer.getStatus());
+        verify(kftcAccountSnapshotRepository, never()).deleteByUsrId(any());
+    }
+
+    private KftcTransfer submitFirst(TransferReqDto request) {
+        when(kftcTransferRepository.findByUsrIdAndIdempotencyKey(USR_ID, IDEMPOTENCY_KEY)).thenReturn(Optional.empty());
+        KftcTransferStore.Submission submission = kftcTransferStore.submit(USR_ID, KftcTransfer.TransferType.WITHDRAW, IDEMPOTENCY_KEY, request);
+        assertTrue(submission.created());
+
+        ArgumentCaptor<KftcTransfer> saved = ArgumentCaptor.forClass(KftcTransfer.class);
+        verify(kftcTransferRepository).saveAndFlush(saved.capture());
+        return saved.getValue();
+    }
+
+    private static BatchDepositReqDto batchRequest(String... tranAmts) {
+        List<BatchDepositReqDto.Recipient> recipients = new ArrayList<>();
+        for (int i = 0; i < tranAmts.length; i++) {
+            recipients.add(BatchDepositReqDto.Recipient.builder()
+                    .recipientId("member-" + (i + 1))
+                    .fintechUseNum("19915991905787097871590" + i)
+                    .tranAmt(tranAmts[i])
+                    .build());
+        }
+        return BatchDepositReqDto.builder()
+                .cntrAccountType("N")
+                .cntrAccountNum("100000000001")
+                .wdPrintContent("모임정산")
+                .recipients(recipients)
+                .build();
+    }
+
+    private static TransferReqDto request(String tranAmt) {
+        return TransferReqDto.builder()
+                .fintechUseNum("199159919057870978715901")
+                .tranAmt(tranAmt)
+                .dpsPrintContent("모임회비")
+                .build();
+    }
+}
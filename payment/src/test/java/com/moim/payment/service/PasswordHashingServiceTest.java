@@ -0,0 +1,99 @@
+package com.moim.payment.service;
+
+import com.moim.payment.exception.PasswordHashingUnavailableException;
+import com.moim.payment.handler.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 비밀번호 해시 실행기 포화 시 요청 스레드를 붙잡지 않고 503 으로 거절하는지 확인
+ */
+class PasswordHashingServiceTest {
+
+    // 저장된 해시의 cost 로 계산하므로 matches 한 번이 수백 ms 걸리는 해시 (일치하지 않음)
+    private static final String SLOW_HASH = BCrypt.gensalt(13) + "a".repeat(31);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingService passwordHashingService;
+
+    @AfterEach
+    void tearDown() {
+        if (passwordHashingService != null) {
+            passwordHashingService.shutdown();
+        }
+    }
+
+    @Test
+    void 실행_중_작업과_대기열이_가득_차면_바로_거절한다() throws Exception {
+        passwordHashingService = service(1, 1, Duration.ofSeconds(5));
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> passwordHashingService.matches("password", SLOW_HASH));
+        awaitGauge("password.hash.active", 1);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> passwordHashingService.matches("password", SLOW_HASH));
+        awaitGauge("password.hash.queue.size", 1);
+
+        long start = System.nanoTime();
+        assertThrows(PasswordHashingUnavailableException.class, () -> passwordHashingService.matches("password", SLOW_HASH));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(200)) < 0, "대기 없이 거절");
+        assertEquals(1.0, meterRegistry.get("password.hash.rejected").counter().count());
+
+        // 이미 받아들인 작업은 정상 처리
+        assertFalse(running.get());
+        assertFalse(queued.get());
+    }
+
+    @Test
+    void maxWait_안에_끝나지_않으면_거절하고_대기열에서_제거한다() throws Exception {
+        passwordHashingService = service(1, 4, Duration.ofMillis(100));
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() ->
+                assertThrows(PasswordHashingUnavailableException.class, () -> passwordHashingService.matches("password", SLOW_HASH)));
+        awaitGauge("password.hash.active", 1);
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> passwordHashingService.matches("password", SLOW_HASH));
+        assertEquals(0.0, meterRegistry.get("password.hash.queue.size").gauge().value());
+        running.get();
+    }
+
+    @Test
+    void 포화_예외는_503과_Retry_After로_응답한다() {
+        ResponseEntity<?> response = new GlobalExceptionHandler().handlePasswordHashingUnavailableException(
+                new PasswordHashingUnavailableException("로그인 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void 고정_cost로_해시하고_다른_cost의_해시는_재해시_대상이다() {
+        passwordHashingService = service(1, 4, Duration.ofSeconds(5));
+
+        String encoded = passwordHashingService.encode("password");
+
+        assertTrue(encoded.startsWith("$2a$04$"));
+        assertTrue(passwordHashingService.matches("password", encoded));
+        assertFalse(passwordHashingService.upgradeEncoding(encoded));
+        assertTrue(passwordHashingService.upgradeEncoding(SLOW_HASH));
+        assertFalse(passwordHashingService.matches("password", ""));
+    }
+
+    private PasswordHashingService service(int threads, int queueCapacity, Duration maxWait) {
+        return new PasswordHashingService(meterRegistry, threads, queueCapacity, maxWait, 4, Duration.ofMillis(250), 4, 14);
+    }
+
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (meterRegistry.get(name).gauge().value() != expected) {
+            assertTrue(System.nanoTime() < deadline, name + " != " + expected);
+            Thread.sleep(5);
+        }
+    }
+}
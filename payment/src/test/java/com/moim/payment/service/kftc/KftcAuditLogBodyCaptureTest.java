@@ -0,0 +1,61 @@
+package com.moim.payment.service.kftc;
+
+import com.moim.payment.util.MaskingUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 감사 로그 본문이 필드 값 중간에서 잘려도 민감 값이 남지 않는지 확인
+ */
+class KftcAuditLogBodyCaptureTest {
+
+    private static final String FINTECH_USE_NUM = "199159919057870978715901";
+
+    @Test
+    void JSON_필드_값_중간에서_잘리면_직전_필드까지만_남긴다() {
+        String body = "{\"rsp_code\":\"A0000\",\"fintech_use_num\":\"" + FINTECH_USE_NUM + "\",\"tran_amt\":\"10000\"}";
+        // fintech_use_num 값의 앞 10자리까지만 담기는 길이
+        int limit = body.indexOf(FINTECH_USE_NUM) + 10;
+
+        String masked = MaskingUtil.json(capture(limit, body));
+
+        assertEquals("{\"rsp_code\":\"A0000\"...(truncated)", masked);
+        assertFalse(masked.contains(FINTECH_USE_NUM.substring(0, 10)));
+    }
+
+    @Test
+    void form_파라미터_값_중간에서_잘리면_직전_파라미터까지만_남긴다() {
+        String body = "grant_type=authorization_code&client_id=moim&client_secret=s3cr3t-value&code=a1b2c3";
+        int limit = body.indexOf("s3cr3t") + 4;
+
+        String masked = MaskingUtil.form(capture(limit, body));
+
+        assertEquals("grant_type=authorization_code&client_id=moim...(truncated)", masked);
+    }
+
+    @Test
+    void 여러_버퍼로_나뉜_본문도_limit_까지만_모으고_잘리지_않으면_그대로_반환한다() {
+        String body = "{\"rsp_code\":\"A0000\"}";
+        KftcAuditLog.BodyCapture capture = new KftcAuditLog.BodyCapture(body.length());
+        capture.append(buffer(body.substring(0, 5)));
+        capture.append(buffer(body.substring(5)));
+
+        assertEquals(body, capture.text());
+        assertNull(new KftcAuditLog.BodyCapture(0).text());
+    }
+
+    private static String capture(int limit, String body) {
+        KftcAuditLog.BodyCapture capture = new KftcAuditLog.BodyCapture(limit);
+        capture.append(buffer(body));
+        return capture.text();
+    }
+
+    private static DataBuffer buffer(String value) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
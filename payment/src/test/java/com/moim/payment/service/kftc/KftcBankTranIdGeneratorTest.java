@@ -0,0 +1,110 @@
+package com.moim.payment.service.kftc;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KftcBankTranIdGeneratorTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    @Test
+    void 거래고유번호는_이용기관코드_U_9자리_형식이다() {
+        KftcBankTranIdGenerator generator = new KftcBankTranIdGenerator("M202501486", 7, Clock.system(KST));
+
+        String id = generator.next();
+
+        assertEquals(20, id.length());
+        assertTrue(id.matches("M202501486U[0-9A-Z]{9}"), id);
+    }
+
+    @Test
+    void 동시에_수백만건을_발급해도_중복되지_않는다() throws Exception {
+        KftcBankTranIdGenerator generator = new KftcBankTranIdGenerator("M202501486", 1, Clock.system(KST));
+        int threads = 8;
+        int perThread = 500_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<long[]>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    long[] values = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        values[i] = generator.nextValue();
+                    }
+                    return values;
+                }));
+            }
+            start.countDown();
+
+            long[] all = new long[threads * perThread];
+            for (int t = 0; t < threads; t++) {
+                long[] values = futures.get(t).get();
+                // 스레드 안에서는 단조 증가
+                for (int i = 1; i < values.length; i++) {
+                    assertTrue(values[i] > values[i - 1]);
+                }
+                System.arraycopy(values, 0, all, t * perThread, perThread);
+            }
+
+            Arrays.sort(all);
+            for (int i = 1; i < all.length; i++) {
+                assertNotEquals(all[i - 1], all[i], "중복 거래고유번호 발생");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void 노드ID가_다르면_같은_시각에도_중복되지_않는다() {
+        Clock fixed = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), KST);
+        KftcBankTranIdGenerator node1 = new KftcBankTranIdGenerator("M202501486", 1, fixed);
+        KftcBankTranIdGenerator node2 = new KftcBankTranIdGenerator("M202501486", 2, fixed);
+
+        assertNotEquals(node1.next(), node2.next());
+    }
+
+    @Test
+    void 재시작해도_같은_날_이전_번호와_겹치지_않는다() throws Exception {
+        Clock clock = Clock.system(ZoneOffset.ofHours(9));
+        KftcBankTranIdGenerator before = new KftcBankTranIdGenerator("M202501486", 3, clock);
+        long last = 0;
+        for (int i = 0; i < 100_000; i++) {
+            last = before.nextValue();
+        }
+        Thread.sleep(2);
+
+        KftcBankTranIdGenerator restarted = new KftcBankTranIdGenerator("M202501486", 3, clock);
+
+        assertTrue(restarted.nextValue() > last);
+    }
+
+    @Test
+    void local_프로파일이_아니면_노드ID_미설정_시_기동에_실패한다() {
+        assertThrows(IllegalStateException.class, () -> KftcBankTranIdGenerator.resolveNodeId(-1, false));
+        assertEquals(5, KftcBankTranIdGenerator.resolveNodeId(5, false));
+    }
+
+    @Test
+    void local_프로파일은_노드ID_미설정_시_호스트_정보로_정한다() {
+        int nodeId = KftcBankTranIdGenerator.resolveNodeId(-1, true);
+
+        assertTrue(nodeId >= 0 && nodeId <= KftcBankTranIdGenerator.MAX_NODE_ID);
+    }
+}
@@ -0,0 +1,68 @@
+package com.moim.payment.service.kftc;
+
+import com.moim.payment.config.KftcApiProperties;
+import com.moim.payment.dto.kftc.KftcBalanceResp;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KftcInquiryCacheTest {
+
+    private static final String FINTECH_USE_NUM = "199159919057870978715901";
+
+    private final KftcInquiryCache cache = new KftcInquiryCache(new KftcApiProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void 같은_계좌라도_다른_토큰으로는_캐시된_잔액을_받지_않는다() {
+        AtomicInteger calls = new AtomicInteger();
+        String victim = KftcInquiryCache.ownerOf("victim-token");
+        String attacker = KftcInquiryCache.ownerOf("x");
+
+        KftcBalanceResp cached = cache.getBalance(victim, FINTECH_USE_NUM, false, () -> load(calls, 1_000_000)).block();
+        KftcBalanceResp other = cache.getBalance(attacker, FINTECH_USE_NUM, false, () -> load(calls, 0)).block();
+
+        assertEquals(1_000_000, cached.getBalanceAmt());
+        assertEquals(0, other.getBalanceAmt());
+        assertEquals(2, calls.get(), "다른 토큰은 자기 토큰으로 다시 조회해야 함");
+    }
+
+    @Test
+    void 같은_토큰의_반복_조회는_캐시에서_응답한다() {
+        AtomicInteger calls = new AtomicInteger();
+        String owner = KftcInquiryCache.ownerOf("token");
+
+        cache.getBalance(owner, FINTECH_USE_NUM, false, () -> load(calls, 500)).block();
+        KftcBalanceResp again = cache.getBalance(owner, FINTECH_USE_NUM, false, () -> load(calls, 999)).block();
+
+        assertEquals(500, again.getBalanceAmt());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void 잔액_제거는_모든_토큰의_항목을_제거한다() {
+        AtomicInteger calls = new AtomicInteger();
+        String first = KftcInquiryCache.ownerOf("first");
+        String second = KftcInquiryCache.ownerOf("second");
+        cache.getBalance(first, FINTECH_USE_NUM, false, () -> load(calls, 1)).block();
+        cache.getBalance(second, FINTECH_USE_NUM, false, () -> load(calls, 1)).block();
+
+        cache.evictBalance(FINTECH_USE_NUM);
+        cache.getBalance(first, FINTECH_USE_NUM, false, () -> load(calls, 2)).block();
+        cache.getBalance(second, FINTECH_USE_NUM, false, () -> load(calls, 2)).block();
+
+        assertEquals(4, calls.get());
+    }
+
+    private static Mono<KftcBalanceResp> load(AtomicInteger calls, long balance) {
+        return Mono.fromSupplier(() -> {
+            calls.incrementAndGet();
+            KftcBalanceResp resp = new KftcBalanceResp();
+            resp.setBalanceAmt(balance);
+            return resp;
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package com.moim.payment.service.kftc;
+
+import com.moim.payment.config.KftcApiProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 허가된 요청의 다운스트림이 처리율 제한기 락 밖에서 실행되는지 확인
+ */
+class KftcRateLimiterTest {
+
+    private KftcRateLimiter kftcRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        KftcApiProperties properties = new KftcApiProperties();
+        KftcApiProperties.RateLimit rateLimit = properties.getRateLimit();
+        rateLimit.setInquiryPerSecond(20);       // 토큰 1개 충전에 50ms
+        rateLimit.setInquiryBurst(1);
+        rateLimit.setMaxWait(Duration.ofSeconds(10));
+        rateLimit.setDrainInterval(Duration.ofHours(1)); // 대기열은 테스트에서 직접 처리
+        kftcRateLimiter = new KftcRateLimiter(properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        kftcRateLimiter.shutdown();
+    }
+
+    @Test
+    void 즉시_허가된_요청은_락_밖에서_완료된다() {
+        AtomicReference<Boolean> holdsLock = new AtomicReference<>();
+
+        kftcRateLimiter.acquire(KftcRateLimiter.Category.INQUIRY)
+                .doOnSuccess(ignored -> holdsLock.set(Thread.holdsLock(kftcRateLimiter)))
+                .block();
+
+        assertFalse(holdsLock.get());
+    }
+
+    @Test
+    void 대기열에서_허가된_요청은_락_밖에서_완료된다() throws InterruptedException {
+        kftcRateLimiter.acquire(KftcRateLimiter.Category.INQUIRY).block();
+
+        AtomicReference<Boolean> holdsLock = new AtomicReference<>();
+        CompletableFuture<Void> queued = kftcRateLimiter.acquire(KftcRateLimiter.Category.INQUIRY)
+                .doOnSuccess(ignored -> holdsLock.set(Thread.holdsLock(kftcRateLimiter)))
+                .toFuture();
+        assertFalse(queued.isDone());
+
+        Thread.sleep(100);
+        kftcRateLimiter.drain();
+
+        assertTrue(queued.isDone());
+        assertFalse(holdsLock.get());
+    }
+}
@@ -0,0 +1,65 @@
+package com.moim.payment.service.kftc;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 같은 키의 동시 요청 병합과, 호출 생성 중 예외가 진행 중 키를 남기지 않는지 확인
+ */
+class KftcRequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final KftcRequestCoalescer kftcRequestCoalescer = new KftcRequestCoalescer(meterRegistry);
+
+    @Test
+    void 진행_중인_같은_키_요청은_원격_호출_하나를_공유한다() {
+        Sinks.One<String> remote = Sinks.one();
+        AtomicInteger calls = new AtomicInteger();
+
+        Mono<String> leader = kftcRequestCoalescer.execute("balance", "owner:199159919057870978715901:0",
+                () -> {
+                    calls.incrementAndGet();
+                    return remote.asMono();
+                });
+        Mono<String> joined = kftcRequestCoalescer.execute("balance", "owner:199159919057870978715901:0",
+                () -> {
+                    calls.incrementAndGet();
+                    return Mono.just("other");
+                });
+        var leaderResult = leader.toFuture();
+        var joinedResult = joined.toFuture();
+        remote.tryEmitValue("balance-1");
+
+        assertEquals("balance-1", leaderResult.join());
+        assertEquals("balance-1", joinedResult.join());
+        assertEquals(1, calls.get());
+        assertEquals(0.0, meterRegistry.get("kftc.coalescer.in-flight").gauge().value());
+    }
+
+    @Test
+    void 호출_생성_중_예외가_나면_오류로_끝나고_키를_제거한다() {
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () ->
+                kftcRequestCoalescer.<String>execute("token-refresh", "1", () -> {
+                    throw new IllegalStateException("refresh token 복호화 실패");
+                }).block());
+
+        assertEquals("refresh token 복호화 실패", thrown.getMessage());
+        assertEquals(0.0, meterRegistry.get("kftc.coalescer.in-flight").gauge().value());
+        // 같은 키의 다음 요청은 남은 항목에 합류하지 않고 새로 호출
+        assertEquals("token", kftcRequestCoalescer.execute("token-refresh", "1", () -> Mono.just("token")).block());
+    }
+
+    @Test
+    void 로그용_병합_키는_구간별로_마스킹한다() {
+        String masked = KftcRequestCoalescer.maskKey("a1b2c3d4e5f6a7b8:199159919057870978715901:3");
+
+        assertFalse(masked.contains("199159919057870978715901"));
+        assertEquals("a1b****a7b8:199****5901:****", masked);
+    }
+}
@@ -0,0 +1,192 @@
+package com.moim.payment.service.kftc;
+
+import com.moim.payment.config.KftcApiProperties;
+import com.moim.payment.exception.KftcApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 엔드포인트별 장애 격리 규칙
+ * (GET 조회만 서버 측 오류에 재시도, 이체는 재시도하지 않음, 서킷/벌크헤드 거절은 503, 잔액 조회 hedge)
+ */
+class KftcResilienceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private KftcApiProperties properties;
+    private KftcResilience kftcResilience;
+
+    @BeforeEach
+    void setUp() {
+        properties = new KftcApiProperties();
+        KftcApiProperties.ResiliencePolicy defaults = properties.getResilience().getDefaults();
+        defaults.setRetryBackoff(Duration.ofMillis(1));
+        defaults.setRetryMaxBackoff(Duration.ofMillis(5));
+        kftcResilience = new KftcResilience(properties, meterRegistry, mock(KftcClientMetrics.class));
+    }
+
+    @Test
+    void GET_조회는_네트워크_오류_타임아웃_5xx_에만_재시도한다() {
+        List<Throwable> retryable = List.of(
+                new WebClientRequestException(new ConnectException("connection refused"), HttpMethod.GET,
+                        URI.create("http://kftc.test/v2.0/account/balance/fin_num"), new HttpHeaders()),
+                new TimeoutException("read timeout"),
+                error("KFTC_HTTP_503", HttpStatus.SERVICE_UNAVAILABLE));
+        for (Throwable failure : retryable) {
+            AtomicInteger calls = new AtomicInteger();
+
+            String result = kftcResilience.inquiry(KftcResilience.ACCOUNT_LIST,
+                    failFirst(calls, failure, "accounts")).block();
+
+            assertEquals("accounts", result, failure.toString());
+            assertEquals(2, calls.get(), failure.toString());
+        }
+    }
+
+    @Test
+    void GET_조회도_4xx_와_업무_오류는_재시도하지_않는다() {
+        List<KftcApiException> notRetryable = List.of(
+                error("KFTC_HTTP_400", HttpStatus.BAD_REQUEST),
+                error("KFTC_RATE_LIMITED", HttpStatus.TOO_MANY_REQUESTS),
+                new KftcApiException("A0003", "잔액 조회 실패", HttpStatus.BAD_GATEWAY, null));
+        for (KftcApiException failure : notRetryable) {
+            AtomicInteger calls = new AtomicInteger();
+
+            KftcApiException thrown = assertThrows(KftcApiException.class, () ->
+                    kftcResilience.inquiry(KftcResilience.ACCOUNT_LIST, failFirst(calls, failure, "accounts")).block());
+
+            assertSame(failure, thrown);
+            assertEquals(1, calls.get(), failure.getErrorCode());
+        }
+    }
+
+    @Test
+    void 출금_입금이체는_5xx_에도_재시도하지_않는다() {
+        for (String endpoint : List.of(KftcResilience.WITHDRAW, KftcResilience.DEPOSIT)) {
+            AtomicInteger calls = new AtomicInteger();
+            KftcApiException failure = error("KFTC_HTTP_503", HttpStatus.SERVICE_UNAVAILABLE);
+
+            KftcApiException thrown = assertThrows(KftcApiException.class, () ->
+                    kftcResilience.call(endpoint, failFirst(calls, failure, "transferred")).block());
+
+            assertSame(failure, thrown);
+            assertEquals(1, calls.get(), endpoint);
+        }
+    }
+
+    @Test
+    void 서킷이_열리면_호출하지_않고_503으로_거절한다() {
+        KftcApiProperties.ResiliencePolicy defaults = properties.getResilience().getDefaults();
+        defaults.setSlidingWindowSize(2);
+        defaults.setMinimumNumberOfCalls(2);
+        for (int i = 0; i < 2; i++) {
+            assertThrows(KftcApiException.class, () -> kftcResilience.call(KftcResilience.WITHDRAW,
+                    () -> Mono.error(error("KFTC_HTTP_503", HttpStatus.SERVICE_UNAVAILABLE))).block());
+        }
+        AtomicInteger calls = new AtomicInteger();
+
+        KftcApiException thrown = assertThrows(KftcApiException.class, () -> kftcResilience.call(KftcResilience.WITHDRAW,
+                () -> Mono.fromCallable(calls::incrementAndGet)).block());
+
+        assertEquals("KFTC_CIRCUIT_OPEN", thrown.getErrorCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, thrown.getHttpStatus());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void 벌크헤드가_가득_차면_대기하지_않고_503으로_거절한다() {
+        properties.getResilience().getDefaults().setMaxConcurrentCalls(1);
+        Disposable running = kftcResilience.call(KftcResilience.TRANSACTION_LIST, Mono::never).subscribe();
+        try {
+            AtomicInteger calls = new AtomicInteger();
+
+            KftcApiException thrown = assertThrows(KftcApiException.class, () -> kftcResilience.call(KftcResilience.TRANSACTION_LIST,
+                    () -> Mono.fromCallable(calls::incrementAndGet)).block(Duration.ofSeconds(1)));
+
+            assertEquals("KFTC_BULKHEAD_FULL", thrown.getErrorCode());
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, thrown.getHttpStatus());
+            assertEquals(0, calls.get());
+        } finally {
+            running.dispose();
+        }
+    }
+
+    @Test
+    void 잔액_조회는_p95_가_지나면_hedge_요청을_보내고_늦은_요청을_취소한다() throws InterruptedException {
+        KftcApiProperties.ResiliencePolicy defaults = properties.getResilience().getDefaults();
+        defaults.setHedgeEnabled(true);
+        defaults.setHedgeMinSamples(5);
+        defaults.setHedgeMinDelay(Duration.ofMillis(10));
+        defaults.setHedgeFallbackDelay(Duration.ofSeconds(10));
+        // 최근 성공 호출 지연 시간 약 300ms 를 표본으로 기록
+        Flux.range(0, 5)
+                .flatMap(i -> kftcResilience.call(KftcResilience.BALANCE, () -> Mono.delay(Duration.ofMillis(300)).thenReturn("sample")))
+                .blockLast();
+
+        List<Long> startedAt = new CopyOnWriteArrayList<>();
+        CountDownLatch primaryCancelled = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        String result = kftcResilience.hedgedInquiry(KftcResilience.BALANCE, () -> {
+            startedAt.add(System.nanoTime() - start);
+            return startedAt.size() == 1
+                    ? Mono.<String>never().doOnCancel(primaryCancelled::countDown)
+                    : Mono.just("hedge");
+        }).block(Duration.ofSeconds(5));
+
+        assertEquals("hedge", result);
+        assertEquals(2, startedAt.size());
+        long hedgeDelayMillis = Duration.ofNanos(startedAt.get(1)).toMillis();
+        assertTrue(hedgeDelayMillis >= 200, "p95 전에 hedge 발송: " + hedgeDelayMillis + "ms");
+        assertTrue(hedgeDelayMillis < 5_000, "fallback 대기 사용: " + hedgeDelayMillis + "ms");
+        // 병합 연산자의 취소는 응답 전달 직후 처리될 수 있으므로 잠시 대기
+        assertTrue(primaryCancelled.await(1, TimeUnit.SECONDS), "늦은 요청이 취소되지 않음");
+        assertEquals(1.0, meterRegistry.get("kftc.resilience.hedged").counter().count());
+    }
+
+    @Test
+    void 첫_요청이_p95_안에_끝나면_hedge_요청을_보내지_않는다() {
+        KftcApiProperties.ResiliencePolicy defaults = properties.getResilience().getDefaults();
+        defaults.setHedgeEnabled(true);
+        defaults.setHedgeFallbackDelay(Duration.ofMillis(500));
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = kftcResilience.hedgedInquiry(KftcResilience.BALANCE, () -> {
+            calls.incrementAndGet();
+            return Mono.just("balance");
+        }).block();
+
+        assertEquals("balance", result);
+        assertEquals(1, calls.get());
+        assertTrue(meterRegistry.find("kftc.resilience.hedged").counters().stream().allMatch(counter -> counter.count() == 0));
+    }
+
+    private static <T> Supplier<Mono<T>> failFirst(AtomicInteger calls, Throwable failure, T value) {
+        return () -> calls.incrementAndGet() == 1 ? Mono.error(failure) : Mono.just(value);
+    }
+
+    private static KftcApiException error(String errorCode, HttpStatus status) {
+        return new KftcApiException(errorCode, errorCode, status, null);
+    }
+}
@@ -0,0 +1,60 @@
+package com.moim.payment.util;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * 감사 로그 본문(JSON / form)의 민감 필드 마스킹 규칙
+ */
+class MaskingUtilTest {
+
+    static Stream<Arguments> jsonCases() {
+        return Stream.of(
+                arguments("{\"account_num\":\"1101230000678\"}", "{\"account_num\":\"****0678\"}"),
+                arguments("{\"cntr_account_num\":\"100000000001\"}", "{\"cntr_account_num\":\"****0001\"}"),
+                arguments("{\"req_client_account_num\" : \"3333012345\"}", "{\"req_client_account_num\":\"****2345\"}"),
+                arguments("{\"fintech_use_num\":\"199159919057870978715901\"}", "{\"fintech_use_num\":\"199****5901\"}"),
+                arguments("{\"user_ci\":\"Vj8Qm4p2k9XUa+Lw==\"}", "{\"user_ci\":\"****\"}"),
+                arguments("{\"access_token\":\"eyJhbGciOiJIUzI1NiJ9.x.y\"}", "{\"access_token\":\"****\"}"),
+                arguments("{\"refresh_token\":\"eyJhbGciOiJIUzI1NiJ9.r.s\"}", "{\"refresh_token\":\"****\"}"),
+                arguments("{\"code\":\"a1b2c3\"}", "{\"code\":\"****\"}"),
+                arguments("{\"client_secret\":\"s3cr3t\"}", "{\"client_secret\":\"****\"}"),
+                // 이미 마스킹된 값과 민감하지 않은 필드는 그대로
+                arguments("{\"account_num_masked\":\"110123***678\"}", "{\"account_num_masked\":\"110123***678\"}"),
+                arguments("{\"rsp_code\":\"A0000\",\"bank_rsp_code\":\"000\"}", "{\"rsp_code\":\"A0000\",\"bank_rsp_code\":\"000\"}"),
+                arguments("{\"token_type\":\"Bearer\",\"access_token\":\"\"}", "{\"token_type\":\"Bearer\",\"access_token\":\"\"}")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("jsonCases")
+    void JSON_본문의_민감_필드를_마스킹한다(String json, String expected) {
+        assertEquals(expected, MaskingUtil.json(json));
+    }
+
+    static Stream<Arguments> formCases() {
+        return Stream.of(
+                arguments("account_num=1101230000678", "account_num=****0678"),
+                arguments("user_seq_no=1100000001&fintech_use_num=199159919057870978715901",
+                        "user_seq_no=1100000001&fintech_use_num=199****5901"),
+                arguments("user_ci=Vj8Qm4p2k9XUa%2BLw%3D%3D", "user_ci=****"),
+                arguments("grant_type=refresh_token&refresh_token=eyJ.r.s", "grant_type=refresh_token&refresh_token=****"),
+                arguments("code=a1b2c3&client_id=moim&client_secret=s3cr3t", "code=****&client_id=moim&client_secret=****"),
+                arguments("account_num_masked=110123***678", "account_num_masked=110123***678"),
+                // 파라미터 이름 중간이 일치하는 경우(rsp_code 는 code 가 아님)는 그대로
+                arguments("rsp_code=A0000&bank_rsp_code=000", "rsp_code=A0000&bank_rsp_code=000")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("formCases")
+    void form_본문과_쿼리의_민감_파라미터를_마스킹한다(String form, String expected) {
+        assertEquals(expected, MaskingUtil.form(form));
+    }
+}